@@ -13,6 +13,7 @@ dependencies {
     compileOnlyApi(libs.adventureMiniMessage)
     compileOnlyApi(libs.adventureApi)
     compileOnlyApi(libs.adventureLegacy)
+    testImplementation(libs.junit)
 }
 
 blossom {
@@ -0,0 +1,85 @@
+package me.neznamy.tab.api;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Interned handle of a property name. Each name gets a unique small id,
+ * which players use as index into their property table, so features can
+ * look up properties without hashing or building property names.
+ */
+public final class PropertyKey {
+
+    /** All keys created so far by their name */
+    private static final Map<String, PropertyKey> keys = new ConcurrentHashMap<>();
+
+    /** Id to give to the next created key */
+    private static final AtomicInteger nextId = new AtomicInteger();
+
+    /** Name of the property */
+    private final String name;
+
+    /** Unique id of this key */
+    private final int id;
+
+    /**
+     * Constructs new instance with given parameters
+     *
+     * @param   name
+     *          property name
+     * @param   id
+     *          unique id of the key
+     */
+    private PropertyKey(String name, int id) {
+        this.name = name;
+        this.id = id;
+    }
+
+    /**
+     * Returns key of property with given name. If no key exists for the name yet,
+     * a new one is created.
+     *
+     * @param   name
+     *          property name
+     * @return  key of the property
+     */
+    public static PropertyKey of(String name) {
+        return keys.computeIfAbsent(name, n -> new PropertyKey(n, nextId.getAndIncrement()));
+    }
+
+    /**
+     * Returns key of property with given name or {@code null} if
+     * no property with such name was ever created.
+     *
+     * @param   name
+     *          property name
+     * @return  key of the property or {@code null} if not found
+     */
+    public static PropertyKey get(String name) {
+        return keys.get(name);
+    }
+
+    /**
+     * Returns name of the property
+     *
+     * @return  name of the property
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns unique id of this key
+     *
+     * @return  unique id of this key
+     */
+    public int getId() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
\ No newline at end of file
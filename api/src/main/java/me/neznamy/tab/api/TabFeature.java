@@ -35,12 +35,12 @@ public abstract class TabFeature {
     private final Set<TabPlayer> disabledPlayers = Collections.newSetFromMap(new WeakHashMap<>());
 
     /**
-     * List of methods overridden (implemented) by each feature.
+     * Set of methods overridden (implemented) by each feature.
      * If a method is not overridden, it is not called at all.
      * This avoids a massive spam for every single method
      * in every single feature in /tab cpu output
      */
-    private final List<String> methodOverrides = new ArrayList<>();
+    private final Set<Hook> methodOverrides = EnumSet.noneOf(Hook.class);
 
     /**
      * Constructs new instance with given parameters and loads method overrides
@@ -54,39 +54,15 @@ public abstract class TabFeature {
         this.featureName = featureName;
         this.refreshDisplayName = refreshDisplayName;
         try {
-            if (getClass().getMethod("onCommand", TabPlayer.class, String.class).getDeclaringClass() != TabFeature.class)
-                methodOverrides.add("onCommand");
-            if (getClass().getMethod("onJoin", TabPlayer.class).getDeclaringClass() != TabFeature.class)
-                methodOverrides.add("onJoin");
-            if (getClass().getMethod("onQuit", TabPlayer.class).getDeclaringClass() != TabFeature.class)
-                methodOverrides.add("onQuit");
-            if (getClass().getMethod("onWorldChange", TabPlayer.class, String.class, String.class).getDeclaringClass() != TabFeature.class)
-                methodOverrides.add("onWorldChange");
-            if (getClass().getMethod("onServerChange", TabPlayer.class, String.class, String.class).getDeclaringClass() != TabFeature.class)
-                methodOverrides.add("onServerChange");
-            if (getClass().getMethod("onDisplayObjective", TabPlayer.class, PacketPlayOutScoreboardDisplayObjective.class).getDeclaringClass() != TabFeature.class) {
-                methodOverrides.add("onDisplayObjective");
-                TabAPI.getInstance().getFeatureManager().markDisplayObjective();
+            for (Hook hook : Hook.values()) {
+                if (getClass().getMethod(hook.getMethodName(), hook.parameterTypes).getDeclaringClass() != TabFeature.class)
+                    methodOverrides.add(hook);
             }
-            if (getClass().getMethod("onLoginPacket", TabPlayer.class).getDeclaringClass() != TabFeature.class)
-                methodOverrides.add("onLoginPacket");
-            if (getClass().getMethod("onObjective", TabPlayer.class, PacketPlayOutScoreboardObjective.class).getDeclaringClass() != TabFeature.class) {
-                methodOverrides.add("onObjective");
-                TabAPI.getInstance().getFeatureManager().markObjective();
-            }
-            if (getClass().getMethod("onPlayerInfo", TabPlayer.class, PacketPlayOutPlayerInfo.class).getDeclaringClass() != TabFeature.class)
-                methodOverrides.add("onPlayerInfo");
-            if (getClass().getMethod("onPacketReceive", TabPlayer.class, Object.class).getDeclaringClass() != TabFeature.class)
-                methodOverrides.add("onPacketReceive");
-            if (getClass().getMethod("onPacketSend", TabPlayer.class, Object.class).getDeclaringClass() != TabFeature.class)
-                methodOverrides.add("onPacketSend");
-            if (getClass().getMethod("refresh", TabPlayer.class, boolean.class).getDeclaringClass() != TabFeature.class)
-                methodOverrides.add("refresh");
-            if (getClass().getMethod("onVanishStatusChange", TabPlayer.class).getDeclaringClass() != TabFeature.class)
-                methodOverrides.add("onVanishStatusChange");
         } catch (NoSuchMethodException e) {
             //this will never happen
         }
+        if (methodOverrides.contains(Hook.DISPLAY_OBJECTIVE)) TabAPI.getInstance().getFeatureManager().markDisplayObjective();
+        if (methodOverrides.contains(Hook.OBJECTIVE)) TabAPI.getInstance().getFeatureManager().markObjective();
     }
 
     /**
@@ -278,6 +254,21 @@ public abstract class TabFeature {
         //empty by default
     }
 
+    /**
+     * Performs refresh of specified player after placeholders used in given properties
+     * changed value. Properties not in the list did not change and don't need to be
+     * updated. List may be empty if placeholder is used by this feature outside
+     * of player's properties. Calls {@link #refresh(TabPlayer, boolean)} by default.
+     *
+     * @param   refreshed
+     *          player to refresh
+     * @param   changedProperties
+     *          properties of this feature using a placeholder that changed value
+     */
+    public void refreshProperties(TabPlayer refreshed, List<Property> changedProperties) {
+        refresh(refreshed, false);
+    }
+
     /**
      * Processes vanish status change of player
      *
@@ -367,7 +358,22 @@ public abstract class TabFeature {
      * @return  {@code true} if overridden, {@code false} if not
      */
     public boolean overridesMethod(String method) {
-        return methodOverrides.contains(method);
+        for (Hook hook : methodOverrides) {
+            if (hook.getMethodName().equals(method)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns {@code true} if method of specified hook is overridden
+     * in the implementation, {@code false} if not
+     *
+     * @param   hook
+     *          Hook to check
+     * @return  {@code true} if overridden, {@code false} if not
+     */
+    public boolean overridesMethod(Hook hook) {
+        return methodOverrides.contains(hook);
     }
 
     /**
@@ -405,4 +411,44 @@ public abstract class TabFeature {
     public void removeDisabledPlayer(TabPlayer p) {
         disabledPlayers.remove(p);
     }
+
+    /**
+     * Methods of this class called by the plugin, which features may override
+     */
+    public enum Hook {
+
+        COMMAND("onCommand", TabPlayer.class, String.class),
+        JOIN("onJoin", TabPlayer.class),
+        QUIT("onQuit", TabPlayer.class),
+        WORLD_CHANGE("onWorldChange", TabPlayer.class, String.class, String.class),
+        SERVER_CHANGE("onServerChange", TabPlayer.class, String.class, String.class),
+        DISPLAY_OBJECTIVE("onDisplayObjective", TabPlayer.class, PacketPlayOutScoreboardDisplayObjective.class),
+        LOGIN_PACKET("onLoginPacket", TabPlayer.class),
+        OBJECTIVE("onObjective", TabPlayer.class, PacketPlayOutScoreboardObjective.class),
+        PLAYER_INFO("onPlayerInfo", TabPlayer.class, PacketPlayOutPlayerInfo.class),
+        PACKET_RECEIVE("onPacketReceive", TabPlayer.class, Object.class),
+        PACKET_SEND("onPacketSend", TabPlayer.class, Object.class),
+        REFRESH("refresh", TabPlayer.class, boolean.class),
+        VANISH_STATUS_CHANGE("onVanishStatusChange", TabPlayer.class);
+
+        /** Name of the method */
+        private final String methodName;
+
+        /** Parameter types of the method */
+        private final Class<?>[] parameterTypes;
+
+        Hook(String methodName, Class<?>... parameterTypes) {
+            this.methodName = methodName;
+            this.parameterTypes = parameterTypes;
+        }
+
+        /**
+         * Returns name of the method
+         *
+         * @return  name of the method
+         */
+        public String getMethodName() {
+            return methodName;
+        }
+    }
 }
\ No newline at end of file
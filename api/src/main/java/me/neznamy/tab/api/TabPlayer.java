@@ -123,6 +123,18 @@ public interface TabPlayer {
      */
     Property getProperty(String name);
 
+    /**
+     * Returns player's property by its key. Implementations may override this
+     * to look up the property faster than by name.
+     *
+     * @param   key
+     *          key of property
+     * @return  the property or {@code null} if not found
+     */
+    default Property getProperty(PropertyKey key) {
+        return getProperty(key.getName());
+    }
+
     /**
      * Sends a message to the player
      *
@@ -184,6 +196,23 @@ public interface TabPlayer {
      */
     boolean setProperty(TabFeature feature, String identifier, String rawValue);
 
+    /**
+     * Sets property with specified key to new value. If property did not exist before, it is
+     * created and {@code true} is returned. If it existed, it is overridden and {@code true} is returned.
+     * {@code false} is returned otherwise.
+     *
+     * @param   feature
+     *          feature using this property to get placeholders registered
+     * @param   key
+     *          property key
+     * @param   rawValue
+     *          new raw value
+     * @return  {@code true} if value changed / did not exist, {@code false} if value did not change
+     */
+    default boolean setProperty(TabFeature feature, PropertyKey key, String rawValue) {
+        return setProperty(feature, key.getName(), rawValue);
+    }
+
     /**
      * Loads property from config using standard property loading algorithm
      *
@@ -26,6 +26,11 @@ public class ChatComponentEntity extends IChatBaseComponent {
         return toString();
     }
     
+    @Override
+    void appendJson(StringBuilder builder) {
+        builder.append(toString());
+    }
+
     @Override
     public String toString() {
         if (TabAPI.getInstance().getServerVersion().getMinorVersion() >= 16) return CONTENTS;
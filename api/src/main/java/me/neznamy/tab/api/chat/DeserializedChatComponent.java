@@ -64,6 +64,15 @@ public class DeserializedChatComponent extends IChatBaseComponent {
         return json;
     }
 
+    @Override
+    void appendJson(StringBuilder builder) {
+        if (modified) {
+            super.appendJson(builder);
+        } else {
+            builder.append(json);
+        }
+    }
+
     @Override
     public List<IChatBaseComponent> getExtra(){
         if (!deserialized) deserialize();
@@ -39,6 +39,15 @@ public enum EnumChatFormat {
     /** The color symbol in form of a string */
     public static final String COLOR_STRING = String.valueOf(COLOR_CHAR);
 
+    /** Constants indexed by their character for fast lookup, {@code null} for invalid characters */
+    private static final EnumChatFormat[] BY_CHAR = new EnumChatFormat[128];
+
+    static {
+        for (EnumChatFormat format : VALUES) {
+            BY_CHAR[format.character] = format;
+        }
+    }
+
     /** Character representing the color or magic code */
     private final char character;
 
@@ -125,10 +134,7 @@ public enum EnumChatFormat {
      * @return  instance from the character or null if character is not valid
      */
     public static EnumChatFormat getByChar(char c) {
-        for (EnumChatFormat format : VALUES) {
-            if (format.character == c) return format;
-        }
-        return null;
+        return c < BY_CHAR.length ? BY_CHAR[c] : null;
     }
 
     /**
@@ -144,10 +150,8 @@ public enum EnumChatFormat {
         String legacyText = RGBUtils.getInstance().convertRGBtoLegacy(string);
         String last = getLastColors(legacyText);
         if (last.length() > 0) {
-            char c = last.toCharArray()[1];
-            for (EnumChatFormat e : VALUES) {
-                if (e.character == c) return e;
-            }
+            EnumChatFormat format = getByChar(last.charAt(1));
+            if (format != null) return format;
         }
         return EnumChatFormat.WHITE;
     }
@@ -191,6 +195,8 @@ public enum EnumChatFormat {
      * @return  enum value or null if no such combination exists
      */
     public static EnumChatFormat fromRGBExact(int red, int green, int blue){
+        //legacy colors only use values 0x00, 0x55, 0xAA and 0xFF
+        if (red % 0x55 != 0 || green % 0x55 != 0 || blue % 0x55 != 0) return null;
         for (EnumChatFormat format : VALUES) {
             if (format.red == red && format.green == green && format.blue == blue) return format;
         }
@@ -218,6 +224,23 @@ public enum EnumChatFormat {
         return new String(b);
     }
 
+    /**
+     * Color translation method taken from bukkit, which converts '&amp;' symbol into
+     * the actual color character if followed by a valid color character. Translates
+     * the text directly in provided builder to avoid creating new objects.
+     *
+     * @param   textToTranslate
+     *          text to replace color symbol in
+     */
+    public static void color(StringBuilder textToTranslate) {
+        for (int i = 0; i < textToTranslate.length() - 1; i++) {
+            if ((textToTranslate.charAt(i) == '&') && ("0123456789AaBbCcDdEeFfKkLlMmNnOoRrXx".indexOf(textToTranslate.charAt(i + 1)) > -1)) {
+                textToTranslate.setCharAt(i, COLOR_CHAR);
+                textToTranslate.setCharAt(i + 1, Character.toLowerCase(textToTranslate.charAt(i + 1)));
+            }
+        }
+    }
+
     /**
      * Turns back the color symbol into '&amp;' symbol in provided text.
      *
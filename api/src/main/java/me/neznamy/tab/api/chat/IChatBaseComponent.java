@@ -2,9 +2,10 @@ package me.neznamy.tab.api.chat;
 
 import me.neznamy.tab.api.ProtocolVersion;
 import me.neznamy.tab.api.TabAPI;
+import me.neznamy.tab.api.chat.rgb.RGBTokenConsumer;
 import me.neznamy.tab.api.chat.rgb.RGBUtils;
+import me.neznamy.tab.api.util.BoundedCache;
 import me.neznamy.tab.api.util.Preconditions;
-import org.json.simple.JSONObject;
 
 import java.util.*;
 
@@ -17,10 +18,45 @@ public class IChatBaseComponent {
     /**
      * Component cache maps to avoid large memory allocations as well as
      * higher CPU usage when using animations which send the same text on repeat.
+     * Weight of entries is the length of cached text.
      */
-    private static final Map<String, IChatBaseComponent> componentCache = new HashMap<>();
-    private static final Map<IChatBaseComponent, String> serializeCacheModern = new HashMap<>();
-    private static final Map<IChatBaseComponent, String> serializeCacheLegacy = new HashMap<>();
+    private static final BoundedCache<String, IChatBaseComponent> componentCache =
+            new BoundedCache<>("Components", 10000, 1000000, (text, component) -> text.length());
+    private static final BoundedCache<IChatBaseComponent, String> serializeCacheModern =
+            new BoundedCache<>("Serialized components (1.16+)", 10000, 4000000, (component, json) -> json.length());
+    private static final BoundedCache<IChatBaseComponent, String> serializeCacheLegacy =
+            new BoundedCache<>("Serialized components (1.15-)", 10000, 4000000, (component, json) -> json.length());
+
+    /** Builders reused for serialization to avoid growing a new builder for every component */
+    private static final ThreadLocal<StringBuilder> serializeBuilder = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    /** Capacity above which pooled builder is discarded instead of being kept by the thread */
+    private static final int MAX_POOLED_BUILDER_CAPACITY = 16384;
+
+    /** Uppercase hex digits for escaping control characters */
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    /** Keys of serialized component */
+    private static final int HOVER_EVENT = 0;
+    private static final int CLICK_EVENT = 1;
+    private static final int COLOR = 2;
+    private static final int UNDERLINED = 3;
+    private static final int EXTRA = 4;
+    private static final int TEXT = 5;
+    private static final int BOLD = 6;
+    private static final int STRIKETHROUGH = 7;
+    private static final int ITALIC = 8;
+    private static final int OBFUSCATED = 9;
+    private static final int FONT = 10;
+
+    /**
+     * Order of keys in json-simple's {@code JSONObject} (a {@code HashMap}) with 16, 8 and 4 buckets.
+     * Keys in the same bucket are in the order they were put in, which was text, then modifier
+     * keys in order of its own 16 buckets and extra.
+     */
+    private static final int[] KEY_ORDER_16 = {HOVER_EVENT, CLICK_EVENT, COLOR, UNDERLINED, EXTRA, TEXT, BOLD, STRIKETHROUGH, ITALIC, OBFUSCATED, FONT};
+    private static final int[] KEY_ORDER_8 = {HOVER_EVENT, CLICK_EVENT, BOLD, STRIKETHROUGH, COLOR, ITALIC, OBFUSCATED, UNDERLINED, FONT, EXTRA};
+    private static final int[] KEY_ORDER_4 = {HOVER_EVENT, COLOR, CLICK_EVENT, ITALIC, OBFUSCATED, UNDERLINED, BOLD, STRIKETHROUGH, FONT, EXTRA};
 
     /** Text of the component */
     private String text;
@@ -162,12 +198,199 @@ public class IChatBaseComponent {
      */
     @Override
     public String toString() {
-        JSONObject json = new JSONObject();
-        if (text != null) json.put("text", text);
+        StringBuilder builder = serializeBuilder.get();
+        builder.setLength(0);
+        appendJson(builder);
+        String json = builder.toString();
+        if (builder.capacity() > MAX_POOLED_BUILDER_CAPACITY) serializeBuilder.remove();
+        return json;
+    }
+
+    /**
+     * Appends this component serialized into json to provided builder.
+     * <p>
+     * Keys are written in the order json-simple's {@code JSONObject} used to iterate
+     * them, so components serialize into the same string as they did before.
+     * Components overriding {@link #toString()} must override this method as well.
+     *
+     * @param   builder
+     *          builder to append serialized component to
+     */
+    void appendJson(StringBuilder builder) {
         if (modifier.getTargetVersion() == null) modifier.setTargetVersion(TabAPI.getInstance().getServerVersion()); //packet.toString() was called as a part of a debug message
-        json.putAll(modifier.serialize());
-        if (extra != null) json.put("extra", extra);
-        return json.toString();
+        builder.append('{');
+        int length = builder.length();
+        for (int key : getKeyOrder()) {
+            appendValue(builder, length, key);
+        }
+        builder.append('}');
+    }
+
+    /**
+     * Returns order of keys json-simple used for this component. Text was put into
+     * a new map with 16 buckets. Without text, modifier was put into an empty map
+     * at once instead, which sized the table by modifier's key count and
+     * then doubled it if extra did not fit.
+     *
+     * @return  order of keys of this component
+     */
+    private int[] getKeyOrder() {
+        if (text != null) return KEY_ORDER_16;
+        int size = 0;
+        if (modifier.getHoverEvent() != null) size++;
+        if (modifier.getClickEvent() != null) size++;
+        if (modifier.getColor() != null) size++;
+        if (modifier.getUnderlined() != null) size++;
+        if (modifier.getBold() != null) size++;
+        if (modifier.getStrikethrough() != null) size++;
+        if (modifier.getItalic() != null) size++;
+        if (modifier.getObfuscated() != null) size++;
+        if (modifier.getFont() != null) size++;
+        if (size == 0 || size >= 6) return KEY_ORDER_16;
+        if (size >= 3) return KEY_ORDER_8;
+        return KEY_ORDER_4;
+    }
+
+    /**
+     * Appends key with its value to provided builder if this component has it set
+     *
+     * @param   builder
+     *          builder to append key and value to
+     * @param   objectStart
+     *          length of builder right after opening bracket of the object
+     * @param   key
+     *          key to append
+     */
+    private void appendValue(StringBuilder builder, int objectStart, int key) {
+        switch (key) {
+            case HOVER_EVENT:
+                ChatHoverable hoverEvent = modifier.getHoverEvent();
+                if (hoverEvent == null) return;
+                int serverVersion = TabAPI.getInstance().getServerVersion().getMinorVersion();
+                appendKey(builder, objectStart, "hoverEvent").append('{');
+                String action = hoverEvent.getAction().toString().toLowerCase();
+                if (serverVersion >= 16 && hoverEvent.getAction().getPreferredKey().equals("contents")) {
+                    appendKey(builder, -1, "contents");
+                    hoverEvent.getValue().appendJson(builder);
+                    appendString(appendKey(builder, 0, "action"), action);
+                } else {
+                    appendString(appendKey(builder, -1, "action"), action);
+                    appendKey(builder, 0, "value");
+                    if (serverVersion >= 9) {
+                        hoverEvent.getValue().appendJson(builder);
+                    } else {
+                        appendString(builder, hoverEvent.getValue().toRawText());
+                    }
+                }
+                builder.append('}');
+                return;
+            case CLICK_EVENT:
+                ChatClickable clickEvent = modifier.getClickEvent();
+                if (clickEvent == null) return;
+                appendKey(builder, objectStart, "clickEvent").append('{');
+                appendString(appendKey(builder, -1, "action"), clickEvent.getAction().toString().toLowerCase());
+                appendString(appendKey(builder, 0, "value"), clickEvent.getValue());
+                builder.append('}');
+                return;
+            case COLOR:
+                TextColor color = modifier.getColor();
+                if (color != null) appendString(appendKey(builder, objectStart, "color"),
+                        modifier.getTargetVersion().getMinorVersion() >= 16 ? color.toString() : color.getLegacyColor().toString().toLowerCase());
+                return;
+            case UNDERLINED:
+                if (modifier.getUnderlined() != null) appendKey(builder, objectStart, "underlined").append(modifier.getUnderlined().booleanValue());
+                return;
+            case EXTRA:
+                if (extra == null) return;
+                appendKey(builder, objectStart, "extra").append('[');
+                for (int i=0; i<extra.size(); i++) {
+                    if (i > 0) builder.append(',');
+                    IChatBaseComponent child = extra.get(i);
+                    if (child == null) {
+                        builder.append("null");
+                    } else {
+                        child.appendJson(builder);
+                    }
+                }
+                builder.append(']');
+                return;
+            case TEXT:
+                if (text != null) appendString(appendKey(builder, objectStart, "text"), text);
+                return;
+            case BOLD:
+                if (modifier.getBold() != null) appendKey(builder, objectStart, "bold").append(modifier.getBold().booleanValue());
+                return;
+            case STRIKETHROUGH:
+                if (modifier.getStrikethrough() != null) appendKey(builder, objectStart, "strikethrough").append(modifier.getStrikethrough().booleanValue());
+                return;
+            case ITALIC:
+                if (modifier.getItalic() != null) appendKey(builder, objectStart, "italic").append(modifier.getItalic().booleanValue());
+                return;
+            case OBFUSCATED:
+                if (modifier.getObfuscated() != null) appendKey(builder, objectStart, "obfuscated").append(modifier.getObfuscated().booleanValue());
+                return;
+            default:
+                if (modifier.getFont() != null) appendString(appendKey(builder, objectStart, "font"), modifier.getFont());
+        }
+    }
+
+    /**
+     * Appends json key to provided builder, preceded by a comma if it is not
+     * the first key of the object.
+     *
+     * @param   builder
+     *          builder to append key to
+     * @param   objectStart
+     *          length of builder right after opening bracket of the object,
+     *          {@code -1} if key is known to be the first one, {@code 0} if known not to be
+     * @param   key
+     *          key to append, must not need escaping
+     * @return  provided builder
+     */
+    private static StringBuilder appendKey(StringBuilder builder, int objectStart, String key) {
+        if (objectStart == 0 || (objectStart > 0 && builder.length() != objectStart)) builder.append(',');
+        return builder.append('"').append(key).append("\":");
+    }
+
+    /**
+     * Appends quoted and escaped string to provided builder using the same
+     * escaping rules as json-simple.
+     *
+     * @param   builder
+     *          builder to append string to
+     * @param   string
+     *          string to append
+     */
+    private static void appendString(StringBuilder builder, String string) {
+        if (string == null) {
+            builder.append("null");
+            return;
+        }
+        builder.append('"');
+        int length = string.length();
+        for (int i=0; i<length; i++) {
+            char c = string.charAt(i);
+            switch (c) {
+                case '"': builder.append("\\\""); break;
+                case '\\': builder.append("\\\\"); break;
+                case '\b': builder.append("\\b"); break;
+                case '\f': builder.append("\\f"); break;
+                case '\n': builder.append("\\n"); break;
+                case '\r': builder.append("\\r"); break;
+                case '\t': builder.append("\\t"); break;
+                case '/': builder.append("\\/"); break;
+                default:
+                    if (c <= '\u001F' || (c >= '\u007F' && c <= '\u009F') || (c >= '\u2000' && c <= '\u20FF')) {
+                        builder.append("\\u");
+                        for (int shift=12; shift>=0; shift-=4) {
+                            builder.append(HEX_DIGITS[(c >> shift) & 0xF]);
+                        }
+                    } else {
+                        builder.append(c);
+                    }
+            }
+        }
+        builder.append('"');
     }
 
     /**
@@ -207,18 +430,11 @@ public class IChatBaseComponent {
         for (IChatBaseComponent child : getExtra()) {
             child.modifier.setTargetVersion(clientVersion);
         }
-        String string;
-        if (clientVersion.getMinorVersion() >= 16) {
-            if (serializeCacheModern.containsKey(this)) return serializeCacheModern.get(this);
-            string = toString();
-            if (serializeCacheModern.size() > 10000) serializeCacheModern.clear();
-            serializeCacheModern.put(this, string);
-        } else {
-            if (serializeCacheLegacy.containsKey(this)) return serializeCacheLegacy.get(this);
-            string = toString();
-            if (serializeCacheLegacy.size() > 10000) serializeCacheLegacy.clear();
-            serializeCacheLegacy.put(this, string);
-        }
+        BoundedCache<IChatBaseComponent, String> cache = clientVersion.getMinorVersion() >= 16 ? serializeCacheModern : serializeCacheLegacy;
+        String string = cache.get(this);
+        if (string != null) return string;
+        string = toString();
+        cache.put(this, string);
         return string;
     }
 
@@ -231,98 +447,9 @@ public class IChatBaseComponent {
      */
     public static IChatBaseComponent fromColoredText(String originalText){
         Preconditions.checkNotNull(originalText, "text");
-        String text = RGBUtils.getInstance().applyFormats(EnumChatFormat.color(originalText));
-        List<IChatBaseComponent> components = new ArrayList<>();
-        StringBuilder builder = new StringBuilder();
-        IChatBaseComponent component = new IChatBaseComponent();
-        for (int i = 0; i < text.length(); i++){
-            char c = text.charAt(i);
-            if (c == EnumChatFormat.COLOR_CHAR){
-                i++;
-                if (i >= text.length()) {
-                    break;
-                }
-                c = text.charAt(i);
-                if ((c >= 'A') && (c <= 'Z')) {
-                    c = (char)(c + ' ');
-                }
-                EnumChatFormat format = EnumChatFormat.getByChar(c);
-                if (format != null){
-                    if (builder.length() > 0) {
-                        component.setText(builder.toString());
-                        components.add(component);
-                        component = new IChatBaseComponent(component);
-                        component.text = null;
-                        builder = new StringBuilder();
-                    }
-                    switch (format){
-                    case BOLD: 
-                        component.modifier.setBold(true);
-                        break;
-                    case ITALIC: 
-                        component.modifier.setItalic(true);
-                        break;
-                    case UNDERLINE: 
-                        component.modifier.setUnderlined(true);
-                        break;
-                    case STRIKETHROUGH: 
-                        component.modifier.setStrikethrough(true);
-                        break;
-                    case OBFUSCATED: 
-                        component.modifier.setObfuscated(true);
-                        break;
-                    case RESET: 
-                        component = new IChatBaseComponent();
-                        component.modifier.setColor(new TextColor(EnumChatFormat.WHITE));
-                        break;
-                    default:
-                        component = new IChatBaseComponent();
-                        component.modifier.setColor(new TextColor(format));
-                        break;
-                    }
-                }
-            } else if (c == '#' && text.length() > i+6){
-                String hex = text.substring(i+1, i+7);
-                if (RGBUtils.getInstance().isHexCode(hex)) {
-                    TextColor color;
-                    if (containsLegacyCode(text, i)) {
-                        color = new TextColor(hex, EnumChatFormat.getByChar(text.charAt(i+8)));
-                        i += 8;
-                    } else {
-                        color = new TextColor(hex);
-                        i += 6;
-                    }
-                    if (builder.length() > 0){
-                        component.setText(builder.toString());
-                        components.add(component);
-                        builder = new StringBuilder();
-                    }
-                    component = new IChatBaseComponent();
-                    component.modifier.setColor(color);
-                } else {
-                    builder.append(c);
-                }
-            } else {
-                builder.append(c);
-            }
-        }
-        component.setText(builder.toString());
-        components.add(component);
-        return new IChatBaseComponent("").setExtra(components);
-    }
-
-    /**
-     * Returns true if text contains legacy color request at defined RGB index start
-     *
-     * @param   text
-     *          text to check
-     * @param   i
-     *          current index start
-     * @return  true if legacy color is defined, false if not
-     */
-    private static boolean containsLegacyCode(String text, int i) {
-        if (text.length() - i < 9 || text.charAt(i+7) != '|') return false;
-        return EnumChatFormat.getByChar(text.charAt(i+8)) != null;
+        ColoredTextParser parser = new ColoredTextParser();
+        RGBUtils.getInstance().tokenize(EnumChatFormat.color(originalText), parser);
+        return parser.getComponent();
     }
 
     /**
@@ -422,8 +549,8 @@ public class IChatBaseComponent {
      */
     public static IChatBaseComponent optimizedComponent(String text){
         if (text == null) return null;
-        if (componentCache.containsKey(text)) return componentCache.get(text);
-        IChatBaseComponent component;
+        IChatBaseComponent component = componentCache.get(text);
+        if (component != null) return component;
         if (text.contains("#") || text.contains("&x") || text.contains(EnumChatFormat.COLOR_CHAR + "x") || text.contains("<")){
             //contains RGB colors
             component = IChatBaseComponent.fromColoredText(text);
@@ -431,8 +558,116 @@ public class IChatBaseComponent {
             //no RGB
             component = new IChatBaseComponent(text);
         }
-        if (componentCache.size() > 10000) componentCache.clear();
         componentCache.put(text, component);
         return component;
     }
+
+    /**
+     * Builds organized component from tokens of colored text
+     */
+    private static class ColoredTextParser implements RGBTokenConsumer {
+
+        /** Finished components */
+        private final List<IChatBaseComponent> components = new ArrayList<>();
+
+        /** Text of current component */
+        private final StringBuilder builder = new StringBuilder();
+
+        /** Current component */
+        private IChatBaseComponent component = new IChatBaseComponent();
+
+        /** Whether last character was color symbol waiting for its code */
+        private boolean colorChar;
+
+        @Override
+        public void acceptText(CharSequence text, int start, int end) {
+            for (int i = start; i < end; i++){
+                char c = text.charAt(i);
+                if (colorChar) {
+                    colorChar = false;
+                    acceptLegacyCode(c);
+                } else if (c == EnumChatFormat.COLOR_CHAR) {
+                    colorChar = true;
+                } else {
+                    builder.append(c);
+                }
+            }
+        }
+
+        @Override
+        public void acceptColor(String hexCode, EnumChatFormat legacyColor) {
+            if (colorChar) {
+                //# is taken as invalid color code, rest of the color is plain text
+                colorChar = false;
+                builder.append(hexCode);
+                if (legacyColor != null) builder.append('|').append(legacyColor.getCharacter());
+                return;
+            }
+            TextColor color = legacyColor == null ? new TextColor(hexCode) : new TextColor(hexCode, legacyColor);
+            if (builder.length() > 0){
+                component.setText(builder.toString());
+                components.add(component);
+                builder.setLength(0);
+            }
+            component = new IChatBaseComponent();
+            component.modifier.setColor(color);
+        }
+
+        /**
+         * Applies legacy code following color symbol
+         *
+         * @param   c
+         *          character following color symbol
+         */
+        private void acceptLegacyCode(char c) {
+            if ((c >= 'A') && (c <= 'Z')) {
+                c = (char)(c + ' ');
+            }
+            EnumChatFormat format = EnumChatFormat.getByChar(c);
+            if (format == null) return;
+            if (builder.length() > 0) {
+                component.setText(builder.toString());
+                components.add(component);
+                component = new IChatBaseComponent(component);
+                component.text = null;
+                builder.setLength(0);
+            }
+            switch (format){
+            case BOLD: 
+                component.modifier.setBold(true);
+                break;
+            case ITALIC: 
+                component.modifier.setItalic(true);
+                break;
+            case UNDERLINE: 
+                component.modifier.setUnderlined(true);
+                break;
+            case STRIKETHROUGH: 
+                component.modifier.setStrikethrough(true);
+                break;
+            case OBFUSCATED: 
+                component.modifier.setObfuscated(true);
+                break;
+            case RESET: 
+                component = new IChatBaseComponent();
+                component.modifier.setColor(new TextColor(EnumChatFormat.WHITE));
+                break;
+            default:
+                component = new IChatBaseComponent();
+                component.modifier.setColor(new TextColor(format));
+                break;
+            }
+        }
+
+        /**
+         * Finishes current component and returns component containing all parsed parts
+         *
+         * @return  organized component from parsed text
+         */
+        private IChatBaseComponent getComponent() {
+            component.setText(builder.toString());
+            components.add(component);
+            return new IChatBaseComponent("").setExtra(components);
+        }
+    }
 }
\ No newline at end of file
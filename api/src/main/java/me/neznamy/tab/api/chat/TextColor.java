@@ -2,11 +2,34 @@ package me.neznamy.tab.api.chat;
 
 import me.neznamy.tab.api.util.Preconditions;
 
+import java.util.Arrays;
+
 /**
  * A class representing a component color, which can be either RGB or legacy code.
  */
 public class TextColor {
 
+    /** Uppercase hex digits for building hex code */
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    /** Marker of a cell in {@link #CLOSEST_COLORS} which was not computed yet */
+    private static final byte UNKNOWN_CELL = -2;
+
+    /** Marker of a cell in {@link #CLOSEST_COLORS} containing colors with different closest legacy colors */
+    private static final byte MIXED_CELL = -1;
+
+    /**
+     * Ordinals of the closest legacy colors of colors quantized to the upper 4 bits
+     * of each channel, indexed by {@code RGB} nibbles. Cells are computed on first use.
+     * Cells on the border of two legacy colors are marked as {@link #MIXED_CELL},
+     * colors in them are calculated exactly every time.
+     */
+    private static final byte[] CLOSEST_COLORS = new byte[4096];
+
+    static {
+        Arrays.fill(CLOSEST_COLORS, UNKNOWN_CELL);
+    }
+
     /**
      * RGB values as a single number of 3 8-bit numbers (0-255).
      * It is only initialized if colors are actually used to avoid
@@ -107,19 +130,64 @@ public class TextColor {
     }
 
     /**
-     * Loads the closest legacy color based currently provided values
+     * Returns the closest legacy color to provided RGB combination using
+     * the precomputed lookup table.
+     *
+     * @param   rgb
+     *          RGB values as a single number of 3 8-bit numbers
+     * @return  closest legacy color
+     */
+    private static EnumChatFormat getClosestColor(int rgb) {
+        int cell = ((rgb >> 12) & 0xF00) | ((rgb >> 8) & 0xF0) | ((rgb >> 4) & 0xF);
+        byte closest = CLOSEST_COLORS[cell];
+        if (closest == UNKNOWN_CELL) {
+            closest = computeCell(cell);
+            CLOSEST_COLORS[cell] = closest;
+        }
+        if (closest == MIXED_CELL) return getClosestColor((rgb >> 16) & 0xFF, (rgb >> 8) & 0xFF, rgb & 0xFF);
+        return EnumChatFormat.VALUES[closest];
+    }
+
+    /**
+     * Returns ordinal of the closest legacy color shared by all colors in the cell
+     * or {@link #MIXED_CELL} if colors in the cell have different closest colors.
+     *
+     * @param   cell
+     *          index of the cell to compute
+     * @return  ordinal of the closest color of the cell
+     */
+    private static byte computeCell(int cell) {
+        int red = (cell >> 4) & 0xF0;
+        int green = cell & 0xF0;
+        int blue = (cell << 4) & 0xF0;
+        EnumChatFormat closest = getClosestColor(red, green, blue);
+        for (int r=red; r<red+16; r++) {
+            for (int g=green; g<green+16; g++) {
+                for (int b=blue; b<blue+16; b++) {
+                    if (getClosestColor(r, g, b) != closest) return MIXED_CELL;
+                }
+            }
+        }
+        return (byte) closest.ordinal();
+    }
+
+    /**
+     * Calculates the closest legacy color to provided RGB values
+     *
+     * @param   red
+     *          red value
+     * @param   green
+     *          green value
+     * @param   blue
+     *          blue value
+     * @return  closest legacy color
      */
-    private EnumChatFormat loadClosestColor() {
-        double minMaxDist = 9999;
-        double maxDist;
+    private static EnumChatFormat getClosestColor(int red, int green, int blue) {
+        int minMaxDist = Integer.MAX_VALUE;
         EnumChatFormat closestColor = EnumChatFormat.WHITE;
         for (EnumChatFormat color : EnumChatFormat.VALUES) {
-            int rDiff = Math.abs(color.getRed() - getRed());
-            int gDiff = Math.abs(color.getGreen() - getGreen());
-            int bDiff = Math.abs(color.getBlue() - getBlue());
-            maxDist = rDiff;
-            if (gDiff > maxDist) maxDist = gDiff;
-            if (bDiff > maxDist) maxDist = bDiff;
+            int maxDist = Math.max(Math.abs(color.getRed() - red),
+                    Math.max(Math.abs(color.getGreen() - green), Math.abs(color.getBlue() - blue)));
             if (maxDist < minMaxDist) {
                 minMaxDist = maxDist;
                 closestColor = color;
@@ -166,7 +234,10 @@ public class TextColor {
      * @return  closest legacy color
      */
     public EnumChatFormat getLegacyColor() {
-        if (legacyColor == null) legacyColor = loadClosestColor();
+        if (legacyColor == null) {
+            if (rgb == -1) rgb = Integer.parseInt(hexCode, 16);
+            legacyColor = getClosestColor(rgb);
+        }
         return legacyColor;
     }
 
@@ -176,7 +247,13 @@ public class TextColor {
      * @return  the rgb combination as a 6-digit hex code string
      */
     public String getHexCode() {
-        if (hexCode == null) hexCode = String.format("%06X", rgb);
+        if (hexCode == null) {
+            char[] chars = new char[6];
+            for (int i=0; i<6; i++) {
+                chars[i] = HEX_DIGITS[(rgb >> (20 - i*4)) & 0xF];
+            }
+            hexCode = new String(chars);
+        }
         return hexCode;
     }
 
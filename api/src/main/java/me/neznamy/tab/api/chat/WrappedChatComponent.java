@@ -38,6 +38,11 @@ public class WrappedChatComponent extends IChatBaseComponent {
         throw new UnsupportedOperationException("Not supported for " + getClass().getSimpleName());
     }
 
+    @Override
+    void appendJson(StringBuilder builder) {
+        throw new UnsupportedOperationException("Not supported for " + getClass().getSimpleName());
+    }
+
     @Override
     public String toString(ProtocolVersion clientVersion) {
         throw new UnsupportedOperationException("Not supported for " + getClass().getSimpleName());
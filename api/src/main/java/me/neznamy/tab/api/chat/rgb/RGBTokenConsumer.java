@@ -0,0 +1,33 @@
+package me.neznamy.tab.api.chat.rgb;
+
+import me.neznamy.tab.api.chat.EnumChatFormat;
+
+/**
+ * Receiver of tokens produced by {@link RGBTokenizer} in the order
+ * they appear in the text
+ */
+public interface RGBTokenConsumer {
+
+    /**
+     * Accepts part of the text without any RGB codes. Legacy codes
+     * are kept in the text.
+     *
+     * @param   text
+     *          text containing the token
+     * @param   start
+     *          start index of the token, inclusive
+     * @param   end
+     *          end index of the token, exclusive
+     */
+    void acceptText(CharSequence text, int start, int end);
+
+    /**
+     * Accepts RGB color
+     *
+     * @param   hexCode
+     *          6-digit hex code of the color as written in the text
+     * @param   legacyColor
+     *          legacy color forced using |L suffix or {@code null} if not defined
+     */
+    void acceptColor(String hexCode, EnumChatFormat legacyColor);
+}
\ No newline at end of file
@@ -0,0 +1,623 @@
+package me.neznamy.tab.api.chat.rgb;
+
+import me.neznamy.tab.api.chat.EnumChatFormat;
+
+/**
+ * Lexer recognizing all supported RGB formats and gradients in a single scan:
+ * <ul>
+ *     <li>&amp;x&amp;R&amp;R&amp;G&amp;G&amp;B&amp;B</li>
+ *     <li>{#RRGGBB}, &amp;#RRGGBB, #&lt;RRGGBB&gt;, &lt;#RRGGBB&gt; and #RRGGBB</li>
+ *     <li>{#RRGGBB&gt;}Text{#RRGGBB&lt;} including {#RRGGBB&lt;&gt;} shortcut</li>
+ *     <li>&lt;#RRGGBB&gt;Text&lt;/#RRGGBB&gt;</li>
+ *     <li>&lt;$#RRGGBB&gt;Text&lt;$#RRGGBB&gt;</li>
+ *     <li>&lt;gradient:#RRGGBB:#RRGGBB&gt;Text&lt;/gradient&gt;</li>
+ * </ul>
+ * Colors may be followed by |L to force legacy color for clients without RGB support.
+ * Recognized text is passed to {@link RGBTokenConsumer} as a stream of text and color
+ * tokens instead of rebuilding the text for each format.
+ * <p>
+ * Output matches formats in {@code format} and {@code gradient} packages applied one after
+ * another, except for rare texts where the result depended on that order:
+ * <ul>
+ *     <li>Gradients nested in or overlapping other gradients are applied from left to right
+ *     instead of CMI gradients first, then &lt;#&gt;, &lt;$#&gt; and &lt;gradient&gt;</li>
+ *     <li>Text produced by a gradient is not scanned again, so apart from &amp; in front of it
+ *     it does not form new colors or gradients together with surrounding text. Gradients
+ *     without text do not join the text around them either.</li>
+ *     <li>Color used again inside a &lt;#RRGGBB&gt;, {#RRGGBB} or other format wrapping
+ *     it is not replaced from inside out</li>
+ *     <li>Closing &lt;$#RRGGBB&gt; of a gradient skipped because of a placeholder may start
+ *     a new gradient</li>
+ * </ul>
+ */
+public class RGBTokenizer {
+
+    /** Uppercase hex digits for writing gradient colors */
+    private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+    /**
+     * RGB formats in the order they used to be applied one after another. A color converted
+     * by one format could then be converted again by a later format wrapped around it,
+     * such as {&amp;x&amp;R&amp;R&amp;G&amp;G&amp;B&amp;B} or &lt;{#RRGGBB}&gt;.
+     */
+    private static final int BUKKIT_FORMAT = 1;
+    private static final int CMI_FORMAT = 2;
+    private static final int UNNAMED_FORMAT = 3;
+    private static final int HTML_FORMAT = 4;
+    private static final int KYORI_FORMAT = 5;
+
+    /** Whether RGB formats should be converted or only gradients */
+    private final boolean formats;
+
+    /** Whether gradients containing placeholders should be skipped */
+    private final boolean ignorePlaceholders;
+
+    /**
+     * Constructs new instance with given parameters
+     *
+     * @param   formats
+     *          {@code true} to convert RGB formats and gradients, {@code false} to only apply gradients
+     * @param   ignorePlaceholders
+     *          {@code true} to skip gradients containing placeholders
+     */
+    public RGBTokenizer(boolean formats, boolean ignorePlaceholders) {
+        this.formats = formats;
+        this.ignorePlaceholders = ignorePlaceholders;
+    }
+
+    /**
+     * Applies all formats and gradients to text and returns it in #RRGGBB format.
+     * Returns the same instance without any allocations if text does not contain
+     * any character which could start a format.
+     *
+     * @param   text
+     *          text to format
+     * @return  text where everything is converted to #RRGGBB
+     */
+    public String format(String text) {
+        if (isPlain(text)) return text;
+        TextBuilder builder = new TextBuilder(text);
+        tokenize(text, builder);
+        return builder.toString();
+    }
+
+    /**
+     * Scans given text and passes recognized tokens to given consumer
+     *
+     * @param   text
+     *          text to tokenize
+     * @param   consumer
+     *          consumer of tokens
+     */
+    public void tokenize(String text, RGBTokenConsumer consumer) {
+        int length = text.length();
+        int textStart = 0;
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            int end = -1;
+            if (isSpecial(c)) {
+                if (textStart < i) consumer.acceptText(text, textStart, i);
+                textStart = i;
+                if (c == '<') {
+                    end = tokenizeTag(text, i, consumer);
+                } else if (c == '{') {
+                    end = tokenizeBrace(text, i, true, consumer);
+                } else if (c == '#') {
+                    end = tokenizeHash(text, i, consumer);
+                } else {
+                    end = tokenizeCode(text, i, consumer);
+                }
+            }
+            if (end == -1) {
+                i++;
+            } else {
+                i = end;
+                textStart = end;
+            }
+        }
+        if (textStart < length) consumer.acceptText(text, textStart, length);
+    }
+
+    /**
+     * Scans given text for #RRGGBB colors only and passes them to given consumer.
+     * Used for text which already had formats applied.
+     *
+     * @param   text
+     *          text to tokenize
+     * @param   consumer
+     *          consumer of tokens
+     */
+    public void tokenizeColors(String text, RGBTokenConsumer consumer) {
+        int length = text.length();
+        int textStart = 0;
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            int end = -1;
+            if (c == '#' && isHexCode(text, i+1)) {
+                if (textStart < i) consumer.acceptText(text, textStart, i);
+                end = acceptColor(text, i+1, i+7, consumer);
+            }
+            if (end == -1) {
+                i++;
+            } else {
+                i = end;
+                textStart = end;
+            }
+        }
+        if (textStart < length) consumer.acceptText(text, textStart, length);
+    }
+
+    /**
+     * Handles text starting with &lt;, which may be a gradient or &lt;#RRGGBB&gt;
+     */
+    private int tokenizeTag(String text, int i, RGBTokenConsumer consumer) {
+        int end = tokenizeGradient(text, i, consumer);
+        if (end != -1 || !formats) return end;
+        //<#RRGGBB>, including colors in other formats inside
+        return tokenizeWrappedColor(text, i, KYORI_FORMAT, consumer);
+    }
+
+    /**
+     * Handles gradients starting with &lt;
+     */
+    private int tokenizeGradient(String text, int i, RGBTokenConsumer consumer) {
+        if (text.startsWith("<#", i)) {
+            //<#RRGGBB>Text</#RRGGBB>
+            int contentStart = skipStartColor(text, i+2, ">");
+            if (contentStart != -1) {
+                int closeStart = text.indexOf('<', contentStart);
+                if (closeStart != -1 && text.startsWith("</#", closeStart) && isHexCode(text, closeStart+3) && text.startsWith(">", closeStart+9)
+                        && applyGradient(text, i+2, contentStart, closeStart, closeStart+3, isFollowedByHash(text, closeStart+10), consumer)) {
+                    return closeStart+10;
+                }
+            }
+        } else if (text.startsWith("<$#", i)) {
+            //<$#RRGGBB>Text<$#RRGGBB>
+            int contentStart = skipStartColor(text, i+3, ">");
+            if (contentStart != -1) {
+                int closeStart = text.indexOf('<', contentStart);
+                if (closeStart != -1 && text.startsWith("<$#", closeStart) && isHexCode(text, closeStart+3) && text.startsWith(">", closeStart+9)
+                        && applyGradient(text, i+3, contentStart, closeStart, closeStart+3, isFollowedByHash(text, closeStart+10), consumer)) {
+                    return closeStart+10;
+                }
+            }
+        } else if (text.startsWith("<gradient:#", i)) {
+            //<gradient:#RRGGBB:#RRGGBB>Text</gradient>
+            int endColorStart = skipStartColor(text, i+11, ":#");
+            if (endColorStart != -1 && isHexCode(text, endColorStart) && text.startsWith(">", endColorStart+6)) {
+                int contentStart = endColorStart+7;
+                int closeStart = text.indexOf('<', contentStart);
+                if (closeStart != -1 && text.startsWith("</gradient>", closeStart)
+                        && applyGradient(text, i+11, contentStart, closeStart, endColorStart, isFollowedByHash(text, closeStart+11), consumer)) {
+                    return closeStart+11;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Handles text starting with {, which may be a gradient or {#RRGGBB}.
+     * {#RRGGBB&lt;&gt;} shortcut is only handled if {@code shortcut} is {@code true}.
+     */
+    private int tokenizeBrace(String text, int i, boolean shortcut, RGBTokenConsumer consumer) {
+        if (!text.startsWith("{#", i) || !isHexCode(text, i+2)) {
+            //{&x&R&R&G&G&B&B}
+            return formats ? tokenizeWrappedColor(text, i, CMI_FORMAT, consumer) : -1;
+        }
+        //{#RRGGBB<>}
+        if (text.startsWith("<>}", i+8)) return shortcut ? tokenizeShortcut(text, i, false, consumer) : -1;
+        //{#RRGGBB>}Text{#RRGGBB<}
+        int contentStart = skipStartColor(text, i+2, ">}");
+        if (contentStart != -1) {
+            int end = tokenizeCMIGradient(text, i+2, contentStart, consumer);
+            if (end != -1) return end;
+        }
+        //{#RRGGBB}
+        if (formats && text.startsWith("}", i+8)) {
+            return acceptColor(text, i+2, i+9, consumer);
+        }
+        return -1;
+    }
+
+    /**
+     * Applies CMI gradient with given start color and content start if followed by
+     * an end color. Returns index after the gradient or -1 if it was not applied.
+     */
+    private int tokenizeCMIGradient(String text, int startColorStart, int contentStart, RGBTokenConsumer consumer) {
+        int closeStart = text.indexOf('{', contentStart);
+        if (closeStart == -1 || !text.startsWith("{#", closeStart) || !isHexCode(text, closeStart+2)) return -1;
+        boolean shortcut = text.startsWith("<>}", closeStart+8);
+        if (!shortcut && !text.startsWith("<}", closeStart+8)) return -1;
+        if (!applyGradient(text, startColorStart, contentStart, closeStart, closeStart+2, !shortcut && isFollowedByHash(text, closeStart+10), consumer)) return -1;
+        return shortcut ? tokenizeShortcut(text, closeStart, true, consumer) : closeStart+10;
+    }
+
+    /**
+     * Handles {#RRGGBB&lt;&gt;}, which is a shortcut for {#RRGGBB&lt;}{#RRGGBB&gt;},
+     * ending previous gradient (if any) and starting a new one with the same color.
+     */
+    private int tokenizeShortcut(String text, int i, boolean closed, RGBTokenConsumer consumer) {
+        String hexCode = text.substring(i+2, i+8);
+        if (!closed) tokenizeColors("{#" + hexCode + "<}", consumer);
+        int end = tokenizeCMIGradient(text, i+2, i+11, consumer);
+        if (end != -1) return end;
+        tokenizeColors("{#" + hexCode + ">}", consumer);
+        return i+11;
+    }
+
+    /**
+     * Handles text starting with #, which may be #&lt;RRGGBB&gt; or #RRGGBB
+     */
+    private int tokenizeHash(String text, int i, RGBTokenConsumer consumer) {
+        //#<RRGGBB>
+        if (formats && text.startsWith("<", i+1) && isHexCode(text, i+2) && text.startsWith(">", i+8)) {
+            return acceptColor(text, i+2, i+9, consumer);
+        }
+        //#RRGGBB
+        if (isHexCode(text, i+1)) {
+            return acceptColor(text, i+1, i+7, consumer);
+        }
+        return -1;
+    }
+
+    /**
+     * Handles text starting with &amp; or color symbol, which may be
+     * &amp;x&amp;R&amp;R&amp;G&amp;G&amp;B&amp;B or &amp;#RRGGBB
+     */
+    private int tokenizeCode(String text, int i, RGBTokenConsumer consumer) {
+        if (!formats) return -1;
+        int end = tokenizeBukkitColor(text, i, consumer);
+        if (end != -1 || text.charAt(i) != '&') return end;
+        //&#RRGGBB, & is removed and # handled separately
+        if (text.startsWith("#", i+1)) return i+1;
+        //& is also removed if followed by a format converted to #RRGGBB before &# is
+        char next = i+1 < text.length() ? text.charAt(i+1) : 0;
+        if (next == '&' || next == EnumChatFormat.COLOR_CHAR) return tokenizeBukkitColor(text, i+1, consumer);
+        if (next != '<' && next != '{') return -1;
+        //& is only removed if the format is converted to text starting with #
+        AmpersandConsumer output = new AmpersandConsumer(consumer, text, i);
+        end = next == '<' ? tokenizeGradient(text, i+1, output) : tokenizeBrace(text, i+1, false, output);
+        //gradient with empty text is converted to nothing, & is then removed if followed by #
+        if (end != -1 && output.empty && !isFollowedByHash(text, end)) consumer.acceptText(text, i, i+1);
+        return end;
+    }
+
+    /**
+     * Handles a color in format up to given one, which may contain colors
+     * in earlier formats inside, such as &lt;{#RRGGBB}&gt;
+     */
+    private int tokenizeWrappedColor(String text, int i, int lastFormat, RGBTokenConsumer consumer) {
+        int end = wrappedColorEnd(text, i, lastFormat);
+        if (end == -1) return -1;
+        EnumChatFormat legacyColor = getLegacyColor(text, end);
+        consumer.acceptColor(wrappedColorHexCode(text, i), legacyColor);
+        return legacyColor == null ? end : end+2;
+    }
+
+    /**
+     * Returns index after color starting at given index, which formats up to given one
+     * converted into a single #RRGGBB, or -1 if there is no such color.
+     */
+    private static int wrappedColorEnd(String text, int i, int lastFormat) {
+        if (i >= text.length()) return -1;
+        char c = text.charAt(i);
+        if (c == '#') {
+            //#RRGGBB
+            if (isHexCode(text, i+1)) return i+7;
+            //#<RRGGBB>
+            if (lastFormat >= HTML_FORMAT && text.startsWith("<", i+1) && isHexCode(text, i+2) && text.startsWith(">", i+8)) return i+9;
+            return -1;
+        }
+        if ((c == '&' || c == EnumChatFormat.COLOR_CHAR) && text.startsWith("x", i+1)) {
+            //&x&R&R&G&G&B&B
+            return isBukkitColor(text, i) ? i+14 : -1;
+        }
+        if (c == '{' && lastFormat >= CMI_FORMAT) {
+            //{#RRGGBB}
+            int end = wrappedColorEnd(text, i+1, BUKKIT_FORMAT);
+            return end != -1 && text.startsWith("}", end) ? end+1 : -1;
+        }
+        if (c == '&' && lastFormat >= UNNAMED_FORMAT) {
+            //&#RRGGBB, & is only removed if followed by # at the time
+            if (text.startsWith("&", i+1) && !text.startsWith("x", i+2)) return -1;
+            return wrappedColorEnd(text, i+1, HTML_FORMAT);
+        }
+        if (c == '<' && lastFormat >= KYORI_FORMAT) {
+            //<#RRGGBB>
+            int end = wrappedColorEnd(text, i+1, HTML_FORMAT);
+            return end != -1 && text.startsWith(">", end) ? end+1 : -1;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns hex code of color starting at given index accepted by {@link #wrappedColorEnd(String, int, int)}
+     */
+    private static String wrappedColorHexCode(String text, int i) {
+        char c = text.charAt(i);
+        if (c == '#') {
+            return text.charAt(i+1) == '<' ? text.substring(i+2, i+8) : text.substring(i+1, i+7);
+        }
+        if ((c == '&' || c == EnumChatFormat.COLOR_CHAR) && text.charAt(i+1) == 'x') {
+            return new String(new char[] {text.charAt(i+3), text.charAt(i+5), text.charAt(i+7), text.charAt(i+9), text.charAt(i+11), text.charAt(i+13)});
+        }
+        return wrappedColorHexCode(text, i+1);
+    }
+
+    /**
+     * Returns {@code true} if text at given index starts with # once formats applied
+     * before &amp;# are, which means &amp; in front of it is removed
+     */
+    private boolean isFollowedByHash(String text, int index) {
+        return formats && (text.startsWith("#", index) || wrappedColorEnd(text, index, CMI_FORMAT) != -1);
+    }
+
+    /**
+     * Returns {@code true} if text contains &amp;x&amp;R&amp;R&amp;G&amp;G&amp;B&amp;B
+     * with a valid hex code at given index
+     */
+    private static boolean isBukkitColor(String text, int i) {
+        if (text.length() < i+14) return false;
+        for (int j=0; j<12; j++) {
+            char c = text.charAt(i+2+j);
+            if (j % 2 == 0 ? c != '&' && c != EnumChatFormat.COLOR_CHAR && !isHexChar(c) : !isHexChar(c)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Handles &amp;x&amp;R&amp;R&amp;G&amp;G&amp;B&amp;B
+     */
+    private int tokenizeBukkitColor(String text, int i, RGBTokenConsumer consumer) {
+        if (!text.startsWith("x", i+1) || text.length() < i+14) return -1;
+        char[] hex = new char[6];
+        for (int j=0; j<12; j++) {
+            char c = text.charAt(i+2+j);
+            if (c != '&' && c != EnumChatFormat.COLOR_CHAR && !isHexChar(c)) return -1;
+            if (j % 2 == 1) hex[j/2] = c;
+        }
+        String hexCode = new String(hex);
+        if (isHexCode(hexCode, 0)) {
+            EnumChatFormat legacyColor = getLegacyColor(text, i+14);
+            consumer.acceptColor(hexCode, legacyColor);
+            return legacyColor == null ? i+14 : i+16;
+        }
+        tokenizeColors("#" + hexCode, consumer);
+        return i+14;
+    }
+
+    /**
+     * Returns index after gradient start color beginning at given index,
+     * optional |L legacy color and given suffix or -1 if text does not match.
+     */
+    private int skipStartColor(String text, int startColorStart, String suffix) {
+        if (!isHexCode(text, startColorStart)) return -1;
+        int end = startColorStart+6;
+        if (text.startsWith("|", end)) {
+            if (getLegacyColor(text, end) == null) return -1;
+            end += 2;
+        }
+        return text.startsWith(suffix, end) ? end + suffix.length() : -1;
+    }
+
+    /**
+     * Passes gradient defined by given indexes to the consumer. Returns {@code false}
+     * if gradient was skipped because of a placeholder inside. If gradient is followed
+     * by #, &amp; at the end of its text is removed like &amp;# is.
+     */
+    private boolean applyGradient(String text, int startColorStart, int contentStart, int contentEnd, int endColorStart,
+                                  boolean followedByHash, RGBTokenConsumer consumer) {
+        String message = text.substring(contentStart, contentEnd);
+        if (ignorePlaceholders && message.indexOf('%') != -1) return false;
+        EnumChatFormat legacyColor = getLegacyColor(text, startColorStart+6);
+        String gradient = asGradient(parseHexCode(text, startColorStart), legacyColor, message, parseHexCode(text, endColorStart));
+        if (formats && followedByHash && gradient.endsWith("&")) gradient = gradient.substring(0, gradient.length()-1);
+        if (formats) {
+            //formats are applied to gradient output as well
+            tokenize(gradient, consumer);
+        } else {
+            tokenizeColors(gradient, consumer);
+        }
+        return true;
+    }
+
+    /**
+     * Passes color with hex code starting at given index to the consumer
+     * together with |L legacy color if present at the end index
+     * and returns index after the color.
+     */
+    private int acceptColor(String text, int hexStart, int end, RGBTokenConsumer consumer) {
+        EnumChatFormat legacyColor = getLegacyColor(text, end);
+        consumer.acceptColor(text.substring(hexStart, hexStart+6), legacyColor);
+        return legacyColor == null ? end : end+2;
+    }
+
+    /**
+     * Returns legacy color defined as |L at given index or {@code null} if not present
+     */
+    private static EnumChatFormat getLegacyColor(String text, int index) {
+        if (text.length() - index < 2 || text.charAt(index) != '|') return null;
+        return EnumChatFormat.getByChar(text.charAt(index+1));
+    }
+
+    /**
+     * Returns {@code true} if text contains 6 hexadecimal characters from given index
+     */
+    private static boolean isHexCode(String text, int index) {
+        if (text.length() - index < 6) return false;
+        for (int i=index; i<index+6; i++) {
+            if (!isHexChar(text.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    private static boolean isHexChar(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'A' && c <= 'F') || (c >= 'a' && c <= 'f');
+    }
+
+    private static boolean isSpecial(char c) {
+        return c == '#' || c == '<' || c == '{' || c == '&' || c == EnumChatFormat.COLOR_CHAR;
+    }
+
+    /**
+     * Returns {@code true} if text does not contain any character which could start a format
+     */
+    private static boolean isPlain(String text) {
+        for (int i=0; i<text.length(); i++) {
+            if (isSpecial(text.charAt(i))) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns gradient text based on start color, text and end color
+     *
+     * @param   start
+     *          start color as a single RGB number
+     * @param   legacyColor
+     *          legacy color forced for the whole gradient or {@code null} if not defined
+     * @param   text
+     *          text to be reformatted
+     * @param   end
+     *          end color as a single RGB number
+     * @return  reformatted text
+     */
+    private static String asGradient(int start, EnumChatFormat legacyColor, String text, int end) {
+        //lazy support for magic codes in gradients
+        String magicCodes = EnumChatFormat.getLastColors(text);
+        String deColorized = text.substring(magicCodes.length());
+        int length = deColorized.length();
+        StringBuilder sb = new StringBuilder(length * (8 + magicCodes.length() + (legacyColor == null ? 0 : 2)));
+        if (length == 1) {
+            appendColor(sb, start, legacyColor);
+            sb.append(magicCodes);
+            sb.append(deColorized);
+            return sb.toString();
+        }
+        int startRed = (start >> 16) & 0xFF;
+        int startGreen = (start >> 8) & 0xFF;
+        int startBlue = start & 0xFF;
+        float redStep = (float)(((end >> 16) & 0xFF) - startRed)/(length-1);
+        float greenStep = (float)(((end >> 8) & 0xFF) - startGreen)/(length-1);
+        float blueStep = (float)((end & 0xFF) - startBlue)/(length-1);
+        for (int i=0; i<length; i++) {
+            int red = (int) (startRed + redStep*i);
+            int green = (int) (startGreen + greenStep*i);
+            int blue = (int) (startBlue + blueStep*i);
+            appendColor(sb, (red << 16) | (green << 8) | blue, legacyColor);
+            sb.append(magicCodes);
+            sb.append(deColorized.charAt(i));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Appends color in #RRGGBB format with uppercase hex digits followed by
+     * |L legacy color if defined.
+     */
+    private static void appendColor(StringBuilder sb, int rgb, EnumChatFormat legacyColor) {
+        sb.append('#');
+        for (int shift=20; shift>=0; shift-=4) {
+            sb.append(HEX_DIGITS[(rgb >> shift) & 0xF]);
+        }
+        if (legacyColor != null) sb.append('|').append(legacyColor.getCharacter());
+    }
+
+    /**
+     * Parses 6-digit hex code starting at given index into a single RGB number
+     */
+    private static int parseHexCode(String text, int index) {
+        int rgb = 0;
+        for (int i=index; i<index+6; i++) {
+            rgb = (rgb << 4) | Character.digit(text.charAt(i), 16);
+        }
+        return rgb;
+    }
+
+    /**
+     * Consumer of tokens of a format preceded by &amp;, passing them to another consumer.
+     * The &amp; is passed as well unless the first token is a color.
+     */
+    private static class AmpersandConsumer implements RGBTokenConsumer {
+
+        /** Consumer to pass tokens to */
+        private final RGBTokenConsumer consumer;
+
+        /** Text containing the &amp; */
+        private final String source;
+
+        /** Index of the &amp; in the text */
+        private final int index;
+
+        /** Whether no token was passed yet */
+        private boolean empty = true;
+
+        private AmpersandConsumer(RGBTokenConsumer consumer, String source, int index) {
+            this.consumer = consumer;
+            this.source = source;
+            this.index = index;
+        }
+
+        @Override
+        public void acceptText(CharSequence text, int start, int end) {
+            if (empty) consumer.acceptText(source, index, index+1);
+            empty = false;
+            consumer.acceptText(text, start, end);
+        }
+
+        @Override
+        public void acceptColor(String hexCode, EnumChatFormat legacyColor) {
+            empty = false;
+            consumer.acceptColor(hexCode, legacyColor);
+        }
+    }
+
+    /**
+     * Consumer writing tokens back as text in #RRGGBB format. Text is only copied
+     * once a token differs from the original text.
+     */
+    private static class TextBuilder implements RGBTokenConsumer {
+
+        /** Original text */
+        private final String source;
+
+        /** Length of unchanged beginning of original text */
+        private int sourceEnd;
+
+        /** Builder with converted text, {@code null} while text is unchanged */
+        private StringBuilder builder;
+
+        private TextBuilder(String source) {
+            this.source = source;
+        }
+
+        private StringBuilder builder() {
+            if (builder == null) builder = new StringBuilder(source.length() + 16).append(source, 0, sourceEnd);
+            return builder;
+        }
+
+        @Override
+        public void acceptText(CharSequence text, int start, int end) {
+            if (builder == null && text == source && start == sourceEnd) {
+                sourceEnd = end;
+            } else {
+                builder().append(text, start, end);
+            }
+        }
+
+        @Override
+        public void acceptColor(String hexCode, EnumChatFormat legacyColor) {
+            builder().append('#').append(hexCode);
+            if (legacyColor != null) builder.append('|').append(legacyColor.getCharacter());
+        }
+
+        @Override
+        public String toString() {
+            if (builder != null) return builder.toString();
+            return sourceEnd == source.length() ? source : source.substring(0, sourceEnd);
+        }
+    }
+}
\ No newline at end of file
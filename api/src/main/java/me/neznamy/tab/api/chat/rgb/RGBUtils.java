@@ -1,19 +1,15 @@
 package me.neznamy.tab.api.chat.rgb;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 import me.neznamy.tab.api.chat.EnumChatFormat;
 import me.neznamy.tab.api.chat.TextColor;
-import me.neznamy.tab.api.chat.rgb.format.*;
-import me.neznamy.tab.api.chat.rgb.gradient.CMIGradient;
-import me.neznamy.tab.api.chat.rgb.gradient.CommonGradient;
-import me.neznamy.tab.api.chat.rgb.gradient.GradientPattern;
-import me.neznamy.tab.api.chat.rgb.gradient.KyoriGradient;
+import me.neznamy.tab.api.chat.rgb.format.MiniMessageFormat;
+import me.neznamy.tab.api.chat.rgb.format.RGBFormatter;
+import me.neznamy.tab.api.util.BoundedCache;
 import me.neznamy.tab.api.util.Preconditions;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * A helper class to reformat all RGB formats into the default #RRGGBB and apply gradients
  */
@@ -22,47 +18,28 @@ public class RGBUtils {
     /** Instance of the class */
     private static final RGBUtils instance = new RGBUtils();
 
-    /** Registered RGB formatters */
-    private final RGBFormatter[] formats;
+    /** Tokenizer applying all formats and gradients */
+    private final RGBTokenizer tokenizer = new RGBTokenizer(true, false);
 
-    /** Registered gradient patterns */
-    private final GradientPattern[] gradients;
+    /** Tokenizer applying only gradients without placeholders */
+    private final RGBTokenizer cleanGradientTokenizer = new RGBTokenizer(false, true);
 
-    /** TAB's RGB pattern, used to convert text to bukkit format for boss bar */
-    private final Pattern tabPattern = Pattern.compile("#[0-9a-fA-F]{6}");
+    /** Caches of texts rendered for clients without RGB support by maximum length */
+    private final Map<Integer, BoundedCache<String, String>> legacyTextCaches = new ConcurrentHashMap<>();
 
-    /** RGB pattern for legacy codes */
-    private final Pattern tabPatternLegacy = Pattern.compile("#[0-9a-fA-F]{6}\\|.");
+    /** MiniMessage formatter, {@code null} if MiniMessage is not available */
+    private final RGBFormatter miniMessageFormat;
 
     /**
-     * Constructs new instance and loads all RGB patterns and gradients
+     * Constructs new instance and checks for MiniMessage presence
      */
     public RGBUtils() {
-        List<RGBFormatter> list = new ArrayList<>();
-        list.add(new BukkitFormat());
-        list.add(new CMIFormat());
-        list.add(new UnnamedFormat1());
-        list.add(new HtmlFormat());
-        list.add(new KyoriFormat());
+        RGBFormatter miniMessageFormat = null;
         try {
             Class.forName("net.kyori.adventure.text.minimessage.MiniMessage");
-            list.add(new MiniMessageFormat());
+            miniMessageFormat = new MiniMessageFormat();
         } catch (ClassNotFoundException ignored) {}
-        formats = list.toArray(new RGBFormatter[0]);
-
-        gradients = new GradientPattern[] {
-                //{#RRGGBB>}text{#RRGGBB<}
-                new CMIGradient(),
-                //<#RRGGBB>Text</#RRGGBB>
-                new CommonGradient(Pattern.compile("<#[0-9a-fA-F]{6}>[^<]*</#[0-9a-fA-F]{6}>"),
-                        Pattern.compile("<#[0-9a-fA-F]{6}\\|.>[^<]*</#[0-9a-fA-F]{6}>"),
-                        "<#", 9, 2, 9, 7),
-                //<$#RRGGBB>Text<$#RRGGBB>
-                new CommonGradient(Pattern.compile("<\\$#[0-9a-fA-F]{6}>[^<]*<\\$#[0-9a-fA-F]{6}>"),
-                        Pattern.compile("<\\$#[0-9a-fA-F]{6}\\|.>[^<]*<\\$#[0-9a-fA-F]{6}>"),
-                        "<$", 10, 3, 10, 7),
-                new KyoriGradient()
-        };
+        this.miniMessageFormat = miniMessageFormat;
     }
 
     /**
@@ -83,16 +60,31 @@ public class RGBUtils {
      */
     public String applyFormats(String text) {
         Preconditions.checkNotNull(text, "text");
-        String replaced = text;
-        for (GradientPattern pattern : gradients) {
-            replaced = pattern.applyPattern(replaced, false);
-        }
-        for (RGBFormatter formatter : formats) {
-            replaced = formatter.reformat(replaced);
-        }
+        String replaced = tokenizer.format(text);
+        if (miniMessageFormat != null) replaced = miniMessageFormat.reformat(replaced);
         return replaced;
     }
 
+    /**
+     * Applies all RGB formats and gradients to text and passes the result
+     * to given consumer as a stream of text and color tokens.
+     *
+     * @param   text
+     *          original text
+     * @param   consumer
+     *          consumer of tokens
+     */
+    public void tokenize(String text, RGBTokenConsumer consumer) {
+        Preconditions.checkNotNull(text, "text");
+        Preconditions.checkNotNull(consumer, "consumer");
+        if (miniMessageFormat != null && text.indexOf('<') != -1) {
+            //MiniMessage needs the whole text, tokenizing its output
+            tokenizer.tokenizeColors(applyFormats(text), consumer);
+        } else {
+            tokenizer.tokenize(text, consumer);
+        }
+    }
+
     /**
      * Applies all gradient formats to text and returns it. This only affects
      * usage where no placeholder is used inside.
@@ -103,11 +95,7 @@ public class RGBUtils {
      */
     public String applyCleanGradients(String text) {
         Preconditions.checkNotNull(text, "text");
-        String replaced = text;
-        for (GradientPattern pattern : gradients) {
-            replaced = pattern.applyPattern(replaced, true);
-        }
-        return replaced;
+        return cleanGradientTokenizer.format(text);
     }
 
     /**
@@ -127,15 +115,23 @@ public class RGBUtils {
         if (rgbClient) {
             //converting random formats to TAB one
             String replaced = applyFormats(text);
-            for (Pattern p : new Pattern[]{tabPatternLegacy, tabPattern}) {
-                Matcher m = p.matcher(replaced);
-                while (m.find()) {
-                    String hexCode = m.group();
-                    String fixed = "&x&" + hexCode.charAt(1) + "&" + hexCode.charAt(2) + "&" + hexCode.charAt(3) + "&" + hexCode.charAt(4) + "&" + hexCode.charAt(5) + "&" + hexCode.charAt(6);
-                    replaced = replaced.replace(hexCode, EnumChatFormat.color(fixed));
+            StringBuilder sb = new StringBuilder(replaced.length() + 32);
+            for (int i = 0; i < replaced.length(); i++) {
+                char c = replaced.charAt(i);
+                if (c == '#' && replaced.length() > i+6 && isHexCode(replaced.substring(i+1, i+7))) {
+                    sb.append(EnumChatFormat.COLOR_CHAR).append('x');
+                    //lowercase like EnumChatFormat#color, which used to translate the &x&R&R&G&G&B&B
+                    for (int j = i+1; j < i+7; j++) {
+                        sb.append(EnumChatFormat.COLOR_CHAR).append(Character.toLowerCase(replaced.charAt(j)));
+                    }
+                    i += 6;
+                    //legacy color request is not supported by bukkit and is removed
+                    if (replaced.length() > i+2 && replaced.charAt(i+1) == '|' && !isLineTerminator(replaced.charAt(i+2))) i += 2;
+                } else {
+                    sb.append(c);
                 }
             }
-            return replaced;
+            return sb.toString();
         } else {
             return convertRGBtoLegacy(text);
         }
@@ -151,30 +147,88 @@ public class RGBUtils {
     public String convertRGBtoLegacy(String text) {
         if (text == null) return null;
         if (!text.contains("#")) return EnumChatFormat.color(text);
-        String applied = applyFormats(text);
-        StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < applied.length(); i++){
-            char c = applied.charAt(i);
-            if (c == '#' && applied.length() > i+6) {
-                String hexCode = applied.substring(i+1, i+7);
-                if (isHexCode(hexCode)) {
-                    if (containsLegacyCode(applied, i)) {
-                        sb.append(new TextColor(hexCode, EnumChatFormat.getByChar(applied.charAt(i+8))).getLegacyColor().getFormat());
-                        i += 8;
-                    } else {
-                        sb.append(new TextColor(hexCode).getLegacyColor().getFormat());
-                        i += 6;
-                    }
-                } else {
-                    sb.append(c);
-                }
-            } else {
-                sb.append(c);
-            }
-        }
+        StringBuilder sb = new StringBuilder(text.length());
+        appendLegacyText(sb, text, Integer.MAX_VALUE);
         return sb.toString();
     }
 
+    /**
+     * Renders text for clients without RGB support. Converts all hex codes
+     * in given string to legacy codes and cuts the result to given length
+     * (or length-1 if last character would be a color character) in a single pass.
+     * Text without hex codes is only cut. Results are cached for each length.
+     *
+     * @param   text
+     *          text to render
+     * @param   maxLength
+     *          maximum length of the result, {@link Integer#MAX_VALUE} for no limit
+     * @return  text with legacy colors cut to {@code maxLength} characters
+     */
+    public String toLegacyText(String text, int maxLength) {
+        Preconditions.checkNotNull(text, "text");
+        if (text.length() <= maxLength && text.indexOf('#') == -1) return text;
+        BoundedCache<String, String> cache = legacyTextCaches.get(maxLength);
+        if (cache == null) {
+            cache = legacyTextCaches.computeIfAbsent(maxLength, length -> new BoundedCache<>(
+                    length == Integer.MAX_VALUE ? "Legacy text" : "Legacy text (" + length + " characters)",
+                    10000, 1000000, (key, value) -> key.length()));
+        }
+        return cache.computeIfAbsent(text, key -> renderLegacyText(key, maxLength));
+    }
+
+    /**
+     * Converts hex codes to legacy codes and cuts the text without caching
+     *
+     * @param   text
+     *          text to render
+     * @param   maxLength
+     *          maximum length of the result
+     * @return  text with legacy colors cut to {@code maxLength} characters
+     */
+    private String renderLegacyText(String text, int maxLength) {
+        CharSequence legacyText = text;
+        if (text.indexOf('#') != -1) {
+            StringBuilder sb = new StringBuilder(Math.min(text.length(), maxLength));
+            appendLegacyText(sb, text, maxLength);
+            legacyText = sb;
+        }
+        if (legacyText.length() <= maxLength) return legacyText.toString();
+        if (legacyText.charAt(maxLength-1) == EnumChatFormat.COLOR_CHAR) {
+            return legacyText.subSequence(0, maxLength-1).toString(); //cutting one extra character to prevent prefix ending with "&"
+        } else {
+            return legacyText.subSequence(0, maxLength).toString();
+        }
+    }
+
+    /**
+     * Appends text with hex codes converted to legacy codes to given builder.
+     * Conversion stops once builder exceeds given length.
+     *
+     * @param   sb
+     *          builder to append text to
+     * @param   text
+     *          text to convert
+     * @param   maxLength
+     *          length after which the rest of the text is ignored
+     */
+    private void appendLegacyText(StringBuilder sb, String text, int maxLength) {
+        tokenize(text, new RGBTokenConsumer() {
+
+            @Override
+            public void acceptText(CharSequence source, int start, int end) {
+                if (sb.length() > maxLength) return;
+                sb.append(source, start, end);
+            }
+
+            @Override
+            public void acceptColor(String hexCode, EnumChatFormat legacyColor) {
+                if (sb.length() > maxLength) return;
+                TextColor color = legacyColor == null ? new TextColor(hexCode) : new TextColor(hexCode, legacyColor);
+                sb.append(color.getLegacyColor().getFormat());
+            }
+        });
+    }
+
     /**
      * Returns true if entered string is a valid 6-digit combination of
      * hexadecimal numbers, false if not
@@ -194,16 +248,14 @@ public class RGBUtils {
     }
 
     /**
-     * Returns true if text contains legacy color request at defined RGB index start
+     * Returns {@code true} if character is a line terminator, which is not
+     * matched as legacy color request
      *
-     * @param   text
-     *          text to check
-     * @param   i
-     *          current index start
-     * @return  {@code true} if legacy color is defined and valid, {@code false} otherwise
+     * @param   c
+     *          character to check
+     * @return  {@code true} if character is a line terminator, {@code false} if not
      */
-    private static boolean containsLegacyCode(String text, int i) {
-        if (text.length() - i < 9 || text.charAt(i+7) != '|') return false;
-        return EnumChatFormat.getByChar(text.charAt(i+8)) != null;
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
     }
 }
\ No newline at end of file
@@ -7,7 +7,11 @@ import me.neznamy.tab.api.chat.EnumChatFormat;
 
 /**
  * Formatter for &amp;x&amp;R&amp;R&amp;G&amp;G&amp;B&amp;B
+ *
+ * @deprecated  Use {@link me.neznamy.tab.api.chat.rgb.RGBUtils#applyFormats(String)},
+ *              which converts all formats and gradients in a single pass
  */
+@Deprecated
 public class BukkitFormat implements RGBFormatter {
 
     private final Pattern pattern = Pattern.compile("[" + EnumChatFormat.COLOR_CHAR + "&]x[" + EnumChatFormat.COLOR_CHAR + "&\\p{XDigit}]{12}");
@@ -5,7 +5,11 @@ import java.util.regex.Pattern;
 
 /**
  * Formatter for &lt;#RRGGBB&gt;
+ *
+ * @deprecated  Use {@link me.neznamy.tab.api.chat.rgb.RGBUtils#applyFormats(String)},
+ *              which converts all formats and gradients in a single pass
  */
+@Deprecated
 public class KyoriFormat implements RGBFormatter {
 
     private final Pattern pattern = Pattern.compile("<#[0-9a-fA-F]{6}>");
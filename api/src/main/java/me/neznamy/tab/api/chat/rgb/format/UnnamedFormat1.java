@@ -2,7 +2,11 @@ package me.neznamy.tab.api.chat.rgb.format;
 
 /**
  * Formatter for &amp;#RRGGBB
+ *
+ * @deprecated  Use {@link me.neznamy.tab.api.chat.rgb.RGBUtils#applyFormats(String)},
+ *              which converts all formats and gradients in a single pass
  */
+@Deprecated
 public class UnnamedFormat1 implements RGBFormatter {
 
     @Override
@@ -3,6 +3,14 @@ package me.neznamy.tab.api.chat.rgb.gradient;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+/**
+ * Gradient applier for {#RRGGBB&gt;}Text{#RRGGBB&lt;} and {#RRGGBB|L&gt;}Text{#RRGGBB&lt;}
+ *
+ * @deprecated  Use {@link me.neznamy.tab.api.chat.rgb.RGBUtils#applyFormats(String)} or
+ *              {@link me.neznamy.tab.api.chat.rgb.RGBUtils#applyCleanGradients(String)},
+ *              which apply all gradients in a single pass
+ */
+@Deprecated
 public class CMIGradient extends CommonGradient {
 
     //pattern for {#RRGGBB<>}
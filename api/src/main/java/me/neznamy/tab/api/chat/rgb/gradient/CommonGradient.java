@@ -6,6 +6,15 @@ import java.util.regex.Pattern;
 import me.neznamy.tab.api.chat.EnumChatFormat;
 import me.neznamy.tab.api.chat.TextColor;
 
+/**
+ * Gradient applier for gradients with start color, text and end color
+ * at fixed positions defined by the constructor
+ *
+ * @deprecated  Use {@link me.neznamy.tab.api.chat.rgb.RGBUtils#applyFormats(String)} or
+ *              {@link me.neznamy.tab.api.chat.rgb.RGBUtils#applyCleanGradients(String)},
+ *              which apply all gradients in a single pass
+ */
+@Deprecated
 public class CommonGradient implements GradientPattern {
 
     private final Pattern pattern;
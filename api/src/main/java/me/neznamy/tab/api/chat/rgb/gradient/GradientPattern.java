@@ -5,7 +5,12 @@ import me.neznamy.tab.api.chat.TextColor;
 
 /**
  * Abstract class for applying different gradient patterns
+ *
+ * @deprecated  Use {@link me.neznamy.tab.api.chat.rgb.RGBUtils#applyFormats(String)} or
+ *              {@link me.neznamy.tab.api.chat.rgb.RGBUtils#applyCleanGradients(String)},
+ *              which apply all gradients in a single pass
  */
+@Deprecated
 public interface GradientPattern {
 
     /**
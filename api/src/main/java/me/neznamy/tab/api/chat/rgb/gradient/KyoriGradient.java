@@ -9,7 +9,12 @@ import me.neznamy.tab.api.chat.TextColor;
 /**
  * Gradient applier for &lt;gradient:#RRGGBB:#RRGGBB&gt;Text&lt;/gradient&gt;
  * and &lt;gradient:#RRGGBB|L:#RRGGBB&gt;Text&lt;/gradient&gt;
+ *
+ * @deprecated  Use {@link me.neznamy.tab.api.chat.rgb.RGBUtils#applyFormats(String)} or
+ *              {@link me.neznamy.tab.api.chat.rgb.RGBUtils#applyCleanGradients(String)},
+ *              which apply all gradients in a single pass
  */
+@Deprecated
 public class KyoriGradient implements GradientPattern {
 
     private final Pattern pattern = Pattern.compile("<gradient:#[0-9a-fA-F]{6}:#[0-9a-fA-F]{6}>[^<]*</gradient>");
@@ -25,4 +25,28 @@ public interface PlayerPlaceholder extends Placeholder {
      * @return  last known value for entered player
      */
     String getLastValue(TabPlayer player);
+
+    /**
+     * Marks whether this placeholder's request function can be safely called from
+     * multiple threads at once. Placeholders are not considered thread-safe by default.
+     * This only has an effect if parallel placeholder refresh is enabled in config,
+     * otherwise placeholder is always evaluated on TAB's processing thread.
+     * Implementations which do not support parallel evaluation ignore this call.
+     *
+     * @param   threadSafe
+     *          {@code true} if request function is thread-safe, {@code false} if not
+     */
+    default void setThreadSafe(boolean threadSafe) {
+        //not supported by default
+    }
+
+    /**
+     * Returns {@code true} if this placeholder's request function can be called
+     * from multiple threads at once, {@code false} if not.
+     *
+     * @return  {@code true} if placeholder is thread-safe, {@code false} if not
+     */
+    default boolean isThreadSafe() {
+        return false;
+    }
 }
\ No newline at end of file
@@ -4,7 +4,6 @@ import java.util.HashMap;
 import java.util.Map;
 
 import me.neznamy.tab.api.ProtocolVersion;
-import me.neznamy.tab.api.chat.EnumChatFormat;
 import me.neznamy.tab.api.chat.IChatBaseComponent;
 import me.neznamy.tab.api.chat.rgb.RGBUtils;
 import me.neznamy.tab.api.util.BiFunctionWithException;
@@ -188,17 +187,7 @@ public class PacketBuilder {
      */
     public String cutTo(String string, int length) {
         if (string == null) return "";
-        String legacyText = string;
-        if (string.contains("#")) {
-            //converting RGB to legacy colors
-            legacyText = RGBUtils.getInstance().convertRGBtoLegacy(string);
-        }
-        if (legacyText.length() <= length) return legacyText;
-        if (legacyText.charAt(length-1) == EnumChatFormat.COLOR_CHAR) {
-            return legacyText.substring(0, length-1); //cutting one extra character to prevent prefix ending with "&"
-        } else {
-            return legacyText.substring(0, length);
-        }
+        return RGBUtils.getInstance().toLegacyText(string, length);
     }
 
     /**
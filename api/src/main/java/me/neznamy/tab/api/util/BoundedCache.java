@@ -0,0 +1,276 @@
+package me.neznamy.tab.api.util;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * Thread-safe cache with least recently used eviction bounded by entry count
+ * and total weight of entries. Entries are spread across independently locked
+ * segments, so threads accessing different keys rarely block each other.
+ * Each segment evicts its own least recently used entries once it exceeds
+ * its share of the limits.
+ * <p>
+ * All created caches are registered by name and their statistics can be
+ * displayed using {@link #getCaches()}.
+ *
+ * @param   <K>
+ *          Key type
+ * @param   <V>
+ *          Value type
+ */
+public class BoundedCache<K, V> {
+
+    /** Amount of segments, must be a power of 2 */
+    private static final int SEGMENT_COUNT = 16;
+
+    /** All created caches by their name */
+    private static final Map<String, BoundedCache<?, ?>> caches = new ConcurrentHashMap<>();
+
+    /** Name of this cache displayed in statistics */
+    private final String name;
+
+    /** Segments of this cache */
+    private final Segment<K, V>[] segments;
+
+    /** Function calculating weight of an entry */
+    private final ToIntBiFunction<K, V> weigher;
+
+    /** Statistics of this cache */
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructs new instance bounded only by entry count and registers it by name.
+     *
+     * @param   name
+     *          Name of the cache displayed in statistics
+     * @param   maximumSize
+     *          Maximum amount of entries
+     */
+    public BoundedCache(String name, int maximumSize) {
+        this(name, maximumSize, Long.MAX_VALUE, (key, value) -> 0);
+    }
+
+    /**
+     * Constructs new instance with given parameters and registers it by name.
+     * If a cache with the same name already exists, it is replaced in the registry.
+     *
+     * @param   name
+     *          Name of the cache displayed in statistics
+     * @param   maximumSize
+     *          Maximum amount of entries
+     * @param   maximumWeight
+     *          Maximum total weight of all entries
+     * @param   weigher
+     *          Function calculating weight of an entry, must not return negative values
+     */
+    public BoundedCache(String name, int maximumSize, long maximumWeight, ToIntBiFunction<K, V> weigher) {
+        Preconditions.checkNotNull(name, "name");
+        Preconditions.checkNotNull(weigher, "weigher");
+        this.name = name;
+        this.weigher = weigher;
+        int segmentSize = Math.max(1, maximumSize / SEGMENT_COUNT);
+        long segmentWeight = Math.max(1, maximumWeight / SEGMENT_COUNT);
+        segments = newSegmentArray();
+        for (int i=0; i<SEGMENT_COUNT; i++) {
+            segments[i] = new Segment<>(segmentSize, segmentWeight);
+        }
+        caches.put(name, this);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> Segment<K, V>[] newSegmentArray() {
+        return (Segment<K, V>[]) new Segment<?, ?>[SEGMENT_COUNT];
+    }
+
+    private Segment<K, V> segmentFor(Object key) {
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (SEGMENT_COUNT - 1)];
+    }
+
+    /**
+     * Returns cached value of given key and marks it as recently used.
+     * Returns {@code null} if value is not cached.
+     *
+     * @param   key
+     *          Key to get value of
+     * @return  Cached value or {@code null} if not present
+     */
+    public V get(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        V value;
+        synchronized (segment) {
+            value = segment.map.get(key);
+        }
+        if (value == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return value;
+    }
+
+    /**
+     * Caches given value under given key, evicting least recently used entries
+     * of the segment if it exceeds its limits.
+     *
+     * @param   key
+     *          Key of the value
+     * @param   value
+     *          Value to cache
+     */
+    public void put(K key, V value) {
+        Preconditions.checkNotNull(value, "value");
+        Segment<K, V> segment = segmentFor(key);
+        int weight = weigher.applyAsInt(key, value);
+        synchronized (segment) {
+            V previous = segment.map.put(key, value);
+            if (previous != null) segment.weight -= weigher.applyAsInt(key, previous);
+            segment.weight += weight;
+            Iterator<Map.Entry<K, V>> iterator = segment.map.entrySet().iterator();
+            while ((segment.map.size() > segment.maximumSize || segment.weight > segment.maximumWeight) && iterator.hasNext()) {
+                Map.Entry<K, V> eldest = iterator.next();
+                if (eldest.getKey().equals(key)) continue; //keeping the new entry even if it exceeds weight on its own
+                segment.weight -= weigher.applyAsInt(eldest.getKey(), eldest.getValue());
+                iterator.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    /**
+     * Returns cached value of given key. If not present, it is computed using
+     * given function and cached. The function is called without holding any lock,
+     * so it may be called more than once for the same key by different threads.
+     *
+     * @param   key
+     *          Key to get value of
+     * @param   function
+     *          Function computing the value, must not return {@code null}
+     * @return  Cached or computed value
+     */
+    public V computeIfAbsent(K key, Function<K, V> function) {
+        V value = get(key);
+        if (value != null) return value;
+        value = function.apply(key);
+        put(key, value);
+        return value;
+    }
+
+    /**
+     * Removes all entries from this cache
+     */
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.map.clear();
+                segment.weight = 0;
+            }
+        }
+    }
+
+    /**
+     * Returns name of this cache
+     *
+     * @return  name of this cache
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns current amount of entries in this cache
+     *
+     * @return  amount of entries
+     */
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.map.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns current total weight of all entries in this cache
+     *
+     * @return  total weight of entries
+     */
+    public long getWeight() {
+        long weight = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                weight += segment.weight;
+            }
+        }
+        return weight;
+    }
+
+    /**
+     * Returns amount of successful lookups since creation
+     *
+     * @return  amount of cache hits
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns amount of failed lookups since creation
+     *
+     * @return  amount of cache misses
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns amount of entries evicted due to exceeded limits since creation
+     *
+     * @return  amount of evictions
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Returns all created caches
+     *
+     * @return  all created caches
+     */
+    public static Collection<BoundedCache<?, ?>> getCaches() {
+        return caches.values();
+    }
+
+    /**
+     * A part of the cache with its own lock and limits
+     */
+    private static class Segment<K, V> {
+
+        /** Cached entries in access order */
+        private final LinkedHashMap<K, V> map = new LinkedHashMap<>(16, 0.75f, true);
+
+        /** Maximum amount of entries in this segment */
+        private final int maximumSize;
+
+        /** Maximum total weight of entries in this segment */
+        private final long maximumWeight;
+
+        /** Current total weight of entries in this segment */
+        private long weight;
+
+        private Segment(int maximumSize, long maximumWeight) {
+            this.maximumSize = maximumSize;
+            this.maximumWeight = maximumWeight;
+        }
+    }
+}
\ No newline at end of file
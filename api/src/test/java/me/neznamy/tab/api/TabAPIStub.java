@@ -0,0 +1,141 @@
+package me.neznamy.tab.api;
+
+import java.util.UUID;
+
+import me.neznamy.tab.api.bossbar.BossBarManager;
+import me.neznamy.tab.api.config.ConfigurationFile;
+import me.neznamy.tab.api.event.EventBus;
+import me.neznamy.tab.api.placeholder.PlaceholderManager;
+import me.neznamy.tab.api.scoreboard.ScoreboardManager;
+import me.neznamy.tab.api.task.ThreadManager;
+import me.neznamy.tab.api.team.TeamManager;
+
+/**
+ * API instance for tests of classes which only need server version
+ * from the API. All other methods are not supported.
+ */
+public class TabAPIStub extends TabAPI {
+
+    /** Server version returned by {@link #getServerVersion()} */
+    private final ProtocolVersion serverVersion;
+
+    /**
+     * Constructs new instance with given server version and sets it as new API instance
+     *
+     * @param   serverVersion
+     *          Server version to return
+     */
+    public TabAPIStub(ProtocolVersion serverVersion) {
+        this.serverVersion = serverVersion;
+    }
+
+    @Override
+    public ProtocolVersion getServerVersion() {
+        return serverVersion;
+    }
+
+    @Override
+    public TabPlayer getPlayer(UUID id) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public TabPlayer getPlayer(String name) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public TabPlayer[] getOnlinePlayers() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public BossBarManager getBossBarManager() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ScoreboardManager getScoreboardManager() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public TeamManager getTeamManager() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public HeaderFooterManager getHeaderFooterManager() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public PlaceholderManager getPlaceholderManager() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public FeatureManager getFeatureManager() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public TablistFormatManager getTablistFormatManager() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public EventBus getEventBus() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void sendConsoleMessage(String message, boolean translateColors) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ThreadManager getThreadManager() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ConfigurationFile getPlayerCache() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ConfigurationFile getConfig() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public PropertyConfiguration getGroups() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public PropertyConfiguration getUsers() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void debug(String message) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void logError(String message, Throwable t) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setBrokenFile(String file) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean isPluginDisabled() {
+        return false;
+    }
+}
\ No newline at end of file
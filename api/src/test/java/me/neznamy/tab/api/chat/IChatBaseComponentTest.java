@@ -0,0 +1,183 @@
+package me.neznamy.tab.api.chat;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import me.neznamy.tab.api.ProtocolVersion;
+import me.neznamy.tab.api.TabAPIStub;
+import me.neznamy.tab.api.chat.ChatClickable.EnumClickAction;
+import me.neznamy.tab.api.chat.ChatHoverable.EnumHoverAction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares serialized components with golden files in {@code src/test/resources/chat}.
+ * Golden files were produced by the json-simple based serializer, so the streaming
+ * serializer must keep its key order and escaping rules.
+ */
+class IChatBaseComponentTest {
+
+    @BeforeEach
+    void setUp() {
+        new TabAPIStub(ProtocolVersion.V1_18_2);
+    }
+
+    @Test
+    void plainText() {
+        assertGolden("plain-text", new IChatBaseComponent("Hello world"), ProtocolVersion.V1_18_2);
+    }
+
+    @Test
+    void emptyText() {
+        assertEquals("{\"text\":\"\"}", new IChatBaseComponent("").toString(ProtocolVersion.V1_18_2));
+        assertEquals("{\"translate\":\"\"}", new IChatBaseComponent("").toString(ProtocolVersion.V1_18_2, true));
+    }
+
+    @Test
+    void keyOrder() {
+        IChatBaseComponent component = new IChatBaseComponent("Formatted");
+        ChatModifier modifier = component.getModifier();
+        modifier.setColor(new TextColor(EnumChatFormat.GOLD));
+        modifier.setBold(true);
+        modifier.setItalic(false);
+        modifier.setUnderlined(true);
+        modifier.setStrikethrough(false);
+        modifier.setObfuscated(true);
+        modifier.setFont("minecraft:uniform");
+        modifier.setClickEvent(new ChatClickable(EnumClickAction.RUN_COMMAND, "/spawn"));
+        component.setExtra(Arrays.asList(new IChatBaseComponent("a"), new IChatBaseComponent("b")));
+        assertGolden("key-order", component, ProtocolVersion.V1_18_2);
+    }
+
+    @Test
+    void escaping() {
+        IChatBaseComponent component = new IChatBaseComponent("quote \" backslash \\ slash / newline \n tab \t return \r " +
+                "backspace \b formfeed \f control \u0001 delete \u007F c1 \u0085 separator \u2028 euro \u20AC accent \u00E9 " +
+                "cjk \u65E5\u672C emoji \uD83D\uDE00");
+        component.getModifier().setClickEvent(new ChatClickable(EnumClickAction.OPEN_URL, "https://example.com/?a=\"b\""));
+        assertGolden("escaping", component, ProtocolVersion.V1_18_2);
+    }
+
+    @Test
+    void nestedExtra() {
+        IChatBaseComponent grandchild = new IChatBaseComponent("grandchild");
+        grandchild.getModifier().setItalic(true);
+        IChatBaseComponent child = new IChatBaseComponent("child");
+        child.getModifier().setColor(new TextColor(EnumChatFormat.GREEN));
+        child.addExtra(grandchild);
+        IChatBaseComponent sibling = new IChatBaseComponent("sibling");
+        sibling.getModifier().setBold(true);
+        IChatBaseComponent component = new IChatBaseComponent("");
+        component.setExtra(Arrays.asList(child, sibling));
+        assertGolden("nested-extra", component, ProtocolVersion.V1_18_2);
+    }
+
+    @Test
+    void withoutTextFewKeys() {
+        IChatBaseComponent component = new IChatBaseComponent((String) null);
+        component.getModifier().setColor(new TextColor(EnumChatFormat.RED));
+        component.getModifier().setBold(true);
+        component.setExtra(Arrays.asList(new IChatBaseComponent("a"), new IChatBaseComponent("b")));
+        assertGolden("without-text-few-keys", component, ProtocolVersion.V1_18_2);
+    }
+
+    @Test
+    void withoutTextMoreKeys() {
+        IChatBaseComponent component = new IChatBaseComponent((String) null);
+        ChatModifier modifier = component.getModifier();
+        modifier.setColor(new TextColor(EnumChatFormat.RED));
+        modifier.setBold(true);
+        modifier.setItalic(true);
+        modifier.setUnderlined(false);
+        modifier.setClickEvent(new ChatClickable(EnumClickAction.SUGGEST_COMMAND, "/msg"));
+        component.setExtra(Arrays.asList(new IChatBaseComponent("a"), new IChatBaseComponent("b")));
+        assertGolden("without-text-more-keys", component, ProtocolVersion.V1_18_2);
+    }
+
+    @Test
+    void hoverEventModernServer() {
+        assertGolden("hover-event-1.18", newHoverComponent(EnumHoverAction.SHOW_TEXT), ProtocolVersion.V1_18_2);
+    }
+
+    @Test
+    void hoverItemModernServer() {
+        assertGolden("hover-item-1.18", newHoverComponent(EnumHoverAction.SHOW_ITEM), ProtocolVersion.V1_18_2);
+    }
+
+    @Test
+    void hoverEventLegacyServer() {
+        new TabAPIStub(ProtocolVersion.V1_12_2);
+        assertGolden("hover-event-1.12", newHoverComponent(EnumHoverAction.SHOW_TEXT), ProtocolVersion.V1_12_2);
+    }
+
+    @Test
+    void hoverEventAncientServer() {
+        new TabAPIStub(ProtocolVersion.V1_8);
+        assertGolden("hover-event-1.8", newHoverComponent(EnumHoverAction.SHOW_TEXT), ProtocolVersion.V1_8);
+    }
+
+    @Test
+    void clickEvent() {
+        IChatBaseComponent component = new IChatBaseComponent("Click me");
+        component.getModifier().setClickEvent(new ChatClickable(EnumClickAction.OPEN_URL, "https://github.com/NEZNAMY/TAB"));
+        assertGolden("click-event", component, ProtocolVersion.V1_18_2);
+    }
+
+    @Test
+    void rgbColorModernClient() {
+        assertGolden("rgb-color-1.16", newRgbComponent(), ProtocolVersion.V1_16_5);
+    }
+
+    @Test
+    void rgbColorLegacyClient() {
+        assertGolden("rgb-color-1.15", newRgbComponent(), ProtocolVersion.V1_15_2);
+    }
+
+    @Test
+    void coloredText() {
+        assertGolden("colored-text", IChatBaseComponent.fromColoredText("&aGreen #FF5555Red &lBold&r plain"), ProtocolVersion.V1_18_2);
+    }
+
+    private IChatBaseComponent newHoverComponent(EnumHoverAction action) {
+        IChatBaseComponent value = new IChatBaseComponent("Hover text");
+        value.getModifier().setColor(new TextColor("12AB34"));
+        IChatBaseComponent component = new IChatBaseComponent("Hover me");
+        component.getModifier().setHoverEvent(new ChatHoverable(action, value));
+        return component;
+    }
+
+    private IChatBaseComponent newRgbComponent() {
+        IChatBaseComponent hex = new IChatBaseComponent("hex");
+        hex.getModifier().setColor(new TextColor("FF5555"));
+        IChatBaseComponent nearest = new IChatBaseComponent("nearest");
+        nearest.getModifier().setColor(new TextColor("1E90FF"));
+        IChatBaseComponent forced = new IChatBaseComponent("forced");
+        forced.getModifier().setColor(new TextColor("123456", EnumChatFormat.LIGHT_PURPLE));
+        IChatBaseComponent legacy = new IChatBaseComponent("legacy");
+        legacy.getModifier().setColor(new TextColor(EnumChatFormat.DARK_AQUA));
+        IChatBaseComponent component = new IChatBaseComponent("");
+        component.setExtra(Arrays.asList(hex, nearest, forced, legacy));
+        return component;
+    }
+
+    private void assertGolden(String name, IChatBaseComponent component, ProtocolVersion clientVersion) {
+        assertEquals(readGolden(name), component.toString(clientVersion), name);
+    }
+
+    private String readGolden(String name) {
+        InputStream input = getClass().getResourceAsStream("/chat/" + name + ".json");
+        assertNotNull(input, "Missing golden file " + name);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            return reader.lines().collect(Collectors.joining("\n"));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,188 @@
+package me.neznamy.tab.api.chat.rgb;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import me.neznamy.tab.api.chat.EnumChatFormat;
+import me.neznamy.tab.api.chat.rgb.format.*;
+import me.neznamy.tab.api.chat.rgb.gradient.CMIGradient;
+import me.neznamy.tab.api.chat.rgb.gradient.CommonGradient;
+import me.neznamy.tab.api.chat.rgb.gradient.GradientPattern;
+import me.neznamy.tab.api.chat.rgb.gradient.KyoriGradient;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares {@link RGBUtils} with the deprecated formatters and gradient patterns
+ * applied one after another, which is how RGBUtils worked before {@link RGBTokenizer}.
+ */
+@SuppressWarnings("deprecation")
+class RGBUtilsTest {
+
+    /** Texts using formats the way configs do */
+    private static final String[] TEXTS = {
+            "",
+            "Plain text without any colors",
+            "&aGreen &lbold&r and §cred",
+            "#FF5555Red #12ab34green|",
+            "#FF5555|cRed with legacy color and #12AB34|zinvalid legacy color",
+            "&x&f&f&5&5&5&5Bukkit §x§1§2§A§B§3§4section",
+            "{#FF5555}CMI &#12AB34unnamed #<ABCDEF>html <#00FF00>kyori",
+            "{#FF5555|c}CMI with legacy color",
+            "{#FF0000>}Gradient text{#00FF00<}",
+            "{#FF0000|4>}Gradient with legacy color{#00FF00<}",
+            "{#FF0000>}First{#00FF00<>}Second{#0000FF<}",
+            "<#FF0000>Gradient</#00FF00> and <$#FF0000>another<$#00FF00>",
+            "<#FF0000|c>Legacy</#00FF00> <$#FF0000|c>Legacy<$#00FF00>",
+            "<gradient:#FF0000:#00FF00>Gradient</gradient> <gradient:#FF0000|c:#00FF00>Legacy</gradient>",
+            "{#FF0000>}&lBold gradient{#00FF00<}",
+            "{#FF0000>}%player%{#00FF00<}",
+            "<#FF0000>%animation:title%</#00FF00>",
+            "{#FF0000>}x{#00FF00<}",
+            "{#FF0000>}{#00FF00<}empty gradient",
+            "&{#FF5555}ampersand before color",
+            "&#FF5555 and &&#FF5555 and &&x&1&2&3&4&5&6",
+            "§#FF5555 swallowed hash",
+            "{&x&1&2&3&4&5&6} <{#123456}> #<{#123456}>",
+            "#12345 short, #GGGGGG invalid, #123456789 long",
+            "{#FF0000>}Gradient{#00FF00<}&#123456 followed by color",
+            "{#FF0000>}Gradient&{#00FF00<}#123456 ending with ampersand",
+            "&{#FF0000>}Gradient{#00FF00<}",
+            "&{#FF0000>}{#00FF00<}#123456"
+    };
+
+    /** Fragments to build random texts from */
+    private static final String[] FRAGMENTS = {
+            "#", "<", ">", "{", "}", "&", "§", "x", "|", "/", "$", ":", "%", "a", "b", "l", "r", "c", "k", " ", "Hi", "text",
+            "<>", "</gradient>", "#FF00AA", "#12ab34", "<#12ab34>", "{#abcdef>}", "{#abcdef<}", "{#abcdef<>}", "{#00ff00}",
+            "&x&f&f&0&0&a&a", "§x§1§2§3§4§5§6", "&#123456", "#<abcdef>", "</#abcdef>", "<$#abcdef>", "<$#123456>",
+            "<gradient:#ff0000:#00ff00>", "<gradient:#ff0000|c:#00ff00>", "|a", "|z", "&l", "§c", "&r", "{#FF0000|b>}",
+            "<#ff0000|4>", "%player%", "FF", "0", "12345"
+    };
+
+    /** Tags opening or closing gradients */
+    private static final Pattern GRADIENT_TAG = Pattern.compile("\\{#[0-9a-fA-F]{6}(\\|.)?(>|<|<>)}|</?#[0-9a-fA-F]{6}(\\|.)?>" +
+            "|<\\$#[0-9a-fA-F]{6}(\\|.)?>|<gradient:#|</gradient>");
+
+    private final RGBUtils utils = new RGBUtils();
+
+    private final RGBFormatter[] formats = createFormats();
+
+    private final GradientPattern[] gradients = {
+            new CMIGradient(),
+            new CommonGradient(Pattern.compile("<#[0-9a-fA-F]{6}>[^<]*</#[0-9a-fA-F]{6}>"),
+                    Pattern.compile("<#[0-9a-fA-F]{6}\\|.>[^<]*</#[0-9a-fA-F]{6}>"),
+                    "<#", 9, 2, 9, 7),
+            new CommonGradient(Pattern.compile("<\\$#[0-9a-fA-F]{6}>[^<]*<\\$#[0-9a-fA-F]{6}>"),
+                    Pattern.compile("<\\$#[0-9a-fA-F]{6}\\|.>[^<]*<\\$#[0-9a-fA-F]{6}>"),
+                    "<$", 10, 3, 10, 7),
+            new KyoriGradient()
+    };
+
+    @Test
+    void applyFormats() {
+        for (String text : TEXTS) {
+            assertEquals(applyFormatsOld(text), utils.applyFormats(text), text);
+        }
+    }
+
+    @Test
+    void applyCleanGradients() {
+        for (String text : TEXTS) {
+            assertEquals(applyCleanGradientsOld(text), utils.applyCleanGradients(text), text);
+        }
+    }
+
+    @Test
+    void convertToBukkitFormat() {
+        for (String text : TEXTS) {
+            assertEquals(convertToBukkitFormatOld(text), utils.convertToBukkitFormat(text, true), text);
+        }
+        assertEquals("§x§f§f§5§5§a§aText", utils.convertToBukkitFormat("#FF55AAText", true));
+    }
+
+    /**
+     * Texts containing more than one gradient are skipped, because nested and overlapping
+     * gradients are documented to differ. Other documented differences need even more
+     * specific texts and do not appear with this seed.
+     */
+    @Test
+    void randomTexts() {
+        Random random = new Random(0);
+        int compared = 0;
+        for (int i=0; i<20000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int fragments = 1 + random.nextInt(8);
+            for (int j=0; j<fragments; j++) {
+                sb.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+            }
+            String text = sb.toString();
+            if (countGradientTags(text) > 2) continue;
+            assertEquals(applyFormatsOld(text), utils.applyFormats(text), text);
+            assertEquals(applyCleanGradientsOld(text), utils.applyCleanGradients(text), text);
+            assertEquals(convertToBukkitFormatOld(text), utils.convertToBukkitFormat(text, true), text);
+            compared++;
+        }
+        assertTrue(compared > 15000, "Only " + compared + " texts were compared");
+    }
+
+    private int countGradientTags(String text) {
+        Matcher m = GRADIENT_TAG.matcher(text);
+        int count = 0;
+        while (m.find()) {
+            count++;
+        }
+        return count;
+    }
+
+    private RGBFormatter[] createFormats() {
+        List<RGBFormatter> list = new ArrayList<>();
+        list.add(new BukkitFormat());
+        list.add(new CMIFormat());
+        list.add(new UnnamedFormat1());
+        list.add(new HtmlFormat());
+        list.add(new KyoriFormat());
+        try {
+            Class.forName("net.kyori.adventure.text.minimessage.MiniMessage");
+            list.add(new MiniMessageFormat());
+        } catch (ClassNotFoundException ignored) {}
+        return list.toArray(new RGBFormatter[0]);
+    }
+
+    private String applyFormatsOld(String text) {
+        String replaced = text;
+        for (GradientPattern pattern : gradients) {
+            replaced = pattern.applyPattern(replaced, false);
+        }
+        for (RGBFormatter formatter : formats) {
+            replaced = formatter.reformat(replaced);
+        }
+        return replaced;
+    }
+
+    private String applyCleanGradientsOld(String text) {
+        String replaced = text;
+        for (GradientPattern pattern : gradients) {
+            replaced = pattern.applyPattern(replaced, true);
+        }
+        return replaced;
+    }
+
+    private String convertToBukkitFormatOld(String text) {
+        if (!text.contains("#")) return text;
+        String replaced = applyFormatsOld(text);
+        for (Pattern p : new Pattern[]{Pattern.compile("#[0-9a-fA-F]{6}\\|."), Pattern.compile("#[0-9a-fA-F]{6}")}) {
+            Matcher m = p.matcher(replaced);
+            while (m.find()) {
+                String hexCode = m.group();
+                String fixed = "&x&" + hexCode.charAt(1) + "&" + hexCode.charAt(2) + "&" + hexCode.charAt(3) + "&" + hexCode.charAt(4) + "&" + hexCode.charAt(5) + "&" + hexCode.charAt(6);
+                replaced = replaced.replace(hexCode, EnumChatFormat.color(fixed));
+            }
+        }
+        return replaced;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,71 @@
+package me.neznamy.tab.api.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedCacheTest {
+
+    /** Limits of the whole cache, each of the 16 segments gets 1/16 of them */
+    private static final int MAXIMUM_SIZE = 16 * 4;
+    private static final long MAXIMUM_WEIGHT = 16 * 10;
+
+    private BoundedCache<String, String> newCache() {
+        return new BoundedCache<>("test", MAXIMUM_SIZE, MAXIMUM_WEIGHT, (key, value) -> value.length());
+    }
+
+    @Test
+    void keepsOversizedNewEntry() {
+        BoundedCache<String, String> cache = newCache();
+        String value = repeat('a', 20);
+        cache.put("key", value);
+        assertEquals(value, cache.get("key"));
+        assertEquals(20, cache.getWeight());
+    }
+
+    @Test
+    void keepsOversizedReplacementOfExistingKey() {
+        BoundedCache<String, String> cache = newCache();
+        cache.put("key", "a");
+        // equal, but not identical key - the map keeps the original key instance on re-put
+        String key = new String("key");
+        String value = repeat('b', 20);
+        cache.put(key, value);
+        assertEquals(value, cache.get("key"));
+        assertEquals(1, cache.size());
+        assertEquals(20, cache.getWeight());
+        assertEquals(0, cache.getEvictions());
+    }
+
+    @Test
+    void replacementUpdatesWeight() {
+        BoundedCache<String, String> cache = newCache();
+        cache.put("key", "aaa");
+        cache.put(new String("key"), "bb");
+        assertEquals("bb", cache.get("key"));
+        assertEquals(2, cache.getWeight());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedEntry() {
+        BoundedCache<Integer, String> cache = new BoundedCache<>("test", MAXIMUM_SIZE, MAXIMUM_WEIGHT, (key, value) -> value.length());
+        // keys which are multiples of 16 all land in the same segment
+        cache.put(0, "aaaa");
+        cache.put(16, "bbbb");
+        cache.get(0);
+        cache.put(32, "cccc");
+        assertEquals("aaaa", cache.get(0));
+        assertNull(cache.get(16));
+        assertEquals("cccc", cache.get(32));
+        assertEquals(1, cache.getEvictions());
+        assertEquals(8, cache.getWeight());
+    }
+
+    private static String repeat(char c, int amount) {
+        StringBuilder sb = new StringBuilder(amount);
+        for (int i=0; i<amount; i++) {
+            sb.append(c);
+        }
+        return sb.toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,15 @@
+plugins {
+    id("me.champeau.jmh")
+}
+
+dependencies {
+    jmh(projects.shared)
+    jmh(libs.snakeyaml)
+    jmh(libs.guava)
+    jmh(libs.slf4j)
+}
+
+jmh {
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results-${project.version}.json"))
+}
@@ -0,0 +1,70 @@
+package me.neznamy.tab.benchmarks;
+
+import me.neznamy.tab.api.ProtocolVersion;
+import me.neznamy.tab.shared.TAB;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Loads TAB on {@link BenchmarkPlatform} with default configuration files
+ * in a temporary folder and unloads it afterwards.
+ */
+public class BenchmarkEnvironment {
+
+    /** Platform TAB is loaded on */
+    private final BenchmarkPlatform platform;
+
+    /** Temporary folder with configuration files */
+    private final File dataFolder;
+
+    /**
+     * Loads TAB with given amount of fake players. Repeating tasks are cancelled
+     * after loading, so only the benchmarked code runs.
+     *
+     * @param   playerCount
+     *          Amount of fake players
+     * @throws  IOException
+     *          if temporary folder could not be created
+     */
+    public BenchmarkEnvironment(int playerCount) throws IOException {
+        platform = new BenchmarkPlatform(playerCount);
+        dataFolder = Files.createTempDirectory("tab-benchmark").toFile();
+        Logger logger = Logger.getLogger("TAB");
+        logger.setLevel(Level.WARNING);
+        TAB.setInstance(new TAB(platform, ProtocolVersion.PROXY, "Benchmark", dataFolder, logger));
+        TAB.getInstance().load();
+        if (TAB.getInstance().isPluginDisabled()) throw new IllegalStateException("Failed to load TAB, check console for more info");
+        TAB.getInstance().getCPUManager().cancelAllTasks();
+    }
+
+    /**
+     * Returns platform TAB is loaded on
+     *
+     * @return  platform TAB is loaded on
+     */
+    public BenchmarkPlatform getPlatform() {
+        return platform;
+    }
+
+    /**
+     * Unloads TAB and deletes the temporary folder
+     *
+     * @throws  IOException
+     *          if temporary folder could not be deleted
+     */
+    public void close() throws IOException {
+        TAB.getInstance().unload();
+        try (Stream<Path> files = Files.walk(dataFolder.toPath())) {
+            for (Path path : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+}
\ No newline at end of file
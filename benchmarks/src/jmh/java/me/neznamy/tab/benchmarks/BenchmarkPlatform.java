@@ -0,0 +1,77 @@
+package me.neznamy.tab.benchmarks;
+
+import me.neznamy.tab.api.TabConstants;
+import me.neznamy.tab.api.protocol.PacketBuilder;
+import me.neznamy.tab.shared.Platform;
+import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.features.nametags.NameTag;
+import me.neznamy.tab.shared.features.sorting.Sorting;
+import me.neznamy.tab.shared.permission.None;
+import me.neznamy.tab.shared.permission.PermissionPlugin;
+import me.neznamy.tab.shared.placeholders.UniversalPlaceholderRegistry;
+
+import java.util.UUID;
+
+/**
+ * Platform implementation without any server behind it. Packets are built by the default
+ * {@link PacketBuilder}, which returns them as they are, and all placeholders unknown to TAB
+ * are registered as player placeholders whose output changes on every {@link #nextValues()} call.
+ */
+public class BenchmarkPlatform extends Platform {
+
+    /** Possible outputs of placeholders registered by this platform */
+    private static final String[] VALUES = {"&aGreen", "&#FF0000Red", "&e&lYellow", "&7Gray"};
+
+    /** Amount of fake players added on load */
+    private final int playerCount;
+
+    /** Index of current placeholder output in {@link #VALUES} */
+    private int valueIndex;
+
+    /**
+     * Constructs new instance with given amount of players
+     *
+     * @param   playerCount
+     *          Amount of fake players to add on load
+     */
+    public BenchmarkPlatform(int playerCount) {
+        super(new PacketBuilder());
+        this.playerCount = playerCount;
+    }
+
+    /**
+     * Changes output of all placeholders registered by this platform
+     */
+    public void nextValues() {
+        valueIndex++;
+    }
+
+    @Override
+    public PermissionPlugin detectPermissionPlugin() {
+        return new None();
+    }
+
+    @Override
+    public void loadFeatures() {
+        TAB tab = TAB.getInstance();
+        new UniversalPlaceholderRegistry().registerPlaceholders(tab.getPlaceholderManager());
+        tab.getFeatureManager().registerFeature(TabConstants.Feature.SORTING, new Sorting());
+        tab.getFeatureManager().registerFeature(TabConstants.Feature.NAME_TAGS, new NameTag());
+        tab.loadUniversalFeatures();
+        for (int i=0; i<playerCount; i++) {
+            tab.addPlayer(new BenchmarkTabPlayer(UUID.randomUUID(), "Player" + i));
+        }
+    }
+
+    @Override
+    public void registerUnknownPlaceholder(String identifier) {
+        int offset = identifier.hashCode();
+        TAB.getInstance().getPlaceholderManager().registerPlayerPlaceholder(identifier, TabConstants.Placeholder.MINIMUM_REFRESH_INTERVAL,
+                p -> VALUES[Math.floorMod(valueIndex + offset + p.getName().length(), VALUES.length)]);
+    }
+
+    @Override
+    public String getPluginVersion(String plugin) {
+        return null;
+    }
+}
\ No newline at end of file
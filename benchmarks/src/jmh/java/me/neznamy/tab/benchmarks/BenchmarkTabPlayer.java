@@ -0,0 +1,85 @@
+package me.neznamy.tab.benchmarks;
+
+import me.neznamy.tab.api.ProtocolVersion;
+import me.neznamy.tab.api.protocol.Skin;
+import me.neznamy.tab.shared.ITabPlayer;
+
+import java.util.UUID;
+
+/**
+ * Player without any connection behind it. All sent packets are discarded.
+ */
+public class BenchmarkTabPlayer extends ITabPlayer {
+
+    /**
+     * Constructs new instance with given parameters
+     *
+     * @param   uniqueId
+     *          Player's uuid
+     * @param   name
+     *          Player's name
+     */
+    public BenchmarkTabPlayer(UUID uniqueId, String name) {
+        super(null, uniqueId, name, "server", "world", ProtocolVersion.V1_19_2.getNetworkId(), true);
+    }
+
+    @Override
+    public boolean hasPermission(String permission) {
+        return false;
+    }
+
+    @Override
+    public int getPing() {
+        return 0;
+    }
+
+    @Override
+    public void sendPacket(Object packet) {
+        // discarded
+    }
+
+    @Override
+    public Skin getSkin() {
+        return null;
+    }
+
+    @Override
+    public Object getPlayer() {
+        return null;
+    }
+
+    @Override
+    public boolean isOnline() {
+        return true;
+    }
+
+    @Override
+    public boolean isVanished() {
+        return false;
+    }
+
+    @Override
+    public boolean isDisguised() {
+        return false;
+    }
+
+    @Override
+    public boolean hasInvisibilityPotion() {
+        return false;
+    }
+
+    @Override
+    public int getGamemode() {
+        return 0;
+    }
+
+    @Override
+    public Object getProfilePublicKey() {
+        return null;
+    }
+
+    @Override
+    public UUID getChatSessionId() {
+        return null;
+    }
+}
\ No newline at end of file
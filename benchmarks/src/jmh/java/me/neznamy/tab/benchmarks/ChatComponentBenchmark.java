@@ -0,0 +1,54 @@
+package me.neznamy.tab.benchmarks;
+
+import me.neznamy.tab.api.ProtocolVersion;
+import me.neznamy.tab.api.chat.IChatBaseComponent;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks conversion of colored text into {@link IChatBaseComponent} and its serialization
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ChatComponentBenchmark {
+
+    @Param({"&aGreen &lbold &r&7text", "&#FF0000Red &#00FF00Green <#FFFF00>gradient text</#00FFFF> &lbold"})
+    public String text;
+
+    private IChatBaseComponent component;
+
+    @Setup
+    public void setup() {
+        component = IChatBaseComponent.fromColoredText(text);
+    }
+
+    @Benchmark
+    public IChatBaseComponent fromColoredText() {
+        return IChatBaseComponent.fromColoredText(text);
+    }
+
+    @Benchmark
+    public String toStringModern() {
+        return component.toString(ProtocolVersion.V1_19_2);
+    }
+
+    @Benchmark
+    public String toStringUncached() {
+        return component.toString();
+    }
+
+    @Benchmark
+    public String toStringLegacy() {
+        return component.toString(ProtocolVersion.V1_8);
+    }
+
+    @Benchmark
+    public String serialize() {
+        return IChatBaseComponent.fromColoredText(text).toString(ProtocolVersion.V1_19_2);
+    }
+}
\ No newline at end of file
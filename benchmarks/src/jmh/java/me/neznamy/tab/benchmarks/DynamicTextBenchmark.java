@@ -0,0 +1,58 @@
+package me.neznamy.tab.benchmarks;
+
+import me.neznamy.tab.api.TabFeature;
+import me.neznamy.tab.api.TabPlayer;
+import me.neznamy.tab.shared.DynamicText;
+import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.placeholders.PlayerPlaceholderImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link DynamicText#update()} with and without a placeholder changing value
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DynamicTextBenchmark {
+
+    private static final String[] VALUES = {"&aGreen", "&#FF0000Red", "&e&lYellow", "&7Gray"};
+
+    @Param({"&7[%benchmark_rank%] &b%player%", "&#FF0000[%benchmark_rank%] <#00FF00>%player% gradient</#0000FF> %benchmark_suffix%"})
+    public String rawValue;
+
+    private BenchmarkEnvironment environment;
+    private TabPlayer player;
+    private PlayerPlaceholderImpl rank;
+    private DynamicText text;
+    private int valueIndex;
+
+    @Setup
+    public void setup() throws IOException {
+        environment = new BenchmarkEnvironment(1);
+        player = TAB.getInstance().getOnlinePlayers()[0];
+        text = new DynamicText("benchmark", new TabFeature("Benchmark", "Updating text") {}, player, rawValue, "Benchmark");
+        rank = (PlayerPlaceholderImpl) TAB.getInstance().getPlaceholderManager().getPlaceholder("%benchmark_rank%");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        environment.close();
+    }
+
+    @Benchmark
+    public boolean updateUnchanged() {
+        return text.update();
+    }
+
+    @Benchmark
+    public boolean updateChanged() {
+        rank.update(player, VALUES[valueIndex++ & 3]);
+        return text.update();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,248 @@
+package me.neznamy.tab.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares plain reflection with method handles erased to {@code Object}, created the same
+ * way as by MethodHandleFactory of the Bukkit module, on teleport, metadata and team packet
+ * paths of Bukkit's packet builder.
+ * NMS classes are not available outside of a running server, so the benchmark uses
+ * stand-in classes with the same shape (private fields set on a new instance,
+ * constructors and static factory methods), resolved the same way NMS storage does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NMSAccessorsBenchmark {
+
+    private static final Constructor<?> newTeleport;
+    private static final Field Teleport_ENTITYID;
+    private static final Field Teleport_X;
+    private static final Field Teleport_Y;
+    private static final Field Teleport_Z;
+    private static final Field Teleport_YAW;
+    private static final Field Teleport_PITCH;
+    private static final Constructor<?> newMetadata;
+    private static final Method DataWatcher_b;
+    private static final Constructor<?> newTeam;
+    private static final Method Team_getPlayerNameSet;
+    private static final Method Team_setPrefix;
+    private static final Method Team_setSuffix;
+    private static final Method Team_setAllowFriendlyFire;
+    private static final Method TeamPacket_ofBoolean;
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final MethodHandle newTeleportHandle;
+    private static final MethodHandle Teleport_ENTITYID_SET;
+    private static final MethodHandle Teleport_X_SET;
+    private static final MethodHandle Teleport_Y_SET;
+    private static final MethodHandle Teleport_Z_SET;
+    private static final MethodHandle Teleport_YAW_SET;
+    private static final MethodHandle Teleport_PITCH_SET;
+    private static final MethodHandle newMetadataHandle;
+    private static final MethodHandle DataWatcher_b_HANDLE;
+    private static final MethodHandle newTeamHandle;
+    private static final MethodHandle Team_getPlayerNameSet_HANDLE;
+    private static final MethodHandle Team_setPrefix_HANDLE;
+    private static final MethodHandle Team_setSuffix_HANDLE;
+    private static final MethodHandle Team_setAllowFriendlyFire_HANDLE;
+    private static final MethodHandle TeamPacket_ofBoolean_HANDLE;
+
+    static {
+        try {
+            newTeleport = Teleport.class.getConstructor();
+            Teleport_ENTITYID = accessible(Teleport.class.getDeclaredField("a"));
+            Teleport_X = accessible(Teleport.class.getDeclaredField("b"));
+            Teleport_Y = accessible(Teleport.class.getDeclaredField("c"));
+            Teleport_Z = accessible(Teleport.class.getDeclaredField("d"));
+            Teleport_YAW = accessible(Teleport.class.getDeclaredField("e"));
+            Teleport_PITCH = accessible(Teleport.class.getDeclaredField("f"));
+            newMetadata = Metadata.class.getConstructor(int.class, List.class);
+            DataWatcher_b = DataWatcher.class.getMethod("b");
+            newTeam = Team.class.getConstructor(Object.class, String.class);
+            Team_getPlayerNameSet = Team.class.getMethod("g");
+            Team_setPrefix = Team.class.getMethod("setPrefix", String.class);
+            Team_setSuffix = Team.class.getMethod("setSuffix", String.class);
+            Team_setAllowFriendlyFire = Team.class.getMethod("setAllowFriendlyFire", boolean.class);
+            TeamPacket_ofBoolean = TeamPacket.class.getMethod("a", Team.class, boolean.class);
+            newTeleportHandle = generic(LOOKUP.unreflectConstructor(newTeleport));
+            Teleport_ENTITYID_SET = generic(LOOKUP.unreflectSetter(Teleport_ENTITYID));
+            Teleport_X_SET = generic(LOOKUP.unreflectSetter(Teleport_X));
+            Teleport_Y_SET = generic(LOOKUP.unreflectSetter(Teleport_Y));
+            Teleport_Z_SET = generic(LOOKUP.unreflectSetter(Teleport_Z));
+            Teleport_YAW_SET = generic(LOOKUP.unreflectSetter(Teleport_YAW));
+            Teleport_PITCH_SET = generic(LOOKUP.unreflectSetter(Teleport_PITCH));
+            newMetadataHandle = generic(LOOKUP.unreflectConstructor(newMetadata));
+            DataWatcher_b_HANDLE = generic(LOOKUP.unreflect(DataWatcher_b));
+            newTeamHandle = generic(LOOKUP.unreflectConstructor(newTeam));
+            Team_getPlayerNameSet_HANDLE = generic(LOOKUP.unreflect(Team_getPlayerNameSet));
+            Team_setPrefix_HANDLE = generic(LOOKUP.unreflect(Team_setPrefix));
+            Team_setSuffix_HANDLE = generic(LOOKUP.unreflect(Team_setSuffix));
+            Team_setAllowFriendlyFire_HANDLE = generic(LOOKUP.unreflect(Team_setAllowFriendlyFire));
+            TeamPacket_ofBoolean_HANDLE = generic(LOOKUP.unreflect(TeamPacket_ofBoolean));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Object scoreboard = new Object();
+    private final DataWatcher dataWatcher = new DataWatcher();
+    private final List<String> players = Arrays.asList("Player1", "Player2");
+    private double x = 123.5;
+
+    private static Field accessible(Field field) {
+        field.setAccessible(true);
+        return field;
+    }
+
+    private static MethodHandle generic(MethodHandle handle) {
+        return handle.asType(MethodType.genericMethodType(handle.type().parameterCount()));
+    }
+
+    @Benchmark
+    public Object teleportReflection() throws ReflectiveOperationException {
+        Object packet = newTeleport.newInstance();
+        Teleport_ENTITYID.set(packet, 42);
+        Teleport_X.set(packet, x++);
+        Teleport_Y.set(packet, 64.0);
+        Teleport_Z.set(packet, -20.5);
+        Teleport_YAW.set(packet, (byte) 12);
+        Teleport_PITCH.set(packet, (byte) 34);
+        return packet;
+    }
+
+    @Benchmark
+    public Object teleportMethodHandle() throws Throwable {
+        Object packet = newTeleportHandle.invokeExact();
+        Object ignored = Teleport_ENTITYID_SET.invokeExact(packet, (Object) 42);
+        ignored = Teleport_X_SET.invokeExact(packet, (Object) x++);
+        ignored = Teleport_Y_SET.invokeExact(packet, (Object) 64.0);
+        ignored = Teleport_Z_SET.invokeExact(packet, (Object) (-20.5));
+        ignored = Teleport_YAW_SET.invokeExact(packet, (Object) (byte) 12);
+        ignored = Teleport_PITCH_SET.invokeExact(packet, (Object) (byte) 34);
+        return packet;
+    }
+
+    @Benchmark
+    public Object metadataReflection() throws ReflectiveOperationException {
+        return newMetadata.newInstance(42, DataWatcher_b.invoke(dataWatcher));
+    }
+
+    @Benchmark
+    public Object metadataMethodHandle() throws Throwable {
+        return newMetadataHandle.invokeExact((Object) 42, DataWatcher_b_HANDLE.invokeExact((Object) dataWatcher));
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Object teamReflection() throws ReflectiveOperationException {
+        Object team = newTeam.newInstance(scoreboard, "TeamName");
+        ((Collection<String>) Team_getPlayerNameSet.invoke(team)).addAll(players);
+        Team_setPrefix.invoke(team, "prefix");
+        Team_setSuffix.invoke(team, "suffix");
+        Team_setAllowFriendlyFire.invoke(team, true);
+        return TeamPacket_ofBoolean.invoke(null, team, true);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Object teamMethodHandle() throws Throwable {
+        Object team = newTeamHandle.invokeExact(scoreboard, (Object) "TeamName");
+        ((Collection<String>) (Object) Team_getPlayerNameSet_HANDLE.invokeExact(team)).addAll(players);
+        Object ignored = Team_setPrefix_HANDLE.invokeExact(team, (Object) "prefix");
+        ignored = Team_setSuffix_HANDLE.invokeExact(team, (Object) "suffix");
+        ignored = Team_setAllowFriendlyFire_HANDLE.invokeExact(team, (Object) true);
+        return TeamPacket_ofBoolean_HANDLE.invokeExact(team, (Object) true);
+    }
+
+    /** Stand-in for PacketPlayOutEntityTeleport below 1.17 */
+    @SuppressWarnings("unused")
+    public static class Teleport {
+        private int a;
+        private double b;
+        private double c;
+        private double d;
+        private byte e;
+        private byte f;
+    }
+
+    /** Stand-in for 1.19.3+ PacketPlayOutEntityMetadata */
+    public static class Metadata {
+        private final int id;
+        private final List<?> items;
+
+        public Metadata(int id, List<?> items) {
+            this.id = id;
+            this.items = items;
+        }
+    }
+
+    /** Stand-in for DataWatcher */
+    public static class DataWatcher {
+        private final List<Object> items = Arrays.asList(new Object(), new Object());
+
+        public List<Object> b() {
+            return items;
+        }
+    }
+
+    /** Stand-in for ScoreboardTeam */
+    @SuppressWarnings("unused")
+    public static class Team {
+        private final Object scoreboard;
+        private final String name;
+        private final Set<String> players = new HashSet<>();
+        private String prefix;
+        private String suffix;
+        private boolean allowFriendlyFire;
+
+        public Team(Object scoreboard, String name) {
+            this.scoreboard = scoreboard;
+            this.name = name;
+        }
+
+        public Collection<String> g() {
+            return players;
+        }
+
+        public void setPrefix(String prefix) {
+            this.prefix = prefix;
+        }
+
+        public void setSuffix(String suffix) {
+            this.suffix = suffix;
+        }
+
+        public void setAllowFriendlyFire(boolean allowFriendlyFire) {
+            this.allowFriendlyFire = allowFriendlyFire;
+        }
+    }
+
+    /** Stand-in for 1.17+ PacketPlayOutScoreboardTeam */
+    public static class TeamPacket {
+        private final Team team;
+        private final boolean create;
+
+        private TeamPacket(Team team, boolean create) {
+            this.team = team;
+            this.create = create;
+        }
+
+        public static TeamPacket a(Team team, boolean create) {
+            return new TeamPacket(team, create);
+        }
+    }
+}
\ No newline at end of file
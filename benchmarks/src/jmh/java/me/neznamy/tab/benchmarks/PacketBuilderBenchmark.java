@@ -0,0 +1,39 @@
+package me.neznamy.tab.benchmarks;
+
+import me.neznamy.tab.api.ProtocolVersion;
+import me.neznamy.tab.api.protocol.PacketBuilder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link PacketBuilder#cutTo(String, int)} and {@link PacketBuilder#jsonOrCut(String, ProtocolVersion, int)}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PacketBuilderBenchmark {
+
+    @Param({"§aShort", "§a§lLonger prefix than 16 characters", "#FF0000Red #00FF00Green text over limit"})
+    public String text;
+
+    private final PacketBuilder builder = new PacketBuilder();
+
+    @Benchmark
+    public String cutTo() {
+        return builder.cutTo(text, 16);
+    }
+
+    @Benchmark
+    public String jsonOrCutModern() {
+        return builder.jsonOrCut(text, ProtocolVersion.V1_19_2, 16);
+    }
+
+    @Benchmark
+    public String jsonOrCutLegacy() {
+        return builder.jsonOrCut(text, ProtocolVersion.V1_12_2, 16);
+    }
+}
\ No newline at end of file
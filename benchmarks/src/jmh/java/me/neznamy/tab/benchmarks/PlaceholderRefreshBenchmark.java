@@ -0,0 +1,53 @@
+package me.neznamy.tab.benchmarks;
+
+import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.features.PlaceholderManagerImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks one loop of placeholder refreshing task with N players, where all placeholders
+ * registered by {@link BenchmarkPlatform} change value in every loop.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlaceholderRefreshBenchmark {
+
+    @Param({"10", "100", "500"})
+    public int players;
+
+    private BenchmarkEnvironment environment;
+    private PlaceholderManagerImpl placeholderManager;
+    private Method refresh;
+
+    @Setup
+    public void setup() throws IOException, ReflectiveOperationException {
+        environment = new BenchmarkEnvironment(players);
+        placeholderManager = TAB.getInstance().getPlaceholderManager();
+        refresh = PlaceholderManagerImpl.class.getDeclaredMethod("refresh");
+        refresh.setAccessible(true);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        environment.close();
+    }
+
+    @Benchmark
+    public void refreshChanged() throws ReflectiveOperationException {
+        environment.getPlatform().nextValues();
+        refresh.invoke(placeholderManager);
+    }
+
+    @Benchmark
+    public void refreshUnchanged() throws ReflectiveOperationException {
+        refresh.invoke(placeholderManager);
+    }
+}
\ No newline at end of file
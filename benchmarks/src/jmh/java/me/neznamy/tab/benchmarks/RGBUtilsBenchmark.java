@@ -0,0 +1,30 @@
+package me.neznamy.tab.benchmarks;
+
+import me.neznamy.tab.api.chat.rgb.RGBUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link RGBUtils#applyFormats(String)} on texts with different RGB formats
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RGBUtilsBenchmark {
+
+    @Param({
+            "&aNo RGB &lat all",
+            "&#FF0000Red {#00FF00}Green #<0000FF>Blue &x&f&f&0&0&f&fBungee",
+            "<#FF0000>Gradient text</#0000FF> {#00FF00>}Another one{#FFFF00<} <$#FF00FF>Third</$#00FFFF>"
+    })
+    public String text;
+
+    @Benchmark
+    public String applyFormats() {
+        return RGBUtils.getInstance().applyFormats(text);
+    }
+}
\ No newline at end of file
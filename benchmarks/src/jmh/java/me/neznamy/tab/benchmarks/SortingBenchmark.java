@@ -0,0 +1,49 @@
+package me.neznamy.tab.benchmarks;
+
+import me.neznamy.tab.api.TabConstants;
+import me.neznamy.tab.api.TabPlayer;
+import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.features.sorting.Sorting;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link Sorting#constructTeamNames(TabPlayer)} with default sorting configuration
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SortingBenchmark {
+
+    @Param({"10", "100"})
+    public int players;
+
+    private BenchmarkEnvironment environment;
+    private Sorting sorting;
+    private TabPlayer[] onlinePlayers;
+    private int index;
+
+    @Setup
+    public void setup() throws IOException {
+        environment = new BenchmarkEnvironment(players);
+        sorting = (Sorting) TAB.getInstance().getFeatureManager().getFeature(TabConstants.Feature.SORTING);
+        onlinePlayers = TAB.getInstance().getOnlinePlayers();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        environment.close();
+    }
+
+    @Benchmark
+    public String constructTeamNames() {
+        TabPlayer player = onlinePlayers[index++ % onlinePlayers.length];
+        sorting.constructTeamNames(player);
+        return sorting.getShortTeamName(player);
+    }
+}
\ No newline at end of file
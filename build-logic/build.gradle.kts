@@ -5,6 +5,7 @@ plugins {
 dependencies {
     implementation(libs.plugin.indra)
     implementation(libs.plugin.shadow)
+    implementation(libs.plugin.jmh)
 }
 
 dependencies {
@@ -12,6 +12,7 @@ import me.neznamy.tab.api.protocol.PacketPlayOutBoss.Action;
 import me.neznamy.tab.api.protocol.PacketPlayOutPlayerInfo.EnumGamemode;
 import me.neznamy.tab.api.protocol.PacketPlayOutPlayerInfo.EnumPlayerInfoAction;
 import me.neznamy.tab.api.protocol.PacketPlayOutPlayerInfo.PlayerInfoData;
+import me.neznamy.tab.api.util.BoundedCache;
 import me.neznamy.tab.platforms.bukkit.nms.*;
 import me.neznamy.tab.platforms.bukkit.nms.datawatcher.DataWatcher;
 import org.bukkit.Bukkit;
@@ -32,10 +33,10 @@ public class BukkitPacketBuilder extends PacketBuilder {
     private final EnumMap<EntityType, Integer> entityIds = new EnumMap<>(EntityType.class);
 
     /** Component cache for better performance (1.16+ players) */
-    private final Map<IChatBaseComponent, Object> componentCacheModern = new HashMap<>();
+    private final BoundedCache<IChatBaseComponent, Object> componentCacheModern = new BoundedCache<>("NMS components (1.16+)", 10000);
 
     /** Component cache for better performance (1.15- players) */
-    private final Map<IChatBaseComponent, Object> componentCacheLegacy = new HashMap<>();
+    private final BoundedCache<IChatBaseComponent, Object> componentCacheLegacy = new BoundedCache<>("NMS components (1.15-)", 10000);
 
     /**
      * Constructs new instance
@@ -199,16 +200,16 @@ public class BukkitPacketBuilder extends PacketBuilder {
     @Override
     public Object build(PacketPlayOutScoreboardTeam packet, ProtocolVersion clientVersion) throws ReflectiveOperationException {
         if (nms.PacketPlayOutScoreboardTeam == null) return null; //fabric
-        Object team = nms.newScoreboardTeam.newInstance(nms.emptyScoreboard, packet.getName());
+        Object team = NMSAccessors.newScoreboardTeam(nms.emptyScoreboard, packet.getName());
         String prefix = packet.getPlayerPrefix();
         String suffix = packet.getPlayerSuffix();
         if (clientVersion.getMinorVersion() < 13) {
             prefix = cutTo(prefix, 16);
             suffix = cutTo(suffix, 16);
         }
-        ((Collection<String>)nms.ScoreboardTeam_getPlayerNameSet.invoke(team)).addAll(packet.getPlayers());
-        nms.ScoreboardTeam_setAllowFriendlyFire.invoke(team, (packet.getOptions() & 0x1) > 0);
-        nms.ScoreboardTeam_setCanSeeFriendlyInvisibles.invoke(team, (packet.getOptions() & 0x2) > 0);
+        NMSAccessors.getTeamPlayers(team).addAll(packet.getPlayers());
+        NMSAccessors.setTeamAllowFriendlyFire(team, (packet.getOptions() & 0x1) > 0);
+        NMSAccessors.setTeamCanSeeFriendlyInvisibles(team, (packet.getOptions() & 0x2) > 0);
         if (nms.getMinorVersion() >= 13) {
             createTeamModern(packet, clientVersion, team, prefix, suffix);
         } else {
@@ -217,20 +218,20 @@ public class BukkitPacketBuilder extends PacketBuilder {
         if (nms.getMinorVersion() >= 17) {
             switch (packet.getAction()) {
             case 0:
-                return nms.PacketPlayOutScoreboardTeam_ofBoolean.invoke(null, team, true);
+                return NMSAccessors.teamPacketOf(team, true);
             case 1:
-                return nms.PacketPlayOutScoreboardTeam_of.invoke(null, team);
+                return NMSAccessors.teamPacketOf(team);
             case 2:
-                return nms.PacketPlayOutScoreboardTeam_ofBoolean.invoke(null, team, false);
+                return NMSAccessors.teamPacketOf(team, false);
             case 3:
-                return nms.PacketPlayOutScoreboardTeam_ofString.invoke(null, team, packet.getPlayers().iterator().next(), Enum.valueOf(nms.PacketPlayOutScoreboardTeam_PlayerAction, "ADD"));
+                return NMSAccessors.teamPacketOf(team, packet.getPlayers().iterator().next(), Enum.valueOf(nms.PacketPlayOutScoreboardTeam_PlayerAction, "ADD"));
             case 4:
-                return nms.PacketPlayOutScoreboardTeam_ofString.invoke(null, team, packet.getPlayers().iterator().next(), Enum.valueOf(nms.PacketPlayOutScoreboardTeam_PlayerAction, "REMOVE"));
+                return NMSAccessors.teamPacketOf(team, packet.getPlayers().iterator().next(), Enum.valueOf(nms.PacketPlayOutScoreboardTeam_PlayerAction, "REMOVE"));
             default:
                 throw new IllegalArgumentException("Invalid action: " + packet.getAction());
             }
         }
-        return nms.newPacketPlayOutScoreboardTeam.newInstance(team, packet.getAction());
+        return NMSAccessors.newScoreboardTeamPacket(team, packet.getAction());
     }
 
     /**
@@ -263,9 +264,9 @@ public class BukkitPacketBuilder extends PacketBuilder {
     public Object build(PacketPlayOutEntityMetadata packet) throws ReflectiveOperationException {
         if (nms.newPacketPlayOutEntityMetadata.getParameterCount() == 2) {
             //1.19.3+
-            return nms.newPacketPlayOutEntityMetadata.newInstance(packet.getEntityId(), nms.DataWatcher_b.invoke(packet.getDataWatcher().toNMS()));
+            return NMSAccessors.newEntityMetadata(packet.getEntityId(), NMSAccessors.packDataWatcher(packet.getDataWatcher().toNMS()));
         } else {
-            return nms.newPacketPlayOutEntityMetadata.newInstance(packet.getEntityId(), packet.getDataWatcher().toNMS(), true);
+            return NMSAccessors.newEntityMetadata(packet.getEntityId(), packet.getDataWatcher().toNMS(), true);
         }
     }
 
@@ -322,22 +323,17 @@ public class BukkitPacketBuilder extends PacketBuilder {
     public Object build(PacketPlayOutEntityTeleport packet) throws ReflectiveOperationException {
         Object nmsPacket;
         if (nms.getMinorVersion() >= 17) {
-            nmsPacket = nms.newPacketPlayOutEntityTeleport.newInstance(nms.dummyEntity);
+            nmsPacket = NMSAccessors.newEntityTeleport(nms.dummyEntity);
         } else {
-            nmsPacket = nms.newPacketPlayOutEntityTeleport.newInstance();
+            nmsPacket = NMSAccessors.newEntityTeleport();
         }
-        nms.setField(nmsPacket, nms.PacketPlayOutEntityTeleport_ENTITYID, packet.getEntityId());
+        NMSAccessors.setTeleportEntityId(nmsPacket, packet.getEntityId());
         if (nms.getMinorVersion() >= 9) {
-            nms.setField(nmsPacket, nms.PacketPlayOutEntityTeleport_X, packet.getLocation().getX());
-            nms.setField(nmsPacket, nms.PacketPlayOutEntityTeleport_Y, packet.getLocation().getY());
-            nms.setField(nmsPacket, nms.PacketPlayOutEntityTeleport_Z, packet.getLocation().getZ());
+            NMSAccessors.setTeleportPosition(nmsPacket, packet.getLocation().getX(), packet.getLocation().getY(), packet.getLocation().getZ());
         } else {
-            nms.setField(nmsPacket, nms.PacketPlayOutEntityTeleport_X, floor(packet.getLocation().getX()*32));
-            nms.setField(nmsPacket, nms.PacketPlayOutEntityTeleport_Y, floor(packet.getLocation().getY()*32));
-            nms.setField(nmsPacket, nms.PacketPlayOutEntityTeleport_Z, floor(packet.getLocation().getZ()*32));
+            NMSAccessors.setTeleportPosition(nmsPacket, floor(packet.getLocation().getX()*32), floor(packet.getLocation().getY()*32), floor(packet.getLocation().getZ()*32));
         }
-        nms.setField(nmsPacket, nms.PacketPlayOutEntityTeleport_YAW, (byte) (packet.getLocation().getYaw()/360*256));
-        nms.setField(nmsPacket, nms.PacketPlayOutEntityTeleport_PITCH, (byte) (packet.getLocation().getPitch()/360*256));
+        NMSAccessors.setTeleportRotation(nmsPacket, (byte) (packet.getLocation().getYaw()/360*256), (byte) (packet.getLocation().getPitch()/360*256));
         return nmsPacket;
     }
 
@@ -358,12 +354,12 @@ public class BukkitPacketBuilder extends PacketBuilder {
      *          if thrown by reflective operation
      */
     private void createTeamModern(PacketPlayOutScoreboardTeam packet, ProtocolVersion clientVersion, Object team, String prefix, String suffix) throws ReflectiveOperationException {
-        if (prefix != null) nms.ScoreboardTeam_setPrefix.invoke(team, toNMSComponent(IChatBaseComponent.optimizedComponent(prefix), clientVersion));
-        if (suffix != null) nms.ScoreboardTeam_setSuffix.invoke(team, toNMSComponent(IChatBaseComponent.optimizedComponent(suffix), clientVersion));
+        if (prefix != null) NMSAccessors.setTeamPrefix(team, toNMSComponent(IChatBaseComponent.optimizedComponent(prefix), clientVersion));
+        if (suffix != null) NMSAccessors.setTeamSuffix(team, toNMSComponent(IChatBaseComponent.optimizedComponent(suffix), clientVersion));
         EnumChatFormat format = packet.getColor() != null ? packet.getColor() : EnumChatFormat.lastColorsOf(prefix);
-        nms.ScoreboardTeam_setColor.invoke(team, Enum.valueOf(nms.EnumChatFormat, format.toString()));
-        nms.ScoreboardTeam_setNameTagVisibility.invoke(team, Enum.valueOf(nms.EnumNameTagVisibility, String.valueOf(packet.getNameTagVisibility()).equals("always") ? "ALWAYS" : "NEVER"));
-        nms.ScoreboardTeam_setCollisionRule.invoke(team, Enum.valueOf(nms.EnumTeamPush, String.valueOf(packet.getCollisionRule()).equals("always") ? "ALWAYS" : "NEVER"));
+        NMSAccessors.setTeamColor(team, Enum.valueOf(nms.EnumChatFormat, format.toString()));
+        NMSAccessors.setTeamNameTagVisibility(team, Enum.valueOf(nms.EnumNameTagVisibility, String.valueOf(packet.getNameTagVisibility()).equals("always") ? "ALWAYS" : "NEVER"));
+        NMSAccessors.setTeamCollisionRule(team, Enum.valueOf(nms.EnumTeamPush, String.valueOf(packet.getCollisionRule()).equals("always") ? "ALWAYS" : "NEVER"));
     }
 
     /**
@@ -381,10 +377,10 @@ public class BukkitPacketBuilder extends PacketBuilder {
      *          if thrown by reflective operation
      */
     private void createTeamLegacy(PacketPlayOutScoreboardTeam packet, Object team, String prefix, String suffix) throws ReflectiveOperationException {
-        if (prefix != null) nms.ScoreboardTeam_setPrefix.invoke(team, prefix);
-        if (suffix != null) nms.ScoreboardTeam_setSuffix.invoke(team, suffix);
-        if (nms.getMinorVersion() >= 8) nms.ScoreboardTeam_setNameTagVisibility.invoke(team, Enum.valueOf(nms.EnumNameTagVisibility, String.valueOf(packet.getNameTagVisibility()).equals("always") ? "ALWAYS" : "NEVER"));
-        if (nms.getMinorVersion() >= 9) nms.ScoreboardTeam_setCollisionRule.invoke(team, Enum.valueOf(nms.EnumTeamPush, String.valueOf(packet.getCollisionRule()).equals("always") ? "ALWAYS" : "NEVER"));
+        if (prefix != null) NMSAccessors.setTeamPrefix(team, prefix);
+        if (suffix != null) NMSAccessors.setTeamSuffix(team, suffix);
+        if (nms.getMinorVersion() >= 8) NMSAccessors.setTeamNameTagVisibility(team, Enum.valueOf(nms.EnumNameTagVisibility, String.valueOf(packet.getNameTagVisibility()).equals("always") ? "ALWAYS" : "NEVER"));
+        if (nms.getMinorVersion() >= 9) NMSAccessors.setTeamCollisionRule(team, Enum.valueOf(nms.EnumTeamPush, String.valueOf(packet.getCollisionRule()).equals("always") ? "ALWAYS" : "NEVER"));
     }
     
     @Override
@@ -530,10 +526,10 @@ public class BukkitPacketBuilder extends PacketBuilder {
     public Object toNMSComponent(IChatBaseComponent component, ProtocolVersion clientVersion) throws ReflectiveOperationException {
         if (component == null) return null;
         if (component instanceof WrappedChatComponent) return ((WrappedChatComponent) component).get();
-        Map<IChatBaseComponent, Object> cache = clientVersion.getMinorVersion() >= 16 ? componentCacheModern : componentCacheLegacy;
-        if (cache.containsKey(component)) return cache.get(component);
-        if (cache.size() > 10000) cache.clear();
-        Object chat = nms.ChatSerializer_DESERIALIZE.invoke(null, component.toString(clientVersion));
+        BoundedCache<IChatBaseComponent, Object> cache = clientVersion.getMinorVersion() >= 16 ? componentCacheModern : componentCacheLegacy;
+        Object chat = cache.get(component);
+        if (chat != null) return chat;
+        chat = nms.ChatSerializer_DESERIALIZE.invoke(null, component.toString(clientVersion));
         cache.put(component, chat);
         return chat;
     }
@@ -8,9 +8,11 @@ import io.netty.channel.ChannelDuplexHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelPromise;
 import me.neznamy.tab.api.TabFeature;
+import me.neznamy.tab.api.TabFeature.Hook;
 import me.neznamy.tab.api.TabPlayer;
 import me.neznamy.tab.platforms.bukkit.nms.NMSStorage;
 import me.neznamy.tab.api.TabConstants;
+import me.neznamy.tab.shared.FeatureManagerImpl;
 import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.features.PipelineInjector;
 import me.neznamy.tab.shared.features.sorting.Sorting;
@@ -21,9 +23,30 @@ import org.jetbrains.annotations.NotNull;
  */
 public class BukkitPipelineInjector extends PipelineInjector {
 
+    /** Types of packets handled differently by the channel handler */
+    private static final int OTHER_PACKET = 0;
+    private static final int PLAYER_INFO = 1;
+    private static final int TEAM = 2;
+    private static final int DISPLAY_OBJECTIVE = 3;
+    private static final int OBJECTIVE = 4;
+
     /** NMS data storage */
     private final NMSStorage nms = NMSStorage.getInstance();
 
+    /** Type of outgoing packet by its class, computed once for each class */
+    private final ClassValue<Integer> outPacketTypes = new ClassValue<Integer>() {
+
+        @Override
+        protected Integer computeValue(@NotNull Class<?> type) {
+            if (nms.PacketPlayOutPlayerInfo.isAssignableFrom(type) ||
+                    (nms.ClientboundPlayerInfoRemovePacket != null && nms.ClientboundPlayerInfoRemovePacket.isAssignableFrom(type))) return PLAYER_INFO;
+            if (nms.PacketPlayOutScoreboardTeam != null && nms.PacketPlayOutScoreboardTeam.isAssignableFrom(type)) return TEAM;
+            if (nms.PacketPlayOutScoreboardDisplayObjective.isAssignableFrom(type)) return DISPLAY_OBJECTIVE;
+            if (nms.PacketPlayOutScoreboardObjective.isAssignableFrom(type)) return OBJECTIVE;
+            return OTHER_PACKET;
+        }
+    };
+
     /**
      * Constructs new instance
      */
@@ -57,7 +80,8 @@ public class BukkitPipelineInjector extends PipelineInjector {
         @Override
         public void channelRead(@NotNull ChannelHandlerContext context, @NotNull Object packet) {
             try {
-                if (TAB.getInstance().getFeatureManager().onPacketReceive(player, packet)) return;
+                FeatureManagerImpl featureManager = TAB.getInstance().getFeatureManager();
+                if (featureManager.hasListeners(Hook.PACKET_RECEIVE) && featureManager.onPacketReceive(player, packet)) return;
                 super.channelRead(context, packet);
             } catch (Exception e){
                 TAB.getInstance().getErrorManager().printError("An error occurred when reading packets", e);
@@ -67,25 +91,30 @@ public class BukkitPipelineInjector extends PipelineInjector {
         @Override
         public void write(ChannelHandlerContext context, Object packet, ChannelPromise channelPromise) {
             try {
-                if (nms.PacketPlayOutPlayerInfo.isInstance(packet) ||
-                        (nms.ClientboundPlayerInfoRemovePacket != null && nms.ClientboundPlayerInfoRemovePacket.isInstance(packet))) {
+                switch (outPacketTypes.get(packet.getClass())) {
+                case PLAYER_INFO:
                     super.write(context, TAB.getInstance().getFeatureManager().onPacketPlayOutPlayerInfo(player, packet), channelPromise);
                     return;
-                }
-                if (antiOverrideTeams && nms.PacketPlayOutScoreboardTeam != null && nms.PacketPlayOutScoreboardTeam.isInstance(packet)) {
-                    long time = System.nanoTime();
-                    modifyPlayers(packet);
-                    TAB.getInstance().getCPUManager().addTime("NameTags", TabConstants.CpuUsageCategory.ANTI_OVERRIDE, System.nanoTime()-time);
-                    super.write(context, packet, channelPromise);
-                    return;
-                }
-                if (nms.PacketPlayOutScoreboardDisplayObjective.isInstance(packet)){
+                case TEAM:
+                    if (antiOverrideTeams) {
+                        long time = System.nanoTime();
+                        modifyPlayers(packet);
+                        TAB.getInstance().getCPUManager().addTime("NameTags", TabConstants.CpuUsageCategory.ANTI_OVERRIDE, System.nanoTime()-time);
+                        super.write(context, packet, channelPromise);
+                        return;
+                    }
+                    break;
+                case DISPLAY_OBJECTIVE:
                     TAB.getInstance().getFeatureManager().onDisplayObjective(player, packet);
-                }
-                if (nms.PacketPlayOutScoreboardObjective.isInstance(packet)) {
+                    break;
+                case OBJECTIVE:
                     TAB.getInstance().getFeatureManager().onObjective(player, packet);
+                    break;
+                default:
+                    break;
                 }
-                TAB.getInstance().getFeatureManager().onPacketSend(player, packet);
+                FeatureManagerImpl featureManager = TAB.getInstance().getFeatureManager();
+                if (featureManager.hasListeners(Hook.PACKET_SEND)) featureManager.onPacketSend(player, packet);
             } catch (Exception e){
                 TAB.getInstance().getErrorManager().printError("An error occurred when reading packets", e);
             }
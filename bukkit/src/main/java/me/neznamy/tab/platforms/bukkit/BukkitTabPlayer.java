@@ -25,6 +25,7 @@ import com.viaversion.viaversion.api.legacy.bossbar.BossStyle;
 import io.netty.channel.Channel;
 import me.neznamy.tab.api.chat.rgb.RGBUtils;
 import me.neznamy.tab.api.protocol.PacketPlayOutBoss;
+import me.neznamy.tab.platforms.bukkit.nms.NMSAccessors;
 import me.neznamy.tab.platforms.bukkit.nms.NMSStorage;
 import me.neznamy.tab.shared.ITabPlayer;
 import me.neznamy.tab.shared.TAB;
@@ -98,7 +99,7 @@ public class BukkitTabPlayer extends ITabPlayer {
             } else if (nmsPacket instanceof PacketPlayOutChat) {
                 getPlayer().sendMessage(((PacketPlayOutChat) nmsPacket).getMessage().toLegacyText());
             } else {
-                NMSStorage.getInstance().sendPacket.invoke(playerConnection, nmsPacket);
+                NMSAccessors.sendPacket(playerConnection, nmsPacket);
             }
         } catch (ReflectiveOperationException e) {
             TAB.getInstance().getErrorManager().printError("An error occurred when sending " + nmsPacket.getClass().getSimpleName(), e);
@@ -106,6 +107,41 @@ public class BukkitTabPlayer extends ITabPlayer {
         TAB.getInstance().getCPUManager().addMethodTime("sendPacket", System.nanoTime()-time);
     }
 
+    /**
+     * Writes NMS packets into player's channel and flushes it once. Packets sent
+     * using Bukkit API (BossBar and chat) flush packets written before them first
+     * and are then sent normally to keep the order in which packets were queued.
+     *
+     * @param   packets
+     *          platform packets to send
+     */
+    @Override
+    protected void sendPackets(List<Object> packets) {
+        Channel channel = getChannel();
+        if (channel == null || !getPlayer().isOnline()) {
+            super.sendPackets(packets);
+            return;
+        }
+        long time = System.nanoTime();
+        boolean written = false;
+        for (Object packet : packets) {
+            if (packet instanceof PacketPlayOutBoss || packet instanceof PacketPlayOutChat) {
+                if (written) {
+                    channel.flush();
+                    written = false;
+                }
+                TAB.getInstance().getCPUManager().addMethodTime("sendPacket", System.nanoTime()-time);
+                sendPacket(packet);
+                time = System.nanoTime();
+            } else {
+                channel.write(packet, channel.voidPromise());
+                written = true;
+            }
+        }
+        if (written) channel.flush();
+        TAB.getInstance().getCPUManager().addMethodTime("sendPacket", System.nanoTime()-time);
+    }
+
     /**
      * Handles PacketPlayOutBoss packet send request using Bukkit API,
      * since the API offers everything we need and makes us not need to
@@ -15,6 +15,9 @@ import org.bukkit.entity.EntityType;
 import org.bukkit.entity.Player;
 import org.bukkit.entity.Pose;
 
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
 
 /**
@@ -25,6 +28,9 @@ public class BukkitArmorStand implements ArmorStand {
     /** Entity id counter to pick unique entity ID for each armor stand */
     private static int idCounter = 2000000000;
 
+    /** Minimum distance in blocks on any axis owner must move for {@link #updateLastLocation()} to report a move */
+    private static final double MOVE_THRESHOLD = 0.01;
+
     /** NameTag feature */
     private final BukkitNameTagX manager = (BukkitNameTagX) TabAPI.getInstance().getFeatureManager().getFeature(TabConstants.Feature.UNLIMITED_NAME_TAGS);
 
@@ -58,9 +64,21 @@ public class BukkitArmorStand implements ArmorStand {
     /** Refresh property dedicated to this armor stand */
     private final Property property;
 
+    /** Owner's location used in last teleport sent to all nearby players, NaN if not sent yet */
+    private double lastX = Double.NaN;
+    private double lastY = Double.NaN;
+    private double lastZ = Double.NaN;
+
     /** Entity destroy packet */
     private final PacketPlayOutEntityDestroy destroyPacket = new PacketPlayOutEntityDestroy(entityId);
 
+    /**
+     * Metadata packets by displayed name, one map for each combination of viewer
+     * dependent flags from {@link #getMetadataPacket(TabPlayer)}. Cleared when
+     * armor stand value or its flags change.
+     */
+    private final Map<String, PacketPlayOutEntityMetadata>[] metadataPackets = newMetadataPacketMaps();
+
     /**
      * Constructs new instance with given parameters.
      *
@@ -89,6 +107,7 @@ public class BukkitArmorStand implements ArmorStand {
     @Override
     public void refresh() {
         visible = getVisibility();
+        clearMetadataPackets();
         updateMetadata();
     }
 
@@ -111,6 +130,7 @@ public class BukkitArmorStand implements ArmorStand {
     public void setOffset(double offset) {
         if (yOffset == offset) return;
         yOffset = offset;
+        updateLastLocation();
         for (TabPlayer all : asm.getNearbyPlayers()) {
             all.sendCustomPacket(getTeleportPacket(all), TabConstants.PacketCategory.UNLIMITED_NAMETAGS_OFFSET_CHANGE);
         }
@@ -135,6 +155,7 @@ public class BukkitArmorStand implements ArmorStand {
 
     @Override
     public void teleport() {
+        updateLastLocation();
         for (TabPlayer all : asm.getNearbyPlayers()) {
             all.sendCustomPacket(getTeleportPacket(all), TabConstants.PacketCategory.UNLIMITED_NAMETAGS_TELEPORT);
         }
@@ -153,6 +174,7 @@ public class BukkitArmorStand implements ArmorStand {
     public void sneak(boolean sneaking) {
         if (this.sneaking == sneaking) return; //idk
         this.sneaking = sneaking;
+        clearMetadataPackets();
         for (TabPlayer viewer : asm.getNearbyPlayers()) {
             if (viewer.getVersion().getMinorVersion() == 14 && !manager.isArmorStandsAlwaysVisible()) {
                 //1.14.x client sided bug, de-spawning completely
@@ -192,15 +214,72 @@ public class BukkitArmorStand implements ArmorStand {
         return new PacketPlayOutEntityTeleport(entityId, getArmorStandLocationFor(viewer));
     }
 
+    /**
+     * Remembers owner's current location as the one sent to all nearby players
+     * if it differs from the previously remembered one by more than {@link #MOVE_THRESHOLD}
+     * on any axis. Smaller moves are not remembered, so they can add up over time.
+     *
+     * @return  {@code true} if owner moved, {@code false} if not
+     */
+    public boolean updateLastLocation() {
+        Location location = player.getLocation();
+        double x = location.getX();
+        double y = getY() + yOffset;
+        double z = location.getZ();
+        if (Math.abs(x - lastX) < MOVE_THRESHOLD && Math.abs(y - lastY) < MOVE_THRESHOLD && Math.abs(z - lastZ) < MOVE_THRESHOLD) return false;
+        lastX = x;
+        lastY = y;
+        lastZ = z;
+        return true;
+    }
+
     /**
      * Updates armor stand's metadata
      */
     public void updateMetadata() {
         for (TabPlayer viewer : asm.getNearbyPlayers()) {
-            viewer.sendCustomPacket(new PacketPlayOutEntityMetadata(entityId, createDataWatcher(property.getFormat(viewer), viewer)), TabConstants.PacketCategory.UNLIMITED_NAMETAGS_METADATA);
+            viewer.sendCustomPacket(getMetadataPacket(viewer), TabConstants.PacketCategory.UNLIMITED_NAMETAGS_METADATA);
         }
     }
 
+    /**
+     * Returns metadata packet for specified viewer. Viewers who would receive
+     * the same metadata share the same packet instance, which is only created
+     * once until armor stand value or its flags change.
+     *
+     * @param   viewer
+     *          player to get metadata for
+     * @return  metadata packet for viewer
+     */
+    public PacketPlayOutEntityMetadata getMetadataPacket(TabPlayer viewer) {
+        String displayName = property.getFormat(viewer);
+        boolean nameVisible = isNameVisible(displayName, viewer);
+        int flags = (nameVisible ? 1 : 0) | (viewer.getVersion().getMinorVersion() >= 16 ? 2 : 0) | (hasArmorStandFlags(viewer) ? 4 : 0);
+        Map<String, PacketPlayOutEntityMetadata> packets = metadataPackets[flags];
+        if (packets == null) {
+            packets = new HashMap<>();
+            metadataPackets[flags] = packets;
+        }
+        PacketPlayOutEntityMetadata packet = packets.get(displayName);
+        if (packet == null) {
+            packet = new PacketPlayOutEntityMetadata(entityId, createDataWatcher(displayName, viewer, nameVisible));
+            packets.put(displayName, packet);
+        }
+        return packet;
+    }
+
+    /**
+     * Forgets all cached metadata packets
+     */
+    private void clearMetadataPackets() {
+        Arrays.fill(metadataPackets, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, PacketPlayOutEntityMetadata>[] newMetadataPacketMaps() {
+        return (Map<String, PacketPlayOutEntityMetadata>[]) new Map[8];
+    }
+
     /**
      * Returns general visibility rule for everyone with limited info
      *
@@ -291,24 +370,58 @@ public class BukkitArmorStand implements ArmorStand {
      * @return  DataWatcher for viewer
      */
     public DataWatcher createDataWatcher(String displayName, TabPlayer viewer) {
+        return createDataWatcher(displayName, viewer, isNameVisible(displayName, viewer));
+    }
+
+    /**
+     * Creates data watcher with specified display name and name visibility for viewer
+     *
+     * @param   displayName
+     *          armor stand name
+     * @param   viewer
+     *          player to apply checks against
+     * @param   nameVisible
+     *          whether name should be visible for viewer or not
+     * @return  DataWatcher for viewer
+     */
+    private DataWatcher createDataWatcher(String displayName, TabPlayer viewer, boolean nameVisible) {
         DataWatcher datawatcher = new DataWatcher();
 
         byte flag = 32; //invisible
         if (sneaking) flag += (byte)2;
         datawatcher.helper().setEntityFlags(flag);
         datawatcher.helper().setCustomName(displayName, viewer.getVersion());
+        datawatcher.helper().setCustomNameVisible(nameVisible);
+        if (hasArmorStandFlags(viewer)) datawatcher.helper().setArmorStandFlags((byte)16);
+        return datawatcher;
+    }
 
-        boolean visibility;
+    /**
+     * Returns {@code true} if armor stand name should be visible for viewer, {@code false} if not
+     *
+     * @param   displayName
+     *          armor stand name
+     * @param   viewer
+     *          player to apply checks against
+     * @return  {@code true} if name should be visible, {@code false} if not
+     */
+    private boolean isNameVisible(String displayName, TabPlayer viewer) {
         if (isNameVisiblyEmpty(displayName) || !((Player) viewer.getPlayer()).canSee(player) ||
                 manager.hasHiddenNametag(owner, viewer) || manager.hasHiddenNameTagVisibilityView(viewer)) {
-            visibility = false;
-        } else {
-            visibility = visible;
+            return false;
         }
-        datawatcher.helper().setCustomNameVisible(visibility);
+        return visible;
+    }
 
-        if (viewer.getVersion().getMinorVersion() > 8 || manager.isMarkerFor18x()) datawatcher.helper().setArmorStandFlags((byte)16);
-        return datawatcher;
+    /**
+     * Returns {@code true} if armor stand flags (marker) should be sent to viewer, {@code false} if not
+     *
+     * @param   viewer
+     *          player to check
+     * @return  {@code true} if armor stand flags should be sent, {@code false} if not
+     */
+    private boolean hasArmorStandFlags(TabPlayer viewer) {
+        return viewer.getVersion().getMinorVersion() > 8 || manager.isMarkerFor18x();
     }
 
     /**
@@ -335,16 +448,20 @@ public class BukkitArmorStand implements ArmorStand {
      * @return  List of packets that spawn the armor stand
      */
     public TabPacket[] getSpawnPackets(TabPlayer viewer) {
-        visible = getVisibility();
-        DataWatcher dataWatcher = createDataWatcher(property.getFormat(viewer), viewer);
+        boolean visibility = getVisibility();
+        if (visible != visibility) {
+            visible = visibility;
+            clearMetadataPackets();
+        }
+        PacketPlayOutEntityMetadata metadata = getMetadataPacket(viewer);
         if (TabAPI.getInstance().getServerVersion().getMinorVersion() >= 15) {
             return new TabPacket[] {
                     new PacketPlayOutSpawnEntityLiving(entityId, uuid, EntityType.ARMOR_STAND, getArmorStandLocationFor(viewer), null),
-                    new PacketPlayOutEntityMetadata(entityId, dataWatcher)
+                    metadata
             };
         } else {
             return new TabPacket[] {
-                    new PacketPlayOutSpawnEntityLiving(entityId, uuid, EntityType.ARMOR_STAND, getArmorStandLocationFor(viewer), dataWatcher),
+                    new PacketPlayOutSpawnEntityLiving(entityId, uuid, EntityType.ARMOR_STAND, getArmorStandLocationFor(viewer), metadata.getDataWatcher()),
             };
         }
     }
@@ -4,12 +4,15 @@ import me.neznamy.tab.api.ArmorStand;
 import me.neznamy.tab.api.ArmorStandManager;
 import me.neznamy.tab.api.TabPlayer;
 import me.neznamy.tab.api.TabConstants;
+import me.neznamy.tab.api.protocol.TabPacket;
 import me.neznamy.tab.shared.features.nametags.unlimited.NameTagX;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * A helper class for easy management of armor stands of a player
@@ -22,10 +25,16 @@ public class BukkitArmorStandManager implements ArmorStandManager {
     /** Armor stands in an array for speed while iterating */
     private ArmorStand[] armorStandArray = new ArmorStand[0];
 
+    /** Main feature */
+    private final BukkitNameTagX nameTagX;
+
+    /** Owner of this armor stand manager */
+    private final TabPlayer owner;
+
     /** Players in entity tracking range of owner */
-    private final List<TabPlayer> nearbyPlayers = new ArrayList<>();
+    private final Set<TabPlayer> nearbyPlayers = new HashSet<>();
 
-    /** Nearby players in an array for speed while iterating */
+    /** Nearby players in an array for speed while iterating, {@code null} if it must be rebuilt */
     private TabPlayer[] nearbyPlayerArray = new TabPlayer[0];
 
     /**
@@ -37,6 +46,8 @@ public class BukkitArmorStandManager implements ArmorStandManager {
      *          Owner of this armor stand manager
      */
     public BukkitArmorStandManager(NameTagX nameTagX, TabPlayer owner) {
+        this.nameTagX = (BukkitNameTagX) nameTagX;
+        this.owner = owner;
         owner.setProperty(nameTagX, TabConstants.Property.NAMETAG, owner.getProperty(TabConstants.Property.TAGPREFIX).getCurrentRawValue()
                 + owner.getProperty(TabConstants.Property.CUSTOMTAGNAME).getCurrentRawValue()
                 + owner.getProperty(TabConstants.Property.TAGSUFFIX).getCurrentRawValue());
@@ -68,11 +79,33 @@ public class BukkitArmorStandManager implements ArmorStandManager {
         for (ArmorStand a : armorStandArray) a.teleport();
     }
 
+    /**
+     * Adds teleport packets of armor stands which moved since their last teleport
+     * sent to all nearby players into given map of packets by viewer
+     *
+     * @param   teleports
+     *          map of teleport packets to add packets to
+     */
+    public void addMovedTeleports(Map<TabPlayer, List<TabPacket>> teleports) {
+        for (ArmorStand a : armorStandArray) {
+            if (!(a instanceof BukkitArmorStand)) {
+                a.teleport();
+                continue;
+            }
+            BukkitArmorStand as = (BukkitArmorStand) a;
+            if (!as.updateLastLocation()) continue;
+            for (TabPlayer viewer : getNearbyPlayers()) {
+                teleports.computeIfAbsent(viewer, v -> new ArrayList<>()).add(as.getTeleportPacket(viewer));
+            }
+        }
+    }
+
     /**
      * Returns array of nearby players
      * @return  array of nearby players
      */
     public TabPlayer[] getNearbyPlayers(){
+        if (nearbyPlayerArray == null) nearbyPlayerArray = nearbyPlayers.toArray(new TabPlayer[0]);
         return nearbyPlayerArray;
     }
 
@@ -87,22 +120,6 @@ public class BukkitArmorStandManager implements ArmorStandManager {
         return nearbyPlayers.contains(viewer);
     }
 
-    /**
-     * Returns {@code true} if manager contains armor stand with specified entity id, {@code false} if not
-     *
-     * @param   entityId
-     *          entity id
-     * @return  {@code true} if armor stand with specified entity id exists, {@code false} if not
-     */
-    public boolean hasArmorStandWithID(int entityId) {
-        for (ArmorStand a : armorStandArray) {
-            if (a.getEntityId() == entityId) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     /**
      * Sets sneak value of armor stands to specified value
      *
@@ -118,7 +135,7 @@ public class BukkitArmorStandManager implements ArmorStandManager {
      */
     public void respawn() {
         for (ArmorStand a : armorStandArray) {
-            for (TabPlayer viewer : nearbyPlayerArray) {
+            for (TabPlayer viewer : getNearbyPlayers()) {
                 a.respawn(viewer);
             }
         }
@@ -131,8 +148,7 @@ public class BukkitArmorStandManager implements ArmorStandManager {
      *          player to spawn armor stands for
      */
     public void spawn(TabPlayer viewer) {
-        nearbyPlayers.add(viewer);
-        nearbyPlayerArray = nearbyPlayers.toArray(new TabPlayer[0]);
+        if (nearbyPlayers.add(viewer)) nearbyPlayerArray = null;
         if (viewer.getVersion().getMinorVersion() < 8) return;
         for (ArmorStand a : armorStandArray) a.spawn(viewer);
     }
@@ -162,7 +178,8 @@ public class BukkitArmorStandManager implements ArmorStandManager {
     public void addArmorStand(String name, ArmorStand as) {
         armorStands.put(name, as);
         armorStandArray = armorStands.values().toArray(new ArmorStand[0]);
-        for (TabPlayer p : nearbyPlayerArray) as.spawn(p);
+        nameTagX.registerArmorStand(as.getEntityId(), owner);
+        for (TabPlayer p : getNearbyPlayers()) as.spawn(p);
     }
 
     /**
@@ -172,7 +189,7 @@ public class BukkitArmorStandManager implements ArmorStandManager {
      *          player to remove
      */
     public void unregisterPlayer(TabPlayer viewer) {
-        if (nearbyPlayers.remove(viewer)) nearbyPlayerArray = nearbyPlayers.toArray(new TabPlayer[0]);
+        if (nearbyPlayers.remove(viewer)) nearbyPlayerArray = null;
     }
 
     public void updateVisibility(boolean force) {
@@ -10,6 +10,9 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.HandlerList;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * The core class for unlimited NameTag mode on Bukkit
  */
@@ -21,6 +24,9 @@ public class BukkitNameTagX extends NameTagX {
     /** Vehicle manager reference */
     private final VehicleRefresher vehicleManager = new VehicleRefresher(this);
 
+    /** Owners of armor stands by armor stand entity id */
+    private final Map<Integer, TabPlayer> armorStandOwners = new ConcurrentHashMap<>();
+
     /**
      * Constructs new instance with given parameter, loads config options, registers events
      * and registers sub-features.
@@ -136,6 +142,7 @@ public class BukkitNameTagX extends NameTagX {
         }
         armorStandManagerMap.get(disconnectedPlayer).destroy();
         armorStandManagerMap.remove(disconnectedPlayer); // WeakHashMap doesn't clear this due to value referencing the key
+        armorStandOwners.values().removeIf(owner -> owner == disconnectedPlayer);
     }
 
     @Override
@@ -178,6 +185,30 @@ public class BukkitNameTagX extends NameTagX {
         return (BukkitArmorStandManager) armorStandManagerMap.get(player);
     }
 
+    /**
+     * Registers owner of armor stand with given entity id
+     *
+     * @param   entityId
+     *          entity id of armor stand
+     * @param   owner
+     *          owner of the armor stand
+     */
+    public void registerArmorStand(int entityId, TabPlayer owner) {
+        armorStandOwners.put(entityId, owner);
+    }
+
+    /**
+     * Returns owner of armor stand with given entity id or {@code null}
+     * if no armor stand with such id exists
+     *
+     * @param   entityId
+     *          entity id of armor stand
+     * @return  owner of the armor stand or {@code null} if not found
+     */
+    public TabPlayer getArmorStandOwner(int entityId) {
+        return armorStandOwners.get(entityId);
+    }
+
     /**
      * Returns {@link #vehicleManager}
      * @return  {@link #vehicleManager}
@@ -4,13 +4,15 @@ import me.neznamy.tab.api.TabAPI;
 import me.neznamy.tab.api.TabConstants;
 import me.neznamy.tab.api.TabFeature;
 import me.neznamy.tab.api.TabPlayer;
+import me.neznamy.tab.platforms.bukkit.nms.NMSAccessors;
 import me.neznamy.tab.platforms.bukkit.nms.NMSStorage;
-import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * The packet listening part for securing proper functionality of armor stands.
@@ -30,6 +32,18 @@ public class PacketListener extends TabFeature {
     /** Reference to NMS storage for quick access */
     private final NMSStorage nms = NMSStorage.getInstance();
 
+    /** Players whose armor stands should be teleported, mapped to players who saw them move */
+    private final Map<TabPlayer, Set<TabPlayer>> pendingTeleports = new ConcurrentHashMap<>();
+
+    /** Flag tracking whether a task processing pending teleports was submitted and did not start yet */
+    private final AtomicBoolean teleportTaskSubmitted = new AtomicBoolean();
+
+    /** Passengers whose armor stands should be teleported, mapped to players who saw their vehicle move */
+    private final Map<TabPlayer, Set<TabPlayer>> pendingPassengerTeleports = new ConcurrentHashMap<>();
+
+    /** Flag tracking whether a task processing pending passenger teleports was submitted and did not start yet */
+    private final AtomicBoolean passengerTeleportTaskSubmitted = new AtomicBoolean();
+
     /**
      * Constructs new instance with given parameter
      *
@@ -56,19 +70,15 @@ public class PacketListener extends TabFeature {
     @Override
     public void onQuit(TabPlayer disconnectedPlayer) {
         entityIdMap.remove(((Player) disconnectedPlayer.getPlayer()).getEntityId());
+        pendingTeleports.remove(disconnectedPlayer);
+        pendingPassengerTeleports.remove(disconnectedPlayer);
     }
 
     @Override
     public boolean onPacketReceive(TabPlayer sender, Object packet) throws ReflectiveOperationException {
         if (sender.getVersion().getMinorVersion() == 8 && nms.PacketPlayInUseEntity.isInstance(packet)) {
             int entityId = nms.PacketPlayInUseEntity_ENTITY.getInt(packet);
-            TabPlayer attacked = null;
-            for (TabPlayer all : TabAPI.getInstance().getOnlinePlayers()) {
-                if (all.isLoaded() && nameTagX.getArmorStandManager(all).hasArmorStandWithID(entityId)) {
-                    attacked = all;
-                    break;
-                }
-            }
+            TabPlayer attacked = nameTagX.getArmorStandOwner(entityId);
             if (attacked != null && attacked != sender) {
                 nms.setField(packet, nms.PacketPlayInUseEntity_ENTITY, ((Player) attacked.getPlayer()).getEntityId());
             }
@@ -82,11 +92,11 @@ public class PacketListener extends TabFeature {
         if (receiver.getVersion().getMinorVersion() < 8) return;
         if (!receiver.isLoaded() || nameTagX.isDisabledPlayer(receiver) || nameTagX.getDisabledUnlimitedPlayers().contains(receiver)) return;
         if (nms.PacketPlayOutEntity.isInstance(packet) && !nms.PacketPlayOutEntityLook.isInstance(packet)) { //ignoring head rotation only packets
-            onEntityMove(receiver, nms.PacketPlayOutEntity_ENTITYID.getInt(packet));
+            onEntityMove(receiver, NMSAccessors.getEntityId(packet));
         } else if (nms.PacketPlayOutEntityTeleport.isInstance(packet)) {
-            onEntityMove(receiver, nms.PacketPlayOutEntityTeleport_ENTITYID.getInt(packet));
+            onEntityMove(receiver, NMSAccessors.getTeleportEntityId(packet));
         } else if (nms.PacketPlayOutNamedEntitySpawn.isInstance(packet)) {
-            onEntitySpawn(receiver, nms.PacketPlayOutNamedEntitySpawn_ENTITYID.getInt(packet));
+            onEntitySpawn(receiver, NMSAccessors.getNamedEntitySpawnId(packet));
         } else if (nms.PacketPlayOutEntityDestroy.isInstance(packet)) {
             if (nms.getMinorVersion() >= 17) {
                 Object entities = nms.PacketPlayOutEntityDestroy_ENTITIES.get(packet);
@@ -115,24 +125,74 @@ public class PacketListener extends TabFeature {
      */
     private void onEntityMove(TabPlayer receiver, int entityId) {
         TabPlayer pl = entityIdMap.get(entityId);
-        List<Entity> vehicleList;
+        List<TabPlayer> passengers;
         if (pl != null) {
             //player moved
             if (nameTagX.isPlayerDisabled(pl) || !pl.isLoaded()) return;
-            TabAPI.getInstance().getThreadManager().runMeasuredTask(nameTagX, TabConstants.CpuUsageCategory.PACKET_ENTITY_MOVE,
-                    () -> nameTagX.getArmorStandManager(pl).teleport(receiver));
-        } else if ((vehicleList = nameTagX.getVehicleManager().getVehicles().get(entityId)) != null){
-            //a vehicle carrying something moved
-            for (Entity entity : vehicleList) {
-                TabPlayer passenger = entityIdMap.get(entity.getEntityId());
-                if (passenger != null && nameTagX.getArmorStandManager(passenger) != null) {
-                    TabAPI.getInstance().getThreadManager().runMeasuredTask(nameTagX, TabConstants.CpuUsageCategory.PACKET_ENTITY_MOVE_PASSENGER,
-                            () -> nameTagX.getArmorStandManager(passenger).teleport(receiver));
+            queueTeleport(pendingTeleports, teleportTaskSubmitted, TabConstants.CpuUsageCategory.PACKET_ENTITY_MOVE, pl, receiver);
+        } else if ((passengers = nameTagX.getVehicleManager().getPassengers(entityId)) != null){
+            //a vehicle carrying a player moved
+            for (TabPlayer passenger : passengers) {
+                if (nameTagX.getArmorStandManager(passenger) != null) {
+                    queueTeleport(pendingPassengerTeleports, passengerTeleportTaskSubmitted,
+                            TabConstants.CpuUsageCategory.PACKET_ENTITY_MOVE_PASSENGER, passenger, receiver);
                 }
             }
         }
     }
 
+    /**
+     * Marks armor stands of player to be teleported for viewer. All teleports queued
+     * until the processing task starts are sent in a single task, sending only one
+     * teleport per armor stand and viewer no matter how many move packets were sent.
+     *
+     * @param   pending
+     *          map of pending teleports to add the teleport to
+     * @param   taskSubmitted
+     *          flag tracking whether a task processing the pending teleports was submitted
+     * @param   cpuCategory
+     *          cpu usage category to measure the processing task under
+     * @param   owner
+     *          owner of armor stands
+     * @param   viewer
+     *          player who saw the owner move
+     */
+    private void queueTeleport(Map<TabPlayer, Set<TabPlayer>> pending, AtomicBoolean taskSubmitted, String cpuCategory,
+                               TabPlayer owner, TabPlayer viewer) {
+        //adding inside compute, so viewer cannot be added to a set which was already taken for processing
+        pending.compute(owner, (p, viewers) -> {
+            Set<TabPlayer> set = viewers == null ? ConcurrentHashMap.newKeySet() : viewers;
+            set.add(viewer);
+            return set;
+        });
+        if (taskSubmitted.compareAndSet(false, true)) {
+            TabAPI.getInstance().getThreadManager().runMeasuredTask(nameTagX, cpuCategory, () -> processTeleports(pending, taskSubmitted));
+        }
+    }
+
+    /**
+     * Teleports armor stands of all players marked as moved to players who saw them move
+     * and removes them from the map of pending teleports.
+     *
+     * @param   pending
+     *          map of pending teleports to process
+     * @param   taskSubmitted
+     *          flag tracking whether a task processing the pending teleports was submitted
+     */
+    private void processTeleports(Map<TabPlayer, Set<TabPlayer>> pending, AtomicBoolean taskSubmitted) {
+        //resetting before processing, so teleports queued from now on submit a new task
+        taskSubmitted.set(false);
+        for (TabPlayer owner : pending.keySet()) {
+            Set<TabPlayer> viewers = pending.remove(owner);
+            if (viewers == null) continue;
+            BukkitArmorStandManager asm = nameTagX.getArmorStandManager(owner);
+            if (asm == null) continue;
+            for (TabPlayer viewer : viewers) {
+                asm.teleport(viewer);
+            }
+        }
+    }
+
     /**
      * Processes named entity spawn packet and spawns armor stands if
      * entity ID belongs to an online player.
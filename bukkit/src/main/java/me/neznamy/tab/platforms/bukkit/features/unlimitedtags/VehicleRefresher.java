@@ -4,11 +4,13 @@ import me.neznamy.tab.api.TabAPI;
 import me.neznamy.tab.api.TabConstants;
 import me.neznamy.tab.api.TabFeature;
 import me.neznamy.tab.api.TabPlayer;
+import me.neznamy.tab.api.protocol.TabPacket;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Sub-feature for unlimited name tag mode to secure
@@ -24,8 +26,8 @@ public class VehicleRefresher extends TabFeature {
     /** Map of players currently in a vehicle */
     private final WeakHashMap<TabPlayer, Entity> playersInVehicle = new WeakHashMap<>();
     
-    /** Map of vehicles carrying players */
-    private final Map<Integer, List<Entity>> vehicles = new ConcurrentHashMap<>();
+    /** Players carried by vehicles by entity id of the vehicle */
+    private final Map<Integer, CopyOnWriteArrayList<TabPlayer>> vehicles = new ConcurrentHashMap<>();
     
     /** set of players currently on boats */
     private final Set<TabPlayer> playersOnBoats = Collections.newSetFromMap(new WeakHashMap<>());
@@ -44,9 +46,17 @@ public class VehicleRefresher extends TabFeature {
         this.feature = feature;
         TabAPI.getInstance().getThreadManager().startRepeatingMeasuredTask(50,
                 this, TabConstants.CpuUsageCategory.PROCESSING_PLAYER_MOVEMENT, () -> {
+                    Map<TabPlayer, List<TabPacket>> teleports = new HashMap<>();
                     for (TabPlayer inVehicle : playersInVehicle.keySet()) {
-                        if (!inVehicle.isOnline() || feature.getArmorStandManager(inVehicle) == null) continue; // not removed from WeakHashMap yet
-                        feature.getArmorStandManager(inVehicle).teleport();
+                        BukkitArmorStandManager asm = feature.getArmorStandManager(inVehicle);
+                        if (!inVehicle.isOnline() || asm == null) continue; // not removed from WeakHashMap yet
+                        asm.addMovedTeleports(teleports);
+                    }
+                    //sending all teleports of a viewer together, so they are flushed at once with packet batching
+                    for (Map.Entry<TabPlayer, List<TabPacket>> entry : teleports.entrySet()) {
+                        for (TabPacket packet : entry.getValue()) {
+                            entry.getKey().sendCustomPacket(packet, TabConstants.PacketCategory.UNLIMITED_NAMETAGS_TELEPORT);
+                        }
                     }
                     for (TabPlayer p : TabAPI.getInstance().getOnlinePlayers()) {
                         if (feature.isPreviewingNametag(p)) {
@@ -63,8 +73,7 @@ public class VehicleRefresher extends TabFeature {
         for (TabPlayer p : TabAPI.getInstance().getOnlinePlayers()) {
             Entity vehicle = ((Player)p.getPlayer()).getVehicle();
             if (vehicle != null) {
-                vehicles.put(vehicle.getEntityId(), getPassengers(vehicle));
-                playersInVehicle.put(p, vehicle);
+                addPassenger(p, vehicle);
                 if (feature.isDisableOnBoats() && vehicle.getType().toString().contains("BOAT")) {
                     playersOnBoats.add(p);
                 }
@@ -74,16 +83,14 @@ public class VehicleRefresher extends TabFeature {
 
     @Override
     public void onJoin(TabPlayer connectedPlayer) {
+        //only indexing the vehicle, vehicle enter including boat check is processed on refresh
         Entity vehicle = ((Entity) connectedPlayer.getPlayer()).getVehicle();
-        if (vehicle != null) vehicles.put(vehicle.getEntityId(), getPassengers(vehicle));
+        if (vehicle != null) vehicles.computeIfAbsent(vehicle.getEntityId(), id -> new CopyOnWriteArrayList<>()).addIfAbsent(connectedPlayer);
     }
 
     @Override
     public void onQuit(TabPlayer disconnectedPlayer) {
-        if (playersInVehicle.containsKey(disconnectedPlayer)) vehicles.remove(playersInVehicle.get(disconnectedPlayer).getEntityId());
-        for (List<Entity> entities : vehicles.values()) {
-            entities.remove((Player) disconnectedPlayer.getPlayer());
-        }
+        removePassenger(disconnectedPlayer);
     }
 
     @Override
@@ -92,9 +99,8 @@ public class VehicleRefresher extends TabFeature {
         Entity vehicle = ((Player)p.getPlayer()).getVehicle();
         if (playersInVehicle.containsKey(p) && vehicle == null) {
             //vehicle exit
-            vehicles.remove(playersInVehicle.get(p).getEntityId());
+            removePassenger(p);
             feature.getArmorStandManager(p).teleport();
-            playersInVehicle.remove(p);
             if (feature.isDisableOnBoats() && playersOnBoats.contains(p)) {
                 playersOnBoats.remove(p);
                 feature.updateTeamData(p);
@@ -102,9 +108,8 @@ public class VehicleRefresher extends TabFeature {
         }
         if (!playersInVehicle.containsKey(p) && vehicle != null) {
             //vehicle enter
-            vehicles.put(vehicle.getEntityId(), getPassengers(vehicle));
+            addPassenger(p, vehicle);
             feature.getArmorStandManager(p).respawn(); //making teleport instant instead of showing teleport animation
-            playersInVehicle.put(p, vehicle);
             if (feature.isDisableOnBoats() && vehicle.getType().toString().contains("BOAT")) {
                 playersOnBoats.add(p);
                 feature.updateTeamData(p);
@@ -124,31 +129,44 @@ public class VehicleRefresher extends TabFeature {
     }
 
     /**
-     * Returns vehicle map
+     * Returns players carried by vehicle with specified entity id
      *
-     * @return  vehicle map
+     * @param   vehicleId
+     *          entity id of the vehicle
+     * @return  players carried by the vehicle or {@code null} if it does not carry any player
      */
-    public Map<Integer, List<Entity>> getVehicles() {
-        return vehicles;
+    public List<TabPlayer> getPassengers(int vehicleId) {
+        return vehicles.get(vehicleId);
     }
-    
+
     /**
-     * Returns list of all passengers on specified vehicle
+     * Marks player as carried by specified vehicle
      *
+     * @param   player
+     *          player who entered the vehicle
      * @param   vehicle
-     *          vehicle to check passengers of
-     * @return  list of passengers
+     *          vehicle the player is in
      */
-    @SuppressWarnings("deprecation")
-    public List<Entity> getPassengers(Entity vehicle){
-        if (TabAPI.getInstance().getServerVersion().getMinorVersion() >= 11) {
-            return vehicle.getPassengers();
-        } else {
-            if (vehicle.getPassenger() != null) {
-                return Collections.singletonList(vehicle.getPassenger());
-            } else {
-                return Collections.emptyList();
-            }
-        }
+    private void addPassenger(TabPlayer player, Entity vehicle) {
+        vehicles.computeIfAbsent(vehicle.getEntityId(), id -> new CopyOnWriteArrayList<>()).addIfAbsent(player);
+        playersInVehicle.put(player, vehicle);
+    }
+
+    /**
+     * Removes player from passengers of the vehicle the player was in, if any.
+     * The vehicle is forgotten once it does not carry any player.
+     *
+     * @param   player
+     *          player who left the vehicle
+     */
+    private void removePassenger(TabPlayer player) {
+        Entity vehicle = playersInVehicle.remove(player);
+        //indexed on join, but vehicle enter was not processed yet
+        if (vehicle == null) vehicle = ((Entity) player.getPlayer()).getVehicle();
+        if (vehicle == null) return;
+        List<TabPlayer> passengers = vehicles.get(vehicle.getEntityId());
+        if (passengers == null) return;
+        passengers.remove(player);
+        if (passengers.isEmpty()) vehicles.remove(vehicle.getEntityId());
     }
 }
\ No newline at end of file
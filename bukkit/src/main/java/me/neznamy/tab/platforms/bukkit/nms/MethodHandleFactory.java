@@ -0,0 +1,98 @@
+package me.neznamy.tab.platforms.bukkit.nms;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+/**
+ * Utility class converting reflective members into method handles with all parameter
+ * and return types erased to {@code Object}, so they can be invoked using
+ * {@code invokeExact} without knowing NMS classes at compile time.
+ */
+public final class MethodHandleFactory {
+
+    /** Lookup used to convert reflective members into method handles */
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private MethodHandleFactory() {
+    }
+
+    /**
+     * Converts method into a method handle accepting and returning {@code Object}
+     * for all parameters and return type. Instance methods take the instance as
+     * the first parameter. Returns {@code null} if method is {@code null} or handle
+     * could not be created.
+     *
+     * @param   method
+     *          Method to convert
+     * @return  Method handle of given method or {@code null} if not available
+     */
+    public static MethodHandle unreflect(Method method) {
+        if (method == null) return null;
+        try {
+            return generic(LOOKUP.unreflect(method));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Converts constructor into a method handle accepting {@code Object} for all parameters
+     * and returning created instance as {@code Object}. Returns {@code null} if constructor
+     * is {@code null} or handle could not be created.
+     *
+     * @param   constructor
+     *          Constructor to convert
+     * @return  Method handle of given constructor or {@code null} if not available
+     */
+    public static MethodHandle unreflect(Constructor<?> constructor) {
+        if (constructor == null) return null;
+        try {
+            return generic(LOOKUP.unreflectConstructor(constructor));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Converts field into a method handle of type {@code (Object)Object} reading its value.
+     * Returns {@code null} if field is {@code null} or handle could not be created.
+     *
+     * @param   field
+     *          Field to create getter of
+     * @return  Getter of given field or {@code null} if not available
+     */
+    public static MethodHandle getter(Field field) {
+        if (field == null) return null;
+        try {
+            return generic(LOOKUP.unreflectGetter(field));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Converts field into a method handle of type {@code (Object,Object)Object} setting its value.
+     * Returns {@code null} if field is {@code null} or handle could not be created, which
+     * is the case of final fields on some java versions.
+     *
+     * @param   field
+     *          Field to create setter of
+     * @return  Setter of given field or {@code null} if not available
+     */
+    public static MethodHandle setter(Field field) {
+        if (field == null) return null;
+        try {
+            return generic(LOOKUP.unreflectSetter(field));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static MethodHandle generic(MethodHandle handle) {
+        return handle.asType(MethodType.genericMethodType(handle.type().parameterCount()));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,486 @@
+package me.neznamy.tab.platforms.bukkit.nms;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Collection;
+
+/**
+ * Accessors of NMS members used on every sent packet. Members loaded by {@link NMSStorage}
+ * are converted by {@link MethodHandleFactory} into method handles kept in {@code static final}
+ * fields, which allows the JIT to inline them like direct calls. If a handle cannot be created
+ * for a member, the accessor falls back to plain reflection using the member from {@link NMSStorage}.
+ * <p>
+ * This class is initialized on first use, which must happen after
+ * {@link NMSStorage#setInstance(NMSStorage)} was called.
+ */
+public final class NMSAccessors {
+
+    /** PlayerConnection#sendPacket */
+    private static final MethodHandle sendPacket = MethodHandleFactory.unreflect(nms().sendPacket);
+
+    /** Entity id fields of entity packets read by unlimited nametag packet listener */
+    private static final MethodHandle PacketPlayOutEntity_ENTITYID = MethodHandleFactory.getter(nms().PacketPlayOutEntity_ENTITYID);
+    private static final MethodHandle PacketPlayOutNamedEntitySpawn_ENTITYID = MethodHandleFactory.getter(nms().PacketPlayOutNamedEntitySpawn_ENTITYID);
+    private static final MethodHandle PacketPlayOutEntityTeleport_ENTITYID_GET = MethodHandleFactory.getter(nms().PacketPlayOutEntityTeleport_ENTITYID);
+
+    /** PacketPlayOutEntityTeleport */
+    private static final MethodHandle newPacketPlayOutEntityTeleport = MethodHandleFactory.unreflect(nms().newPacketPlayOutEntityTeleport);
+    private static final MethodHandle PacketPlayOutEntityTeleport_ENTITYID = MethodHandleFactory.setter(nms().PacketPlayOutEntityTeleport_ENTITYID);
+    private static final MethodHandle PacketPlayOutEntityTeleport_X = MethodHandleFactory.setter(nms().PacketPlayOutEntityTeleport_X);
+    private static final MethodHandle PacketPlayOutEntityTeleport_Y = MethodHandleFactory.setter(nms().PacketPlayOutEntityTeleport_Y);
+    private static final MethodHandle PacketPlayOutEntityTeleport_Z = MethodHandleFactory.setter(nms().PacketPlayOutEntityTeleport_Z);
+    private static final MethodHandle PacketPlayOutEntityTeleport_YAW = MethodHandleFactory.setter(nms().PacketPlayOutEntityTeleport_YAW);
+    private static final MethodHandle PacketPlayOutEntityTeleport_PITCH = MethodHandleFactory.setter(nms().PacketPlayOutEntityTeleport_PITCH);
+
+    /** PacketPlayOutEntityMetadata */
+    private static final MethodHandle newPacketPlayOutEntityMetadata = MethodHandleFactory.unreflect(nms().newPacketPlayOutEntityMetadata);
+    private static final MethodHandle DataWatcher_b = MethodHandleFactory.unreflect(nms().DataWatcher_b);
+
+    /** ScoreboardTeam and PacketPlayOutScoreboardTeam */
+    private static final MethodHandle newScoreboardTeam = MethodHandleFactory.unreflect(nms().newScoreboardTeam);
+    private static final MethodHandle newPacketPlayOutScoreboardTeam = MethodHandleFactory.unreflect(nms().newPacketPlayOutScoreboardTeam);
+    private static final MethodHandle ScoreboardTeam_getPlayerNameSet = MethodHandleFactory.unreflect(nms().ScoreboardTeam_getPlayerNameSet);
+    private static final MethodHandle ScoreboardTeam_setNameTagVisibility = MethodHandleFactory.unreflect(nms().ScoreboardTeam_setNameTagVisibility);
+    private static final MethodHandle ScoreboardTeam_setCollisionRule = MethodHandleFactory.unreflect(nms().ScoreboardTeam_setCollisionRule);
+    private static final MethodHandle ScoreboardTeam_setPrefix = MethodHandleFactory.unreflect(nms().ScoreboardTeam_setPrefix);
+    private static final MethodHandle ScoreboardTeam_setSuffix = MethodHandleFactory.unreflect(nms().ScoreboardTeam_setSuffix);
+    private static final MethodHandle ScoreboardTeam_setColor = MethodHandleFactory.unreflect(nms().ScoreboardTeam_setColor);
+    private static final MethodHandle ScoreboardTeam_setAllowFriendlyFire = MethodHandleFactory.unreflect(nms().ScoreboardTeam_setAllowFriendlyFire);
+    private static final MethodHandle ScoreboardTeam_setCanSeeFriendlyInvisibles = MethodHandleFactory.unreflect(nms().ScoreboardTeam_setCanSeeFriendlyInvisibles);
+    private static final MethodHandle PacketPlayOutScoreboardTeam_of = MethodHandleFactory.unreflect(nms().PacketPlayOutScoreboardTeam_of);
+    private static final MethodHandle PacketPlayOutScoreboardTeam_ofBoolean = MethodHandleFactory.unreflect(nms().PacketPlayOutScoreboardTeam_ofBoolean);
+    private static final MethodHandle PacketPlayOutScoreboardTeam_ofString = MethodHandleFactory.unreflect(nms().PacketPlayOutScoreboardTeam_ofString);
+
+    private NMSAccessors() {
+    }
+
+    private static NMSStorage nms() {
+        return NMSStorage.getInstance();
+    }
+
+    /**
+     * Converts exception thrown by method handle into exception thrown by reflection
+     * to keep the same error handling for both ways of access.
+     *
+     * @param   t
+     *          Thrown exception
+     * @return  Exception to throw
+     */
+    private static ReflectiveOperationException propagate(Throwable t) {
+        if (t instanceof Error) throw (Error) t;
+        if (t instanceof ReflectiveOperationException) return (ReflectiveOperationException) t;
+        return new InvocationTargetException(t);
+    }
+
+    private static int getInt(MethodHandle handle, Field field, Object target) throws ReflectiveOperationException {
+        if (handle == null) return field.getInt(target);
+        try {
+            return (int) (Object) handle.invokeExact(target);
+        } catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    private static void set(MethodHandle handle, Field field, Object target, Object value) throws ReflectiveOperationException {
+        if (handle == null) {
+            field.set(target, value);
+            return;
+        }
+        try {
+            Object ignored = handle.invokeExact(target, value);
+        } catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    private static Object invoke(MethodHandle handle, Method method, Object target) throws ReflectiveOperationException {
+        if (handle == null) return method.invoke(target);
+        try {
+            return handle.invokeExact(target);
+        } catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    private static Object invoke(MethodHandle handle, Method method, Object target, Object arg) throws ReflectiveOperationException {
+        if (handle == null) return method.invoke(target, arg);
+        try {
+            return handle.invokeExact(target, arg);
+        } catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    private static Object invokeStatic(MethodHandle handle, Method method, Object... args) throws ReflectiveOperationException {
+        if (handle == null) return method.invoke(null, args);
+        try {
+            switch (args.length) {
+            case 1:
+                return handle.invokeExact(args[0]);
+            case 2:
+                return handle.invokeExact(args[0], args[1]);
+            case 3:
+                return handle.invokeExact(args[0], args[1], args[2]);
+            default:
+                return handle.invokeWithArguments(args);
+            }
+        } catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    private static Object newInstance(MethodHandle handle, Constructor<?> constructor, Object... args) throws ReflectiveOperationException {
+        if (handle == null) return constructor.newInstance(args);
+        try {
+            switch (args.length) {
+            case 0:
+                return handle.invokeExact();
+            case 1:
+                return handle.invokeExact(args[0]);
+            case 2:
+                return handle.invokeExact(args[0], args[1]);
+            case 3:
+                return handle.invokeExact(args[0], args[1], args[2]);
+            default:
+                return handle.invokeWithArguments(args);
+            }
+        } catch (Throwable t) {
+            throw propagate(t);
+        }
+    }
+
+    /**
+     * Sends NMS packet into player connection
+     *
+     * @param   playerConnection
+     *          Player connection to send packet to
+     * @param   packet
+     *          NMS packet to send
+     * @throws  ReflectiveOperationException
+     *          if thrown by reflective operation
+     */
+    public static void sendPacket(Object playerConnection, Object packet) throws ReflectiveOperationException {
+        invoke(sendPacket, nms().sendPacket, playerConnection, packet);
+    }
+
+    /**
+     * Returns entity id of PacketPlayOutEntity
+     *
+     * @param   packetPlayOutEntity
+     *          Entity move packet
+     * @return  Entity id of the packet
+     * @throws  ReflectiveOperationException
+     *          if thrown by reflective operation
+     */
+    public static int getEntityId(Object packetPlayOutEntity) throws ReflectiveOperationException {
+        return getInt(PacketPlayOutEntity_ENTITYID, nms().PacketPlayOutEntity_ENTITYID, packetPlayOutEntity);
+    }
+
+    /**
+     * Returns entity id of PacketPlayOutNamedEntitySpawn
+     *
+     * @param   packetPlayOutNamedEntitySpawn
+     *          Player spawn packet
+     * @return  Entity id of the packet
+     * @throws  ReflectiveOperationException
+     *          if thrown by reflective operation
+     */
+    public static int getNamedEntitySpawnId(Object packetPlayOutNamedEntitySpawn) throws ReflectiveOperationException {
+        return getInt(PacketPlayOutNamedEntitySpawn_ENTITYID, nms().PacketPlayOutNamedEntitySpawn_ENTITYID, packetPlayOutNamedEntitySpawn);
+    }
+
+    /**
+     * Returns entity id of PacketPlayOutEntityTeleport
+     *
+     * @param   packetPlayOutEntityTeleport
+     *          Entity teleport packet
+     * @return  Entity id of the packet
+     * @throws  ReflectiveOperationException
+     *          if thrown by reflective operation
+     */
+    public static int getTeleportEntityId(Object packetPlayOutEntityTeleport) throws ReflectiveOperationException {
+        return getInt(PacketPlayOutEntityTeleport_ENTITYID_GET, nms().PacketPlayOutEntityTeleport_ENTITYID, packetPlayOutEntityTeleport);
+    }
+
+    /**
+     * Creates new instance of entity teleport packet
+     *
+     * @param   args
+     *          Constructor arguments, dummy entity on 1.17+, none below
+     * @return  New teleport packet with default values
+     * @throws  ReflectiveOperationException
+     *          if thrown by reflective operation
+     */
+    public static Object newEntityTeleport(Object... args) throws ReflectiveOperationException {
+        return newInstance(newPacketPlayOutEntityTeleport, nms().newPacketPlayOutEntityTeleport, args);
+    }
+
+    /**
+     * Sets entity id of entity teleport packet
+     *
+     * @param   packet
+     *          Packet to set entity id of
+     * @param   entityId
+     *          Entity id to set
+     * @throws  ReflectiveOperationException
+     *          if thrown by reflective operation
+     */
+    public static void setTeleportEntityId(Object packet, int entityId) throws ReflectiveOperationException {
+        set(PacketPlayOutEntityTeleport_ENTITYID, nms().PacketPlayOutEntityTeleport_ENTITYID, packet, entityId);
+    }
+
+    /**
+     * Sets position of entity teleport packet. Values must be {@code double} on 1.9+
+     * and {@code int} fixed-point values below.
+     *
+     * @param   packet
+     *          Packet to set position of
+     * @param   x
+     *          X position
+     * @param   y
+     *          Y position
+     * @param   z
+     *          Z position
+     * @throws  ReflectiveOperationException
+     *          if thrown by reflective operation
+     */
+    public static void setTeleportPosition(Object packet, Object x, Object y, Object z) throws ReflectiveOperationException {
+        set(PacketPlayOutEntityTeleport_X, nms().PacketPlayOutEntityTeleport_X, packet, x);
+        set(PacketPlayOutEntityTeleport_Y, nms().PacketPlayOutEntityTeleport_Y, packet, y);
+        set(PacketPlayOutEntityTeleport_Z, nms().PacketPlayOutEntityTeleport_Z, packet, z);
+    }
+
+    /**
+     * Sets rotation of entity teleport packet
+     *
+     * @param   packet
+     *          Packet to set rotation of
+     * @param   yaw
+     *          Yaw converted to 1/256 of a full turn
+     * @param   pitch
+     *          Pitch converted to 1/256 of a full turn
+     * @throws  ReflectiveOperationException
+     *          if thrown by reflective operation
+     */
+    public static void setTeleportRotation(Object packet, byte yaw, byte pitch) throws ReflectiveOperationException {
+        set(PacketPlayOutEntityTeleport_YAW, nms().PacketPlayOutEntityTeleport_YAW, packet, yaw);
+        set(PacketPlayOutEntityTeleport_PITCH, nms().PacketPlayOutEntityTeleport_PITCH, packet, pitch);
+    }
+
+    /**
+     * Creates new instance of entity metadata packet
+     *
+     * @param   args
+     *          Constructor arguments, entity id and packed items on 1.19.3+,
+     *          entity id, data watcher and {@code true} below
+     * @return  New metadata packet
+     * @throws  ReflectiveOperationException
+     *          if thrown by reflective operation
+     */
+    public static Object newEntityMetadata(Object... args) throws ReflectiveOperationException {
+        return newInstance(newPacketPlayOutEntityMetadata, nms().newPacketPlayOutEntityMetadata, args);
+    }
+
+    /**
+     * Packs all items of NMS data watcher into a list used by 1.19.3+ metadata packet
+     *
+     * @param   dataWatcher
+     *          NMS data watcher
+     * @return  Packed data watcher items
+     * @throws  ReflectiveOperationException
+     *          if thrown by reflective operation
+     */
+    public static Object packDataWatcher(Object dataWatcher) throws ReflectiveOperationException {
+        return invoke(DataWatcher_b, nms().DataWatcher_b, dataWatcher);
+    }
+
+    /**
+     * Creates new NMS scoreboard team
+     *
+     * @param   scoreboard
+     *          Scoreboard of the team
+     * @param   name
+     *          Team name
+     * @return  New NMS scoreboard team
+     * @throws  ReflectiveOperationException
+     *          if thrown by reflective operation
+     */
+    public static Object newScoreboardTeam(Object scoreboard, String name) throws ReflectiveOperationException {
+        return newInstance(newScoreboardTeam, nms().newScoreboardTeam, scoreboard, name);
+    }
+
+    /**
+     * Creates new team packet using constructor available below 1.17
+     *
+     * @param   team
+     *          NMS scoreboard team
+     * @param   action
+     *          Packet action
+     * @return  New NMS team packet
+     * @throws  ReflectiveOperationException
+     *          if thrown by reflective operation
+     */
+    public static Object newScoreboardTeamPacket(Object team, int action) throws ReflectiveOperationException {
+        return newInstance(newPacketPlayOutScoreboardTeam, nms().newPacketPlayOutScoreboardTeam, team, action);
+    }
+
+    /**
+     * Returns modifiable collection of players in NMS scoreboard team
+     *
+     * @param   team
+     *          NMS scoreboard team
+     * @return  Players in the team
+     * @throws  ReflectiveOperationException
+     *          if thrown by reflective operation
+     */
+    @SuppressWarnings("unchecked")
+    public static Collection<String> getTeamPlayers(Object team) throws ReflectiveOperationException {
+        return (Collection<String>) invoke(ScoreboardTeam_getPlayerNameSet, nms().ScoreboardTeam_getPlayerNameSet, team);
+    }
+
+    /**
+     * Sets nametag visibility of NMS scoreboard team
+     *
+     * @param   team
+     *          NMS scoreboard team
+     * @param   visibility
+     *          NMS nametag visibility enum constant
+     * @throws  ReflectiveOperationException
+     *          if thrown by reflective operation
+     */
+    public static void setTeamNameTagVisibility(Object team, Object visibility) throws ReflectiveOperationException {
+        invoke(ScoreboardTeam_setNameTagVisibility, nms().ScoreboardTeam_setNameTagVisibility, team, visibility);
+    }
+
+    /**
+     * Sets collision rule of NMS scoreboard team
+     *
+     * @param   team
+     *          NMS scoreboard team
+     * @param   collisionRule
+     *          NMS collision rule enum constant
+     * @throws  ReflectiveOperationException
+     *          if thrown by reflective operation
+     */
+    public static void setTeamCollisionRule(Object team, Object collisionRule) throws ReflectiveOperationException {
+        invoke(ScoreboardTeam_setCollisionRule, nms().ScoreboardTeam_setCollisionRule, team, collisionRule);
+    }
+
+    /**
+     * Sets prefix of NMS scoreboard team
+     *
+     * @param   team
+     *          NMS scoreboard team
+     * @param   prefix
+     *          Prefix as String below 1.13, NMS component on 1.13+
+     * @throws  ReflectiveOperationException
+     *          if thrown by reflective operation
+     */
+    public static void setTeamPrefix(Object team, Object prefix) throws ReflectiveOperationException {
+        invoke(ScoreboardTeam_setPrefix, nms().ScoreboardTeam_setPrefix, team, prefix);
+    }
+
+    /**
+     * Sets suffix of NMS scoreboard team
+     *
+     * @param   team
+     *          NMS scoreboard team
+     * @param   suffix
+     *          Suffix as String below 1.13, NMS component on 1.13+
+     * @throws  ReflectiveOperationException
+     *          if thrown by reflective operation
+     */
+    public static void setTeamSuffix(Object team, Object suffix) throws ReflectiveOperationException {
+        invoke(ScoreboardTeam_setSuffix, nms().ScoreboardTeam_setSuffix, team, suffix);
+    }
+
+    /**
+     * Sets color of NMS scoreboard team
+     *
+     * @param   team
+     *          NMS scoreboard team
+     * @param   color
+     *          NMS chat format enum constant
+     * @throws  ReflectiveOperationException
+     *          if thrown by reflective operation
+     */
+    public static void setTeamColor(Object team, Object color) throws ReflectiveOperationException {
+        invoke(ScoreboardTeam_setColor, nms().ScoreboardTeam_setColor, team, color);
+    }
+
+    /**
+     * Sets friendly fire flag of NMS scoreboard team
+     *
+     * @param   team
+     *          NMS scoreboard team
+     * @param   allowFriendlyFire
+     *          Whether friendly fire should be allowed or not
+     * @throws  ReflectiveOperationException
+     *          if thrown by reflective operation
+     */
+    public static void setTeamAllowFriendlyFire(Object team, boolean allowFriendlyFire) throws ReflectiveOperationException {
+        invoke(ScoreboardTeam_setAllowFriendlyFire, nms().ScoreboardTeam_setAllowFriendlyFire, team, allowFriendlyFire);
+    }
+
+    /**
+     * Sets friendly invisibles flag of NMS scoreboard team
+     *
+     * @param   team
+     *          NMS scoreboard team
+     * @param   canSee
+     *          Whether team members should see invisible teammates or not
+     * @throws  ReflectiveOperationException
+     *          if thrown by reflective operation
+     */
+    public static void setTeamCanSeeFriendlyInvisibles(Object team, boolean canSee) throws ReflectiveOperationException {
+        invoke(ScoreboardTeam_setCanSeeFriendlyInvisibles, nms().ScoreboardTeam_setCanSeeFriendlyInvisibles, team, canSee);
+    }
+
+    /**
+     * Creates 1.17+ team packet updating team properties
+     *
+     * @param   team
+     *          NMS scoreboard team
+     * @return  New NMS team packet
+     * @throws  ReflectiveOperationException
+     *          if thrown by reflective operation
+     */
+    public static Object teamPacketOf(Object team) throws ReflectiveOperationException {
+        return invokeStatic(PacketPlayOutScoreboardTeam_of, nms().PacketPlayOutScoreboardTeam_of, team);
+    }
+
+    /**
+     * Creates 1.17+ team packet registering or updating team
+     *
+     * @param   team
+     *          NMS scoreboard team
+     * @param   createTeam
+     *          {@code true} to register the team, {@code false} to update it
+     * @return  New NMS team packet
+     * @throws  ReflectiveOperationException
+     *          if thrown by reflective operation
+     */
+    public static Object teamPacketOf(Object team, boolean createTeam) throws ReflectiveOperationException {
+        return invokeStatic(PacketPlayOutScoreboardTeam_ofBoolean, nms().PacketPlayOutScoreboardTeam_ofBoolean, team, createTeam);
+    }
+
+    /**
+     * Creates 1.17+ team packet adding or removing a player
+     *
+     * @param   team
+     *          NMS scoreboard team
+     * @param   player
+     *          Player to add or remove
+     * @param   action
+     *          NMS player action enum constant
+     * @return  New NMS team packet
+     * @throws  ReflectiveOperationException
+     *          if thrown by reflective operation
+     */
+    public static Object teamPacketOf(Object team, String player, Object action) throws ReflectiveOperationException {
+        return invokeStatic(PacketPlayOutScoreboardTeam_ofString, nms().PacketPlayOutScoreboardTeam_ofString, team, player, action);
+    }
+}
\ No newline at end of file
@@ -30,6 +30,42 @@ import java.util.function.Supplier;
 @SuppressWarnings("unchecked")
 public class BungeePipelineInjector extends PipelineInjector {
 
+    /** Types of packets handled differently by the channel handler */
+    private static final int OTHER_PACKET = 0;
+    private static final int PLAYER_INFO = 1;
+    private static final int TEAM = 2;
+    private static final int DISPLAY_OBJECTIVE = 3;
+    private static final int OBJECTIVE = 4;
+    private static final int LOGIN = 5;
+
+    /**
+     * Type of packet by its class, computed once for each class. Packets are matched by
+     * class name to support both bungee packets and spoofed ones with classes missing
+     * on some bungee versions.
+     */
+    private final ClassValue<Integer> packetTypes = new ClassValue<Integer>() {
+
+        @Override
+        protected Integer computeValue(Class<?> type) {
+            switch (type.getSimpleName()) {
+            case "PlayerListItem":
+            case "PlayerListItemUpdate":
+            case "PlayerListItemRemove":
+                return PLAYER_INFO;
+            case "Team":
+                return TEAM;
+            case "ScoreboardDisplay":
+                return DISPLAY_OBJECTIVE;
+            case "ScoreboardObjective":
+                return OBJECTIVE;
+            case "Login":
+                return LOGIN;
+            default:
+                return OTHER_PACKET;
+            }
+        }
+    };
+
     /** Packets used by the plugin that must be deserialized and BungeeCord does not do it automatically */
     private final Class<? extends DefinedPacket>[] extraPacketClasses = new Class[]{Team.class, ScoreboardDisplay.class, ScoreboardObjective.class};
     private final Supplier<DefinedPacket>[] extraPacketSuppliers = new Supplier[]{Team::new, ScoreboardDisplay::new, ScoreboardObjective::new};
@@ -67,26 +103,24 @@ public class BungeePipelineInjector extends PipelineInjector {
         @Override
         public void write(ChannelHandlerContext context, Object packet, ChannelPromise channelPromise) {
             try {
-                switch(packet.getClass().getSimpleName()) {
-                case "PlayerListItem":
-                case "PlayerListItemUpdate":
-                case "PlayerListItemRemove":
+                switch (packetTypes.get(packet.getClass())) {
+                case PLAYER_INFO:
                     super.write(context, TAB.getInstance().getFeatureManager().onPacketPlayOutPlayerInfo(player, packet), channelPromise);
                     return;
-                case "Team":
+                case TEAM:
                     if (antiOverrideTeams) {
                         long time = System.nanoTime();
                         modifyPlayers((Team) packet);
                         TAB.getInstance().getCPUManager().addTime("NameTags", TabConstants.CpuUsageCategory.ANTI_OVERRIDE, System.nanoTime()-time);
                     }
                     break;
-                case "ScoreboardDisplay":
+                case DISPLAY_OBJECTIVE:
                     TAB.getInstance().getFeatureManager().onDisplayObjective(player, packet);
                     break;
-                case "ScoreboardObjective":
+                case OBJECTIVE:
                     TAB.getInstance().getFeatureManager().onObjective(player, packet);
                     break;
-                case "Login":
+                case LOGIN:
                     //making sure to not send own packets before login packet is actually sent
                     super.write(context, packet, channelPromise);
                     TAB.getInstance().getFeatureManager().onLoginPacket(player);
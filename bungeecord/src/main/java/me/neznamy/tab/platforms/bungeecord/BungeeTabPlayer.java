@@ -1,11 +1,13 @@
 package me.neznamy.tab.platforms.bungeecord;
 
 import de.myzelyam.api.vanish.BungeeVanishAPI;
+import io.netty.buffer.ByteBuf;
 import me.neznamy.tab.api.ProtocolVersion;
 import me.neznamy.tab.api.TabConstants;
 import me.neznamy.tab.api.protocol.Skin;
 import me.neznamy.tab.api.util.Preconditions;
 import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.features.PipelineInjector;
 import me.neznamy.tab.shared.proxy.ProxyTabPlayer;
 import net.md_5.bungee.UserConnection;
 import net.md_5.bungee.api.ProxyServer;
@@ -16,9 +18,14 @@ import net.md_5.bungee.netty.ChannelWrapper;
 import net.md_5.bungee.protocol.DefinedPacket;
 import net.md_5.bungee.protocol.Property;
 import net.md_5.bungee.protocol.Protocol;
+import net.md_5.bungee.protocol.ProtocolConstants;
+import net.md_5.bungee.protocol.packet.BossBar;
+import net.md_5.bungee.protocol.packet.PlayerListHeaderFooter;
+import net.md_5.bungee.protocol.packet.Team;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -77,10 +84,73 @@ public class BungeeTabPlayer extends ProxyTabPlayer {
     @Override
     public void sendPacket(Object nmsPacket) {
         long time = System.nanoTime();
-        if (nmsPacket != null && getPlayer().isConnected()) getPlayer().unsafe().sendPacket((DefinedPacket) nmsPacket);
+        if (nmsPacket != null && getPlayer().isConnected()) {
+            ByteBuf encoded = encode(nmsPacket);
+            if (encoded != null) {
+                channel.writeAndFlush(encoded, channel.voidPromise());
+            } else {
+                getPlayer().unsafe().sendPacket((DefinedPacket) nmsPacket);
+            }
+        }
         TAB.getInstance().getCPUManager().addMethodTime("sendPacket", System.nanoTime()-time);
     }
 
+    @Override
+    protected void sendPackets(List<Object> packets) {
+        if (channel == null || !getPlayer().isConnected()) return;
+        long time = System.nanoTime();
+        for (Object packet : packets) {
+            ByteBuf encoded = encode(packet);
+            channel.write(encoded != null ? encoded : packet);
+        }
+        channel.flush();
+        TAB.getInstance().getCPUManager().addMethodTime("sendPacket", System.nanoTime()-time);
+    }
+
+    /**
+     * Returns packet encoded into a buffer shared with other players receiving the same
+     * packet if pre-encoded packets are enabled and packet is sent to many players,
+     * {@code null} if packet should be sent normally.
+     *
+     * @param   packet
+     *          packet to encode
+     * @return  encoded packet or {@code null} if packet should be sent normally
+     */
+    private ByteBuf encode(Object packet) {
+        if (channel == null || !TAB.getInstance().getConfiguration().isPreEncodedPackets()) return null;
+        if (!(packet instanceof Team || packet instanceof PlayerListHeaderFooter || packet instanceof BossBar)) return null;
+        //deserializing channel handler would decode team buffers back into packets
+        if (packet instanceof Team && isTeamDeserialized()) return null;
+        int version = getPlayer().getPendingConnection().getVersion();
+        //packets are shared by version known to TAB, unknown versions may not share the same format
+        if (getVersion().getNetworkId() != version) return null;
+        return TAB.getInstance().getCPUManager().getEncodedPacket(packet, p -> {
+            DefinedPacket definedPacket = (DefinedPacket) p;
+            int packetId = getPacketId(definedPacket.getClass());
+            if (packetId == -1) return null;
+            ByteBuf buf = channel.alloc().buffer();
+            try {
+                DefinedPacket.writeVarInt(packetId, buf);
+                definedPacket.write(buf, ProtocolConstants.Direction.TO_CLIENT, version);
+                return buf;
+            } catch (RuntimeException e) {
+                buf.release();
+                throw e;
+            }
+        });
+    }
+
+    /**
+     * Returns {@code true} if pipeline injection deserializes raw team packet buffers
+     * written into player channels, {@code false} if not
+     *
+     * @return  {@code true} if team buffers are deserialized, {@code false} if not
+     */
+    private boolean isTeamDeserialized() {
+        PipelineInjector injector = (PipelineInjector) TAB.getInstance().getFeatureManager().getFeature(TabConstants.Feature.PIPELINE_INJECTION);
+        return injector != null && injector.isByteBufDeserialization();
+    }
+
     @Override
     public Skin getSkin() {
         LoginResult loginResult = ((InitialHandler)getPlayer().getPendingConnection()).getLoginProfile();
@@ -39,3 +39,4 @@ include(":velocity")
 //include(":bukkit")
 //include(":bungeecord")
 include(":jar")
+include(":benchmarks")
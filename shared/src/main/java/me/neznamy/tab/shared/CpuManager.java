@@ -5,10 +5,16 @@ import java.util.Map.Entry;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
 
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
+import io.netty.buffer.ByteBuf;
+
+import me.neznamy.tab.api.ProtocolVersion;
 import me.neznamy.tab.api.TabFeature;
+import me.neznamy.tab.api.protocol.TabPacket;
 import me.neznamy.tab.api.task.ThreadManager;
 
 /**
@@ -28,6 +34,9 @@ public class CpuManager implements ThreadManager {
     /** Active time in current time period saved as nanoseconds from chosen methods */
     private Map<String, AtomicLong> methodUsageCurrent = new ConcurrentHashMap<>();
 
+    /** Active time in current time period saved as nanoseconds from placeholder refresh buckets */
+    private Map<String, AtomicLong> placeholderBucketUsageCurrent = new ConcurrentHashMap<>();
+
     /** Amount of sent packets in current time period */
     private Map<String, AtomicInteger> packetsCurrent = new ConcurrentHashMap<>();
 
@@ -40,6 +49,9 @@ public class CpuManager implements ThreadManager {
     /** Active time in previous time period saved as nanoseconds from chosen methods */
     private Map<String, AtomicLong> methodUsagePrevious = new HashMap<>();
 
+    /** Active time in previous time period saved as nanoseconds from placeholder refresh buckets */
+    private Map<String, AtomicLong> placeholderBucketUsagePrevious = new HashMap<>();
+
     /** Amount of sent packets in previous time period */
     private Map<String, AtomicInteger> packetsPrevious = new ConcurrentHashMap<>();
 
@@ -56,6 +68,36 @@ public class CpuManager implements ThreadManager {
     /** Enabled flag used to queue incoming tasks if plugin is not enabled yet */
     private boolean enabled = false;
 
+    /** Thread currently running a task with packet batching enabled, null if none */
+    private volatile Thread batchingThread;
+
+    /** Players with packets queued during currently running task */
+    private final List<ITabPlayer> packetQueues = new ArrayList<>();
+
+    /** Maximum amount of packets remembered in {@link #builtPackets} before it is cleared */
+    private final int MAX_BUILT_PACKETS = 1024;
+
+    /** Thread currently running a task, null if none */
+    private volatile Thread taskThread;
+
+    /** Platform packets built during currently running task by TAB packet instance */
+    private final Map<TabPacket, BuiltPacket> builtPackets = new IdentityHashMap<>();
+
+    /** Platform packets encoded during currently running task by platform packet instance */
+    private final Map<Object, ByteBuf> encodedPackets = new IdentityHashMap<>();
+
+    /** Amount of packets encoded into shared buffers in current time period */
+    private final LongAdder encodedPacketCountCurrent = new LongAdder();
+
+    /** Amount of shared buffers written into player channels in current time period */
+    private final LongAdder encodedPacketWritesCurrent = new LongAdder();
+
+    /** Amount of packets encoded into shared buffers in previous time period */
+    private long encodedPacketCountPrevious;
+
+    /** Amount of shared buffers written into player channels in previous time period */
+    private long encodedPacketWritesPrevious;
+
     /**
      * Constructs new instance and starts repeating task that resets values in configured interval
      */
@@ -64,11 +106,15 @@ public class CpuManager implements ThreadManager {
             featureUsagePrevious = featureUsageCurrent;
             placeholderUsagePrevious = placeholderUsageCurrent;
             methodUsagePrevious = methodUsageCurrent;
+            placeholderBucketUsagePrevious = placeholderBucketUsageCurrent;
             packetsPrevious = packetsCurrent;
+            encodedPacketCountPrevious = encodedPacketCountCurrent.sumThenReset();
+            encodedPacketWritesPrevious = encodedPacketWritesCurrent.sumThenReset();
 
             featureUsageCurrent = new ConcurrentHashMap<>();
             placeholderUsageCurrent = new ConcurrentHashMap<>();
             methodUsageCurrent = new ConcurrentHashMap<>();
+            placeholderBucketUsageCurrent = new ConcurrentHashMap<>();
             packetsCurrent = new ConcurrentHashMap<>();
         });
     }
@@ -108,14 +154,129 @@ public class CpuManager implements ThreadManager {
             return null;
         }
         return (Future<Void>) thread.submit(() -> {
+            boolean batchPackets = TAB.getInstance().getConfiguration() != null && TAB.getInstance().getConfiguration().isPacketBatching();
+            taskThread = Thread.currentThread();
+            if (batchPackets) batchingThread = taskThread;
             try {
                 task.run();
             } catch (Exception | LinkageError | StackOverflowError e) {
                 TAB.getInstance().getErrorManager().printError("An error was thrown when executing task", e);
+            } finally {
+                if (batchPackets) flushPacketQueues();
+                taskThread = null;
+                builtPackets.clear();
+                encodedPackets.values().forEach(ByteBuf::release);
+                encodedPackets.clear();
             }
         });
     }
 
+    /**
+     * Sends all packets queued during the task and stops batching packets
+     */
+    private void flushPacketQueues() {
+        batchingThread = null;
+        for (ITabPlayer player : packetQueues) {
+            try {
+                player.flushPacketQueue();
+            } catch (Exception e) {
+                TAB.getInstance().getErrorManager().printError("Failed to send queued packets to " + player.getName(), e);
+            }
+        }
+        packetQueues.clear();
+    }
+
+    /**
+     * Returns {@code true} if packets sent from current thread should be queued
+     * and sent at the end of the task, {@code false} if they should be sent immediately.
+     *
+     * @return  {@code true} if packets should be queued, {@code false} if not
+     */
+    public boolean isBatchingPackets() {
+        return batchingThread == Thread.currentThread();
+    }
+
+    /**
+     * Registers player who started queueing packets in current task, so they
+     * are sent when the task finishes
+     *
+     * @param   player
+     *          player who queued packets
+     */
+    public void addPacketQueue(ITabPlayer player) {
+        packetQueues.add(player);
+    }
+
+    /**
+     * Builds platform packet from given TAB packet for given client version. When called
+     * from a running task, built packets are remembered until the task finishes, so a packet
+     * instance sent to many players is only built once for each client version and the same
+     * platform packet is sent to all of them. Packets must not be modified after being sent.
+     *
+     * @param   packet
+     *          packet to build
+     * @param   clientVersion
+     *          version of client receiving the packet
+     * @return  built platform packet
+     * @throws  ReflectiveOperationException
+     *          if reflective operation fails
+     */
+    public Object buildPacket(TabPacket packet, ProtocolVersion clientVersion) throws ReflectiveOperationException {
+        if (taskThread != Thread.currentThread()) return TAB.getInstance().getPlatform().getPacketBuilder().build(packet, clientVersion);
+        BuiltPacket first = builtPackets.get(packet);
+        for (BuiltPacket built = first; built != null; built = built.next) {
+            if (built.clientVersion == clientVersion) return built.packet;
+        }
+        Object result = TAB.getInstance().getPlatform().getPacketBuilder().build(packet, clientVersion);
+        if (first == null && builtPackets.size() >= MAX_BUILT_PACKETS) builtPackets.clear();
+        builtPackets.put(packet, new BuiltPacket(clientVersion, result, first));
+        return result;
+    }
+
+    /**
+     * Returns buffer containing given platform packet encoded by given function, which can be
+     * written directly into player's channel. When called from a running task, the packet is
+     * only encoded once and every call returns a retained duplicate of the same buffer. Buffers
+     * are released when the task finishes. Returns {@code null} if called outside of a task
+     * or if encoder returned {@code null}, in which case the packet should be sent normally.
+     *
+     * @param   packet
+     *          platform packet built for a single client version
+     * @param   encoder
+     *          function encoding the packet including its id, returning {@code null} if it cannot be encoded
+     * @return  encoded packet or {@code null} if packet was not encoded
+     */
+    public ByteBuf getEncodedPacket(Object packet, Function<Object, ByteBuf> encoder) {
+        if (taskThread != Thread.currentThread()) return null;
+        ByteBuf encoded = encodedPackets.get(packet);
+        if (encoded == null) {
+            encoded = encoder.apply(packet);
+            if (encoded == null) return null;
+            encodedPackets.put(packet, encoded);
+            encodedPacketCountCurrent.increment();
+        }
+        encodedPacketWritesCurrent.increment();
+        return encoded.retainedDuplicate();
+    }
+
+    /**
+     * Returns amount of packets encoded into shared buffers in previous time period
+     *
+     * @return  amount of encoded packets
+     */
+    public long getEncodedPacketCount() {
+        return encodedPacketCountPrevious;
+    }
+
+    /**
+     * Returns amount of times shared encoded buffers were written into player channels in previous time period
+     *
+     * @return  amount of written encoded packets
+     */
+    public long getEncodedPacketWrites() {
+        return encodedPacketWritesPrevious;
+    }
+
     /**
      * Returns cpu usage map of placeholders from previous time period
      *
@@ -134,6 +295,15 @@ public class CpuManager implements ThreadManager {
         return getUsage(methodUsagePrevious);
     }
 
+    /**
+     * Returns cpu usage map of placeholder refresh buckets from previous time period
+     *
+     * @return  cpu usage map of placeholder refresh buckets
+     */
+    public Map<String, Float> getPlaceholderBucketUsage(){
+        return getUsage(placeholderBucketUsagePrevious);
+    }
+
     /**
      * Returns map of sent packets per feature in previous time period
      *
@@ -316,6 +486,18 @@ public class CpuManager implements ThreadManager {
         addTime(placeholderUsageCurrent, placeholder, nanoseconds);
     }
 
+    /**
+     * Adds time to specified placeholder refresh bucket
+     *
+     * @param   bucket
+     *          name of the bucket to add time to
+     * @param   nanoseconds
+     *          time to add
+     */
+    public void addPlaceholderBucketTime(String bucket, long nanoseconds) {
+        addTime(placeholderBucketUsageCurrent, bucket, nanoseconds);
+    }
+
     /**
      * Adds method time to specified method
      *
@@ -376,4 +558,26 @@ public class CpuManager implements ThreadManager {
     public Future<?> runTaskLater(int delayMilliseconds, Runnable task) {
         return threadPool.schedule(() -> submit(task), delayMilliseconds, TimeUnit.MILLISECONDS);
     }
+
+    /**
+     * Platform packet built for a client version, linked to packets built
+     * from the same TAB packet for other versions
+     */
+    private static class BuiltPacket {
+
+        /** Version the packet was built for */
+        private final ProtocolVersion clientVersion;
+
+        /** Built platform packet */
+        private final Object packet;
+
+        /** Packet built for another version or {@code null} if none */
+        private final BuiltPacket next;
+
+        private BuiltPacket(ProtocolVersion clientVersion, Object packet, BuiltPacket next) {
+            this.clientVersion = clientVersion;
+            this.packet = packet;
+            this.next = next;
+        }
+    }
 }
\ No newline at end of file
@@ -10,6 +10,7 @@ import me.neznamy.tab.api.chat.EnumChatFormat;
 import me.neznamy.tab.api.chat.rgb.RGBUtils;
 import me.neznamy.tab.shared.features.TabExpansion;
 import me.neznamy.tab.shared.placeholders.RelationalPlaceholderImpl;
+import me.neznamy.tab.shared.placeholders.TabPlaceholder;
 
 /**
  * A dynamic text with placeholder support. If any placeholder
@@ -18,6 +19,15 @@ import me.neznamy.tab.shared.placeholders.RelationalPlaceholderImpl;
  */
 public class DynamicText implements Property {
 
+    /**
+     * Temporary replacement for placeholders when compiling raw value. Contains %
+     * to make gradients containing placeholders ignored the same way as placeholders.
+     */
+    private static final String PLACEHOLDER_MARK = "%\u0000";
+
+    /** Reused buffer for building new values to avoid allocating a new one on every update */
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(StringBuilder::new);
+
     /** Internal identifier for this text for PlaceholderAPI expansion, null if it should not be exposed */
     private final String name;
 
@@ -37,11 +47,18 @@ public class DynamicText implements Property {
     private String temporaryValue;
 
     /**
-     * Raw value using %s for each placeholder ready to be inserted
-     * into String formatter, which results in about 5x lower
-     * memory allocations as well as better performance.
+     * Raw value split into colored literal parts by placeholders, where value
+     * of placeholder on index {@code i} belongs between literals {@code i}
+     * and {@code i+1}. Compiled once, so each update only needs to glue
+     * the parts together.
      */
-    private String rawFormattedValue;
+    private String[] literals;
+
+    /**
+     * Last modification ids of placeholders on the same index at the time
+     * of last update, used to skip the update if none of them changed.
+     */
+    private long[] placeholderModifications;
 
     /** Last known value after parsing non-relational placeholders */
     private String lastReplacedValue;
@@ -83,8 +100,8 @@ public class DynamicText implements Property {
     }
 
     /**
-     * Finds all placeholders used in the value and prepares it for
-     * String formatter using %s for each placeholder.
+     * Finds all placeholders used in the value and compiles it into
+     * literal parts with placeholder values inserted between them.
      *
      * @param   value
      *          raw value to analyze
@@ -98,26 +115,34 @@ public class DynamicText implements Property {
                 relPlaceholders0.add(identifier);
             }
         }
-        String rawFormattedValue0 = value;
+        StringBuilder marked = new StringBuilder(value.length());
+        int from = 0;
         for (String placeholder : placeholders0) {
-            rawFormattedValue0 = rawFormattedValue0.replace(placeholder, "%s");
+            int index = value.indexOf(placeholder, from);
+            marked.append(value, from, index).append(PLACEHOLDER_MARK);
+            from = index + placeholder.length();
         }
-        if (placeholders0.size() > 0 && rawFormattedValue0.contains("%")) {
-            int index = rawFormattedValue0.lastIndexOf('%');
-            if (rawFormattedValue0.length() == index+1 || rawFormattedValue0.charAt(index+1) != 's') {
-                StringBuilder sb = new StringBuilder(rawFormattedValue0);
-                sb.insert(index+1, "%");
-                rawFormattedValue0 = sb.toString();
-            }
+        marked.append(value, from, value.length());
+        String compiled = EnumChatFormat.color(RGBUtils.getInstance().applyCleanGradients(marked.toString()));
+        List<String> literals0 = new ArrayList<>();
+        from = 0;
+        for (int index = compiled.indexOf(PLACEHOLDER_MARK); index != -1; index = compiled.indexOf(PLACEHOLDER_MARK, from)) {
+            literals0.add(compiled.substring(from, index));
+            from = index + PLACEHOLDER_MARK.length();
         }
-        rawFormattedValue0 = RGBUtils.getInstance().applyCleanGradients(rawFormattedValue0);
-        rawFormattedValue = EnumChatFormat.color(rawFormattedValue0);
+        literals0.add(compiled.substring(from));
+        literals = literals0.toArray(new String[0]);
+        String[] oldPlaceholders = placeholders == null ? new String[0] : placeholders;
         placeholders = placeholders0.toArray(new String[0]);
+        if (owner instanceof ITabPlayer) {
+            ((ITabPlayer) owner).updatePlaceholderUsage(this, oldPlaceholders, placeholders);
+        }
+        placeholderModifications = new long[placeholders.length];
         relPlaceholders = relPlaceholders0.toArray(new String[0]);
         if (listener != null) {
             listener.addUsedPlaceholders(placeholders0);
         }
-        lastReplacedValue = rawFormattedValue;
+        lastReplacedValue = placeholders.length == 0 ? compiled : null;
         update();
         TabExpansion expansion = TAB.getInstance().getPlaceholderManager().getTabExpansion();
         if (expansion != null && name != null) {
@@ -189,19 +214,28 @@ public class DynamicText implements Property {
     public boolean update() {
         if (placeholders.length == 0) return false;
         long time = System.nanoTime();
-        String string;
-        if ("%s".equals(rawFormattedValue)) {
-            string = TAB.getInstance().getPlaceholderManager().getPlaceholder(placeholders[0]).set(placeholders[0], owner);
-        } else {
-            Object[] values = new String[placeholders.length];
-            for (int i=0; i<placeholders.length; i++) {
-                values[i] = TAB.getInstance().getPlaceholderManager().getPlaceholder(placeholders[i]).set(placeholders[i], owner);
+        boolean modified = false;
+        for (int i=0; i<placeholders.length; i++) {
+            TabPlaceholder placeholder = TAB.getInstance().getPlaceholderManager().getPlaceholder(placeholders[i]);
+            long modification = placeholder.getLastModification();
+            if (placeholderModifications[i] != modification || placeholder.isResolvingNested()) {
+                placeholderModifications[i] = modification;
+                modified = true;
             }
-            string = String.format(rawFormattedValue, values);
         }
-        string = EnumChatFormat.color(string);
-        if (!lastReplacedValue.equals(string)) {
-            lastReplacedValue = string;
+        if (!modified) {
+            TAB.getInstance().getCPUManager().addMethodTime("Property#update", System.nanoTime()-time);
+            return false;
+        }
+        StringBuilder builder = BUFFER.get();
+        builder.setLength(0);
+        for (int i=0; i<placeholders.length; i++) {
+            builder.append(literals[i]).append(TAB.getInstance().getPlaceholderManager().getPlaceholder(placeholders[i]).set(placeholders[i], owner));
+        }
+        builder.append(literals[placeholders.length]);
+        EnumChatFormat.color(builder);
+        if (lastReplacedValue == null || !lastReplacedValue.contentEquals(builder)) {
+            lastReplacedValue = builder.toString();
             TabExpansion expansion = TAB.getInstance().getPlaceholderManager().getTabExpansion();
             if (expansion != null && name != null) {
                 expansion.setPropertyValue(owner, name, lastReplacedValue);
@@ -213,6 +247,16 @@ public class DynamicText implements Property {
         return false;
     }
 
+    /**
+     * Returns feature defining this text, which receives refresh
+     * when placeholders used in this text change value.
+     *
+     * @return  feature defining this text
+     */
+    public TabFeature getListener() {
+        return listener;
+    }
+
     @Override
     public String get() {
         return lastReplacedValue;
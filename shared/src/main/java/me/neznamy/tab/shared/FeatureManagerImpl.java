@@ -1,12 +1,15 @@
 package me.neznamy.tab.shared;
 
+import java.util.EnumMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import me.neznamy.tab.api.FeatureManager;
 import me.neznamy.tab.api.TabConstants;
 import me.neznamy.tab.api.TabFeature;
+import me.neznamy.tab.api.TabFeature.Hook;
 import me.neznamy.tab.api.TabPlayer;
 import me.neznamy.tab.api.placeholder.PlayerPlaceholder;
 import me.neznamy.tab.api.protocol.PacketPlayOutPlayerInfo;
@@ -29,6 +32,9 @@ public class FeatureManagerImpl implements FeatureManager {
     /** All registered features in an array to avoid memory allocations on iteration */
     private TabFeature[] values = new TabFeature[0];
 
+    /** Registered features overriding each hook, so events only visit features listening to them */
+    private Map<Hook, TabFeature[]> listeners = createListeners(values);
+
     private boolean objectiveListeners = false;
 
     private boolean displayObjectiveListeners = false;
@@ -68,7 +74,7 @@ public class FeatureManagerImpl implements FeatureManager {
      *          whether refresh should be forced or not
      */
     public void refresh(TabPlayer refreshed, boolean force) {
-        for (TabFeature f : values) f.refresh(refreshed, force);
+        for (TabFeature f : listeners.get(Hook.REFRESH)) f.refresh(refreshed, force);
     }
 
     /**
@@ -87,8 +93,7 @@ public class FeatureManagerImpl implements FeatureManager {
         long time = System.nanoTime();
         PacketPlayOutPlayerInfo info = TAB.getInstance().getPlatform().getPacketBuilder().readPlayerInfo(packet, receiver.getVersion());
         TAB.getInstance().getCPUManager().addTime(TabConstants.Feature.PACKET_DESERIALIZING, TabConstants.CpuUsageCategory.PACKET_PLAYER_INFO, System.nanoTime()-time);
-        for (TabFeature f : values) {
-            if (!f.overridesMethod("onPlayerInfo")) continue;
+        for (TabFeature f : listeners.get(Hook.PLAYER_INFO)) {
             time = System.nanoTime();
             f.onPlayerInfo(receiver, info);
             TAB.getInstance().getCPUManager().addTime(f, TabConstants.CpuUsageCategory.PACKET_PLAYER_INFO, System.nanoTime()-time);
@@ -103,8 +108,7 @@ public class FeatureManagerImpl implements FeatureManager {
     public void onQuit(TabPlayer disconnectedPlayer) {
         if (disconnectedPlayer == null) return;
         long millis = System.currentTimeMillis();
-        for (TabFeature f : values) {
-            if (!f.overridesMethod("onQuit")) continue;
+        for (TabFeature f : listeners.get(Hook.QUIT)) {
             long time = System.nanoTime();
             f.onQuit(disconnectedPlayer);
             TAB.getInstance().getCPUManager().addTime(f, TabConstants.CpuUsageCategory.PLAYER_QUIT, System.nanoTime()-time);
@@ -118,8 +122,7 @@ public class FeatureManagerImpl implements FeatureManager {
         if (!connectedPlayer.isOnline()) return;
         long millis = System.currentTimeMillis();
         TAB.getInstance().addPlayer(connectedPlayer);
-        for (TabFeature f : values) {
-            if (!f.overridesMethod("onJoin")) continue;
+        for (TabFeature f : listeners.get(Hook.JOIN)) {
             long time = System.nanoTime();
             f.onJoin(connectedPlayer);
             TAB.getInstance().getCPUManager().addTime(f, TabConstants.CpuUsageCategory.PLAYER_JOIN, System.nanoTime()-time);
@@ -139,8 +142,7 @@ public class FeatureManagerImpl implements FeatureManager {
         if (changed == null) return;
         String from = changed.getWorld();
         ((ITabPlayer)changed).setWorld(to);
-        for (TabFeature f : values) {
-            if (!f.overridesMethod("onWorldChange")) continue;
+        for (TabFeature f : listeners.get(Hook.WORLD_CHANGE)) {
             long time = System.nanoTime();
             f.onWorldChange(changed, from, to);
             TAB.getInstance().getCPUManager().addTime(f, TabConstants.CpuUsageCategory.WORLD_SWITCH, System.nanoTime()-time);
@@ -157,8 +159,7 @@ public class FeatureManagerImpl implements FeatureManager {
         ((ProxyTabPlayer)changed).sendJoinPluginMessage();
         if (!isFeatureEnabled(TabConstants.Feature.PIPELINE_INJECTION) || changed.getVersion().getMinorVersion() < 8)
             onLoginPacket(changed);
-        for (TabFeature f : values) {
-            if (!f.overridesMethod("onServerChange")) continue;
+        for (TabFeature f : listeners.get(Hook.SERVER_CHANGE)) {
             long time = System.nanoTime();
             f.onServerChange(changed, from, to);
             TAB.getInstance().getCPUManager().addTime(f, TabConstants.CpuUsageCategory.SERVER_SWITCH, System.nanoTime()-time);
@@ -170,8 +171,7 @@ public class FeatureManagerImpl implements FeatureManager {
     public boolean onCommand(TabPlayer sender, String command) {
         if (sender == null) return false;
         boolean cancel = false;
-        for (TabFeature f : values) {
-            if (!f.overridesMethod("onCommand")) continue;
+        for (TabFeature f : listeners.get(Hook.COMMAND)) {
             long time = System.nanoTime();
             if (f.onCommand(sender, command)) cancel = true;
             TAB.getInstance().getCPUManager().addTime(f, TabConstants.CpuUsageCategory.COMMAND_PREPROCESS, System.nanoTime()-time);
@@ -189,6 +189,19 @@ public class FeatureManagerImpl implements FeatureManager {
         displayObjectiveListeners = true;
     }
 
+    /**
+     * Returns {@code true} if at least one registered feature overrides given hook,
+     * {@code false} if not. Allows callers to skip preparing data for hooks
+     * nothing listens to.
+     *
+     * @param   hook
+     *          hook to check
+     * @return  {@code true} if hook has listeners, {@code false} if not
+     */
+    public boolean hasListeners(Hook hook) {
+        return listeners.get(hook).length > 0;
+    }
+
     /**
      * Calls onPacketReceive(TabPlayer, Object) on all features
      * 
@@ -200,8 +213,7 @@ public class FeatureManagerImpl implements FeatureManager {
      */
     public boolean onPacketReceive(TabPlayer sender, Object packet){
         boolean cancel = false;
-        for (TabFeature f : values) {
-            if (!f.overridesMethod("onPacketReceive")) continue;
+        for (TabFeature f : listeners.get(Hook.PACKET_RECEIVE)) {
             long time = System.nanoTime();
             try {
                 cancel = f.onPacketReceive(sender, packet);
@@ -222,8 +234,7 @@ public class FeatureManagerImpl implements FeatureManager {
      *          OUT packet coming from the server
      */
     public void onPacketSend(TabPlayer receiver, Object packet){
-        for (TabFeature f : values) {
-            if (!f.overridesMethod("onPacketSend")) continue;
+        for (TabFeature f : listeners.get(Hook.PACKET_SEND)) {
             long time = System.nanoTime();
             try {
                 f.onPacketSend(receiver, packet);
@@ -242,8 +253,7 @@ public class FeatureManagerImpl implements FeatureManager {
      */
     public void onLoginPacket(TabPlayer packetReceiver) {
         ((ITabPlayer)packetReceiver).clearRegisteredObjectives();
-        for (TabFeature f : values) {
-            if (!f.overridesMethod("onLoginPacket")) continue;
+        for (TabFeature f : listeners.get(Hook.LOGIN_PACKET)) {
             long time = System.nanoTime();
             f.onLoginPacket(packetReceiver);
             TAB.getInstance().getCPUManager().addTime(f, TabConstants.CpuUsageCategory.PACKET_JOIN_GAME, System.nanoTime()-time);
@@ -265,8 +275,7 @@ public class FeatureManagerImpl implements FeatureManager {
         long time = System.nanoTime();
         PacketPlayOutScoreboardDisplayObjective display = TAB.getInstance().getPlatform().getPacketBuilder().readDisplayObjective(packet);
         TAB.getInstance().getCPUManager().addTime(TabConstants.Feature.PACKET_DESERIALIZING, TabConstants.CpuUsageCategory.PACKET_DISPLAY_OBJECTIVE, System.nanoTime()-time);
-        for (TabFeature f : values) {
-            if (!f.overridesMethod("onDisplayObjective")) continue;
+        for (TabFeature f : listeners.get(Hook.DISPLAY_OBJECTIVE)) {
             time = System.nanoTime();
             f.onDisplayObjective(packetReceiver, display);
             TAB.getInstance().getCPUManager().addTime(f, TabConstants.CpuUsageCategory.ANTI_OVERRIDE, System.nanoTime()-time);
@@ -286,8 +295,7 @@ public class FeatureManagerImpl implements FeatureManager {
         long time = System.nanoTime();
         PacketPlayOutScoreboardObjective display = TAB.getInstance().getPlatform().getPacketBuilder().readObjective(packet);
         TAB.getInstance().getCPUManager().addTime(TabConstants.Feature.PACKET_DESERIALIZING, TabConstants.CpuUsageCategory.PACKET_OBJECTIVE, System.nanoTime()-time);
-        for (TabFeature f : values) {
-            if (!f.overridesMethod("onObjective")) continue;
+        for (TabFeature f : listeners.get(Hook.OBJECTIVE)) {
             time = System.nanoTime();
             f.onObjective(packetReceiver, display);
             TAB.getInstance().getCPUManager().addTime(f, TabConstants.CpuUsageCategory.ANTI_OVERRIDE, System.nanoTime()-time);
@@ -295,8 +303,7 @@ public class FeatureManagerImpl implements FeatureManager {
     }
 
     public void onVanishStatusChange(TabPlayer player) {
-        for (TabFeature f : values) {
-            if (!f.overridesMethod("onVanishStatusChange")) continue;
+        for (TabFeature f : listeners.get(Hook.VANISH_STATUS_CHANGE)) {
             long time = System.nanoTime();
             f.onVanishStatusChange(player);
             TAB.getInstance().getCPUManager().addTime(f, TabConstants.CpuUsageCategory.VANISH_CHANGE, System.nanoTime()-time);
@@ -307,12 +314,29 @@ public class FeatureManagerImpl implements FeatureManager {
     public void registerFeature(String featureName, TabFeature featureHandler) {
         features.put(featureName, featureHandler);
         values = features.values().toArray(new TabFeature[0]);
+        listeners = createListeners(values);
     }
 
     @Override
     public void unregisterFeature(String featureName) {
         features.remove(featureName);
         values = features.values().toArray(new TabFeature[0]);
+        listeners = createListeners(values);
+    }
+
+    /**
+     * Creates map of features overriding each hook from given features
+     *
+     * @param   features
+     *          registered features
+     * @return  map of features overriding each hook
+     */
+    private Map<Hook, TabFeature[]> createListeners(TabFeature[] features) {
+        Map<Hook, TabFeature[]> listeners = new EnumMap<>(Hook.class);
+        for (Hook hook : Hook.values()) {
+            listeners.put(hook, Stream.of(features).filter(f -> f.overridesMethod(hook)).toArray(TabFeature[]::new));
+        }
+        return listeners;
     }
 
     @Override
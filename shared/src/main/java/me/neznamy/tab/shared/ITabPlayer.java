@@ -49,8 +49,14 @@ public abstract class ITabPlayer implements TabPlayer {
     /** Player's game type, {@code true} for Bedrock, {@code false} for Java */
     private final boolean bedrockPlayer;
 
-    /** Player's property map where key is unique identifier and value is property object */
-    private final Map<String, Property> properties = new HashMap<>();
+    /** Player's property table where index is id of property's key and value is property object */
+    private Property[] properties = new Property[0];
+
+    /**
+     * Player's properties using each placeholder, used to only update
+     * properties which actually use a placeholder that changed value
+     */
+    private final Map<String, List<DynamicText>> placeholderProperties = new HashMap<>();
 
     /** Player's game version */
     protected final ProtocolVersion version;
@@ -70,9 +76,21 @@ public abstract class ITabPlayer implements TabPlayer {
     /** Scoreboard objectives player has registered */
     private final Set<String> registeredObjectives = new HashSet<>();
 
+    /** Packets queued during current task on processing thread, sent once the task finishes */
+    private final List<TabPacket> packetQueue = new ArrayList<>();
+
+    /** PlayerInfo packet created by merging queued packets, which can be safely modified */
+    private PacketPlayOutPlayerInfo mergedPlayerInfo;
+
     /** Player's name as seen in GameProfile, can be altered by nick plugins */
     private String nickname;
 
+    /**
+     * Compact id of this player used as an index into dense per-player arrays,
+     * {@code -1} if player was not added to online players yet
+     */
+    private int slotId = -1;
+
     /**
      * Constructs new instance with given parameters
      *
@@ -111,8 +129,8 @@ public abstract class ITabPlayer implements TabPlayer {
      *
      * @param   feature
      *          Feature creating the property
-     * @param   identifier
-     *          Property's unique identifier
+     * @param   key
+     *          Property's unique key
      * @param   rawValue
      *          Raw value with raw placeholders
      * @param   source
@@ -120,10 +138,13 @@ public abstract class ITabPlayer implements TabPlayer {
      * @return  {@code true} if property did not exist or existed with different raw value,
      *          {@code false} if property existed with the same raw value already.
      */
-    private boolean setProperty(TabFeature feature, String identifier, String rawValue, String source, boolean exposeInExpansion) {
-        DynamicText p = (DynamicText) getProperty(identifier);
+    private boolean setProperty(TabFeature feature, PropertyKey key, String rawValue, String source, boolean exposeInExpansion) {
+        DynamicText p = (DynamicText) getProperty(key);
         if (p == null) {
-            properties.put(identifier, new DynamicText(exposeInExpansion ? identifier : null, feature, this, rawValue, source));
+            if (key.getId() >= properties.length) {
+                properties = Arrays.copyOf(properties, Math.max(key.getId() + 1, properties.length * 2));
+            }
+            properties[key.getId()] = new DynamicText(exposeInExpansion ? key.getName() : null, feature, this, rawValue, source);
             return true;
         } else {
             if (!p.getOriginalRawValue().equals(rawValue)) {
@@ -136,7 +157,12 @@ public abstract class ITabPlayer implements TabPlayer {
 
     @Override
     public boolean setProperty(TabFeature feature, String identifier, String rawValue) {
-        return setProperty(feature, identifier, rawValue, null, false);
+        return setProperty(feature, PropertyKey.of(identifier), rawValue, null, false);
+    }
+
+    @Override
+    public boolean setProperty(TabFeature feature, PropertyKey key, String rawValue) {
+        return setProperty(feature, key, rawValue, null, false);
     }
 
     /**
@@ -264,7 +290,20 @@ public abstract class ITabPlayer implements TabPlayer {
 
     @Override
     public void sendCustomPacket(TabPacket packet) {
-        if (packet == null) return;
+        send(packet);
+    }
+
+    /**
+     * Validates and sends the packet or queues it if packet batching is active.
+     * Returns {@code true} if packet will be sent to the player as a separate packet,
+     * {@code false} if it was rejected or merged into a previously queued packet.
+     *
+     * @param   packet
+     *          packet to send
+     * @return  {@code true} if a new packet will be sent, {@code false} if not
+     */
+    private boolean send(TabPacket packet) {
+        if (packet == null) return false;
         //avoiding BungeeCord bug kicking all players
         if (packet instanceof PacketPlayOutScoreboardTeam) {
             String team = ((PacketPlayOutScoreboardTeam) packet).getName();
@@ -272,17 +311,17 @@ public abstract class ITabPlayer implements TabPlayer {
             if (method == 0) {
                 if (!registeredTeams.add(team)) {
                     TAB.getInstance().getErrorManager().printError("Tried to register duplicated team " + team + " to player " + getName());
-                    return;
+                    return false;
                 }
             } else if (method == 1) {
                 if (!registeredTeams.remove(team)) {
                     TAB.getInstance().getErrorManager().printError("Tried to unregister non-existing team " + team + " for player " + getName());
-                    return;
+                    return false;
                 }
             } else if (method == 2) {
                 if (!registeredTeams.contains(team)) {
                     TAB.getInstance().getErrorManager().printError("Tried to modify non-existing team " + team + " for player " + getName());
-                    return;
+                    return false;
                 }
             }
         }
@@ -293,17 +332,17 @@ public abstract class ITabPlayer implements TabPlayer {
             if (method == 0) {
                 if (!registeredObjectives.add(objective)) {
                     TAB.getInstance().getErrorManager().printError("Tried to register duplicated objective " + objective + " to player " + getName());
-                    return;
+                    return false;
                 }
             } else if (method == 1) {
                 if (!registeredObjectives.remove(objective)) {
                     TAB.getInstance().getErrorManager().printError("Tried to unregister non-existing objective " + objective + " for player " + getName());
-                    return;
+                    return false;
                 }
             } else if (method == 2) {
                 if (!registeredObjectives.contains(objective)) {
                     TAB.getInstance().getErrorManager().printError("Tried to modify non-existing objective " + objective + " for player " + getName());
-                    return;
+                    return false;
                 }
             }
         }
@@ -314,31 +353,100 @@ public abstract class ITabPlayer implements TabPlayer {
             if (!registeredObjectives.contains(objective)) {
                 TAB.getInstance().getErrorManager().printError("Tried to update score (" + player + ") without the existence of its requested objective '" +
                         objective + "' to player " + getName());
-                return;
+                return false;
             }
         }
+        if (TAB.getInstance().getCPUManager().isBatchingPackets()) {
+            return queuePacket(packet);
+        }
         try {
-            sendPacket(TAB.getInstance().getPlatform().getPacketBuilder().build(packet, getVersion()));
+            sendPacket(TAB.getInstance().getCPUManager().buildPacket(packet, getVersion()));
         } catch (Exception e) {
             TAB.getInstance().getErrorManager().printError("An error occurred when creating " + packet.getClass().getSimpleName(), e);
         }
+        return true;
+    }
+
+    /**
+     * Adds packet into queue of packets sent at the end of current task. If the packet
+     * is a PlayerInfo packet with the same actions as the last queued packet, its entries
+     * are merged into it instead.
+     *
+     * @param   packet
+     *          packet to queue
+     * @return  {@code true} if packet was queued, {@code false} if it was merged into previous packet
+     */
+    private boolean queuePacket(TabPacket packet) {
+        if (packetQueue.isEmpty()) {
+            TAB.getInstance().getCPUManager().addPacketQueue(this);
+        } else if (packet instanceof PacketPlayOutPlayerInfo) {
+            PacketPlayOutPlayerInfo info = (PacketPlayOutPlayerInfo) packet;
+            TabPacket last = packetQueue.get(packetQueue.size()-1);
+            if (last instanceof PacketPlayOutPlayerInfo && ((PacketPlayOutPlayerInfo) last).getActions().equals(info.getActions())) {
+                if (last != mergedPlayerInfo) {
+                    //copying entries to not modify packet which may be sent to other players as well
+                    mergedPlayerInfo = new PacketPlayOutPlayerInfo(info.getActions(), new ArrayList<>(((PacketPlayOutPlayerInfo) last).getEntries()));
+                    packetQueue.set(packetQueue.size()-1, mergedPlayerInfo);
+                }
+                mergedPlayerInfo.getEntries().addAll(info.getEntries());
+                return false;
+            }
+        }
+        packetQueue.add(packet);
+        return true;
+    }
+
+    /**
+     * Builds and sends all packets queued during current task to the player
+     */
+    public void flushPacketQueue() {
+        List<Object> packets = new ArrayList<>(packetQueue.size());
+        for (TabPacket packet : packetQueue) {
+            try {
+                packets.add(TAB.getInstance().getCPUManager().buildPacket(packet, getVersion()));
+            } catch (Exception e) {
+                TAB.getInstance().getErrorManager().printError("An error occurred when creating " + packet.getClass().getSimpleName(), e);
+            }
+        }
+        packetQueue.clear();
+        mergedPlayerInfo = null;
+        sendPackets(packets);
+    }
+
+    /**
+     * Sends all given platform packets to the player. Platforms able to write
+     * packets without flushing the connection after each one should override
+     * this and flush only once at the end.
+     *
+     * @param   packets
+     *          platform packets to send
+     */
+    protected void sendPackets(List<Object> packets) {
+        for (Object packet : packets) {
+            sendPacket(packet);
+        }
     }
 
     @Override
     public void sendCustomPacket(TabPacket packet, TabFeature feature) {
-        sendCustomPacket(packet);
-        if (feature != null) TAB.getInstance().getCPUManager().packetSent(feature.getFeatureName());
+        if (send(packet) && feature != null) TAB.getInstance().getCPUManager().packetSent(feature.getFeatureName());
     }
     
     @Override
     public void sendCustomPacket(TabPacket packet, String feature) {
-        sendCustomPacket(packet);
-        if (feature != null) TAB.getInstance().getCPUManager().packetSent(feature);
+        if (send(packet) && feature != null) TAB.getInstance().getCPUManager().packetSent(feature);
     }
 
     @Override
     public Property getProperty(String name) {
-        return properties.get(name);
+        PropertyKey key = PropertyKey.get(name);
+        return key == null ? null : getProperty(key);
+    }
+
+    @Override
+    public Property getProperty(PropertyKey key) {
+        Property[] properties = this.properties;
+        return key.getId() < properties.length ? properties[key.getId()] : null;
     }
 
     @Override
@@ -371,9 +479,9 @@ public abstract class ITabPlayer implements TabPlayer {
             value = TAB.getInstance().getConfiguration().getGroups().getProperty(getGroup(), property, server, world);
         }
         if (value.length > 0) {
-            return setProperty(feature, property, value[0], value[1], true);
+            return setProperty(feature, PropertyKey.of(property), value[0], value[1], true);
         }
-        return setProperty(feature, property, ifNotSet, "None", true);
+        return setProperty(feature, PropertyKey.of(property), ifNotSet, "None", true);
     }
 
     @Override
@@ -400,4 +508,46 @@ public abstract class ITabPlayer implements TabPlayer {
     public void setChannel(Channel channel) {
         this.channel = channel;
     }
-}
+
+    public int getSlotId() {
+        return slotId;
+    }
+
+    public void setSlotId(int slotId) {
+        this.slotId = slotId;
+    }
+
+    /**
+     * Updates placeholder usage of given property of this player from
+     * previously used placeholders to newly used placeholders.
+     *
+     * @param   property
+     *          property which changed placeholders it uses
+     * @param   oldPlaceholders
+     *          placeholders used by the property before
+     * @param   newPlaceholders
+     *          placeholders used by the property now
+     */
+    public void updatePlaceholderUsage(DynamicText property, String[] oldPlaceholders, String[] newPlaceholders) {
+        for (String placeholder : oldPlaceholders) {
+            List<DynamicText> usage = placeholderProperties.get(placeholder);
+            if (usage != null) usage.remove(property);
+        }
+        for (String placeholder : newPlaceholders) {
+            List<DynamicText> usage = placeholderProperties.computeIfAbsent(placeholder, p -> new ArrayList<>());
+            if (!usage.contains(property)) usage.add(property);
+        }
+    }
+
+    /**
+     * Returns all properties of this player using given placeholder. If none use it,
+     * empty list is returned.
+     *
+     * @param   placeholder
+     *          placeholder identifier to get properties of
+     * @return  properties of this player using the placeholder
+     */
+    public List<DynamicText> getPropertiesUsing(String placeholder) {
+        return placeholderProperties.getOrDefault(placeholder, Collections.emptyList());
+    }
+}
\ No newline at end of file
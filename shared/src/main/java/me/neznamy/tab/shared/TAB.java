@@ -19,6 +19,7 @@ import me.neznamy.tab.shared.features.sorting.Sorting;
 import org.yaml.snakeyaml.error.YAMLException;
 
 import java.io.File;
+import java.util.BitSet;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -40,6 +41,9 @@ public class TAB extends TabAPI {
     /** Online player array to avoid memory allocation when iterating */
     private TabPlayer[] players = new TabPlayer[0];
 
+    /** Slot ids currently assigned to online players, ids of players who left are reused */
+    private final BitSet usedSlotIds = new BitSet();
+
     /** Instance of plugin's main command */
     private TabCommand command;
 
@@ -200,6 +204,9 @@ public class TAB extends TabAPI {
         data.clear();
         playersByTabListId.clear();
         players = new TabPlayer[0];
+        synchronized (usedSlotIds) {
+            usedSlotIds.clear();
+        }
         cpu.cancelAllTasks();
     }
 
@@ -245,6 +252,13 @@ public class TAB extends TabAPI {
      *          Player to add
      */
     public void addPlayer(TabPlayer player) {
+        synchronized (usedSlotIds) {
+            if (((ITabPlayer) player).getSlotId() == -1) {
+                int slotId = usedSlotIds.nextClearBit(0);
+                usedSlotIds.set(slotId);
+                ((ITabPlayer) player).setSlotId(slotId);
+            }
+        }
         data.put(player.getUniqueId(), player);
         playersByTabListId.put(player.getTablistUUID(), player);
         players = data.values().toArray(new TabPlayer[0]);
@@ -260,6 +274,13 @@ public class TAB extends TabAPI {
         data.remove(player.getUniqueId());
         playersByTabListId.remove(player.getTablistUUID());
         players = data.values().toArray(new TabPlayer[0]);
+        synchronized (usedSlotIds) {
+            int slotId = ((ITabPlayer) player).getSlotId();
+            if (slotId != -1) {
+                usedSlotIds.clear(slotId);
+                ((ITabPlayer) player).setSlotId(-1);
+            }
+        }
     }
 
     /**
@@ -11,6 +11,7 @@ import me.neznamy.tab.api.TabPlayer;
 import me.neznamy.tab.api.chat.EnumChatFormat;
 import me.neznamy.tab.api.chat.IChatBaseComponent;
 import me.neznamy.tab.api.placeholder.Placeholder;
+import me.neznamy.tab.api.util.BoundedCache;
 import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.api.TabConstants;
 
@@ -52,6 +53,12 @@ public class CpuCommand extends SubCommand {
         sendMessage(sender, "&8&l" + LINE_CHAR + " &6Some internal separately measured methods:");
         printMethods(sender);
         sendMessage(sender, SEPARATOR);
+        sendMessage(sender, "&8&l" + LINE_CHAR + " &6Placeholder refreshing by interval:");
+        printPlaceholderBuckets(sender);
+        sendMessage(sender, SEPARATOR);
+        sendMessage(sender, "&8&l" + LINE_CHAR + " &6Caches:");
+        printCaches(sender);
+        sendMessage(sender, SEPARATOR);
         if (sender != null) {
             sendToPlayer(sender, features);
         } else {
@@ -63,6 +70,10 @@ public class CpuCommand extends SubCommand {
         } else {
             sendPacketCountToConsole();
         }
+        if (tab.getConfiguration().isPreEncodedPackets()) {
+            sendMessage(sender, String.format("&8&l%s &7Pre-encoded packets: %s encoded, %s written", LINE_CHAR,
+                    tab.getCPUManager().getEncodedPacketCount(), tab.getCPUManager().getEncodedPacketWrites()));
+        }
         sendMessage(sender, String.format("&8&l%s &6&lPlaceholders Total: &a&l%s%%", LINE_CHAR, colorize(decimal3.format(placeholdersTotal), 10, 5)));
         sendMessage(sender, String.format("&8&l%s &6&lPlugin internals: &a&l%s%%", LINE_CHAR, colorize(decimal3.format(featuresTotal-placeholdersTotal), 10, 5)));
         sendMessage(sender, String.format("&8&l%s &6&lTotal: &e&l%s%%", LINE_CHAR, colorize(decimal3.format(featuresTotal), 10, 5)));
@@ -88,6 +99,22 @@ public class CpuCommand extends SubCommand {
         }
     }
 
+    private void printPlaceholderBuckets(TabPlayer sender) {
+        for (Entry<String, Float> entry : TAB.getInstance().getCPUManager().getPlaceholderBucketUsage().entrySet()) {
+            sendMessage(sender, String.format("&8&l%s &7%s: %s%%", LINE_CHAR, entry.getKey(), colorize(decimal3.format(entry.getValue()), 5, 2)));
+        }
+    }
+
+    private void printCaches(TabPlayer sender) {
+        for (BoundedCache<?, ?> cache : BoundedCache.getCaches()) {
+            long hits = cache.getHits();
+            long requests = hits + cache.getMisses();
+            String hitRate = requests == 0 ? "-" : decimal3.format(hits * 100d / requests) + "%";
+            sendMessage(sender, String.format("&8&l%s &7%s: %s entries, hit rate %s (%s hits, %s misses), %s evictions", LINE_CHAR,
+                    cache.getName(), cache.size(), hitRate, hits, cache.getMisses(), cache.getEvictions()));
+        }
+    }
+
     public void sendToConsole(Map<String, Map<String, Float>> features) {
         TAB.getInstance().sendConsoleMessage("&8&l" + LINE_CHAR + " &6Features:", true);
         for (Entry<String, Map<String, Float>> entry : features.entrySet()) {
@@ -29,6 +29,8 @@ public class Configs {
     private final boolean removeGhostPlayers = getSecretOption("remove-ghost-players", false);
     private final boolean pipelineInjection = getSecretOption("pipeline-injection", true) && TAB.getInstance().getServerVersion().getMinorVersion() >= 8;
     private final String serverName = getSecretOption("server-name", "N/A");
+    private final boolean packetBatching = getSecretOption("packet-batching", false);
+    private final boolean preEncodedPackets = TAB.getInstance().getServerVersion() == ProtocolVersion.PROXY && getSecretOption("pre-encoded-packets", false);
 
     //animations.yml file
     private final ConfigurationFile animation = new YamlConfigurationFile(getClass().getClassLoader().getResourceAsStream("animations.yml"),
@@ -127,6 +129,14 @@ public class Configs {
         return pipelineInjection;
     }
 
+    public boolean isPacketBatching() {
+        return packetBatching;
+    }
+
+    public boolean isPreEncodedPackets() {
+        return preEncodedPackets;
+    }
+
     public ConfigurationFile getPlayerDataFile() {
         if (playerdata == null) {
             File file = new File(TAB.getInstance().getDataFolder(), "playerdata.yml");
@@ -8,6 +8,7 @@ import me.neznamy.tab.api.HeaderFooterManager;
 import me.neznamy.tab.api.TabFeature;
 import me.neznamy.tab.api.TabPlayer;
 import me.neznamy.tab.api.chat.EnumChatFormat;
+import me.neznamy.tab.api.chat.IChatBaseComponent;
 import me.neznamy.tab.api.protocol.PacketPlayOutPlayerListHeaderFooter;
 import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.api.TabConstants;
@@ -20,6 +21,9 @@ public class HeaderFooter extends TabFeature implements HeaderFooterManager {
     private final List<Object> worldGroups = new ArrayList<>(TAB.getInstance().getConfig().getConfigurationSection("header-footer.per-world").keySet());
     private final List<Object> serverGroups = new ArrayList<>(TAB.getInstance().getConfig().getConfigurationSection("header-footer.per-server").keySet());
 
+    /** Last packet sent on refresh, reused for players with identical header and footer */
+    private PacketPlayOutPlayerListHeaderFooter lastPacket = new PacketPlayOutPlayerListHeaderFooter("", "");
+
     public HeaderFooter() {
         super("Header/Footer", "Updating header/footer", "header-footer");
         TAB.getInstance().debug(String.format("Loaded HeaderFooter feature with parameters disabledWorlds=%s, disabledServers=%s", Arrays.toString(disabledWorlds), Arrays.toString(disabledServers)));
@@ -34,9 +38,10 @@ public class HeaderFooter extends TabFeature implements HeaderFooterManager {
 
     @Override
     public void unload() {
+        PacketPlayOutPlayerListHeaderFooter packet = new PacketPlayOutPlayerListHeaderFooter("","");
         for (TabPlayer p : TAB.getInstance().getOnlinePlayers()) {
             if (isDisabledPlayer(p) || p.getVersion().getMinorVersion() < 8) continue;
-            p.sendCustomPacket(new PacketPlayOutPlayerListHeaderFooter("",""), this);
+            p.sendCustomPacket(packet, this);
         }
     }
 
@@ -85,7 +90,13 @@ public class HeaderFooter extends TabFeature implements HeaderFooterManager {
             p.setProperty(this, TabConstants.Property.FOOTER, getProperty(p, TabConstants.Property.FOOTER));
         }
         if (isDisabledPlayer(p) || p.getVersion().getMinorVersion() < 8) return;
-        p.sendCustomPacket(new PacketPlayOutPlayerListHeaderFooter(p.getProperty(TabConstants.Property.HEADER).updateAndGet(), p.getProperty(TabConstants.Property.FOOTER).updateAndGet()), this);
+        IChatBaseComponent header = IChatBaseComponent.optimizedComponent(p.getProperty(TabConstants.Property.HEADER).updateAndGet());
+        IChatBaseComponent footer = IChatBaseComponent.optimizedComponent(p.getProperty(TabConstants.Property.FOOTER).updateAndGet());
+        //components are cached, sending the same packet instance to players with identical result, so it is only built once for each client version
+        if (lastPacket.getHeader() != header || lastPacket.getFooter() != footer) {
+            lastPacket = new PacketPlayOutPlayerListHeaderFooter(header, footer);
+        }
+        p.sendCustomPacket(lastPacket, this);
     }
 
     private String getProperty(TabPlayer p, String property) {
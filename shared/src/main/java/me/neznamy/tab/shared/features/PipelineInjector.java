@@ -109,5 +109,15 @@ public abstract class PipelineInjector extends TabFeature {
         this.byteBufDeserialization = byteBufDeserialization;
     }
 
+    /**
+     * Returns {@code true} if raw packet buffers are deserialized by the channel handler,
+     * {@code false} if not
+     *
+     * @return  {@code true} if buffers are deserialized, {@code false} if not
+     */
+    public boolean isByteBufDeserialization() {
+        return byteBufDeserialization;
+    }
+
     public abstract Function<TabPlayer, ChannelDuplexHandler> getChannelFunction();
 }
\ No newline at end of file
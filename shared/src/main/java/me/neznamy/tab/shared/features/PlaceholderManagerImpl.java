@@ -3,6 +3,9 @@ package me.neznamy.tab.shared.features;
 import java.util.*;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
@@ -12,6 +15,9 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import me.neznamy.tab.api.Property;
 import me.neznamy.tab.api.TabFeature;
 import me.neznamy.tab.api.TabPlayer;
 import me.neznamy.tab.api.placeholder.Placeholder;
@@ -20,9 +26,13 @@ import me.neznamy.tab.api.placeholder.PlayerPlaceholder;
 import me.neznamy.tab.api.placeholder.RelationalPlaceholder;
 import me.neznamy.tab.api.placeholder.ServerPlaceholder;
 import me.neznamy.tab.api.TabConstants;
+import me.neznamy.tab.shared.DynamicText;
+import me.neznamy.tab.shared.ITabPlayer;
 import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.event.impl.TabPlaceholderRegisterEvent;
+import me.neznamy.tab.shared.placeholders.PlaceholderRefreshBucket;
 import me.neznamy.tab.shared.placeholders.PlayerPlaceholderImpl;
+import me.neznamy.tab.shared.placeholders.RelationalPairFilter;
 import me.neznamy.tab.shared.placeholders.RelationalPlaceholderImpl;
 import me.neznamy.tab.shared.placeholders.ServerPlaceholderImpl;
 import me.neznamy.tab.shared.placeholders.TabPlaceholder;
@@ -39,12 +49,26 @@ public class PlaceholderManagerImpl extends TabFeature implements PlaceholderMan
     private final Map<String, Integer> playerPlaceholderRefreshIntervals = TAB.getInstance().getConfiguration().getConfig().getConfigurationSection("placeholderapi-refresh-intervals.player");
     private final Map<String, Integer> relationalPlaceholderRefreshIntervals = TAB.getInstance().getConfiguration().getConfig().getConfigurationSection("placeholderapi-refresh-intervals.relational");
 
+    /** Amount of threads used to evaluate player placeholders, parallel evaluation is disabled if set to 1 or lower */
+    private final int parallelThreads = TAB.getInstance().getConfiguration().getConfig().getBoolean("placeholders.parallel-refresh.enabled", false) ?
+            TAB.getInstance().getConfiguration().getConfig().getInt("placeholders.parallel-refresh.threads", 4) : 1;
+
+    /** Placeholders marked as thread-safe in config, such as PlaceholderAPI placeholders of plugins with thread-safe API */
+    private final Set<String> threadSafePlaceholders = new HashSet<>(TAB.getInstance().getConfiguration().getConfig().getStringList("placeholders.parallel-refresh.thread-safe-placeholders", Collections.emptyList()));
+
+    /** Worker pool evaluating player placeholders in parallel, null if parallel evaluation is disabled */
+    private final ExecutorService placeholderWorkers = parallelThreads <= 1 ? null : Executors.newFixedThreadPool(parallelThreads,
+            new ThreadFactoryBuilder().setNameFormat("TAB Placeholder Worker %d").setDaemon(true).build());
+
     //plugin internals + PAPI + API
     private final Map<String, Placeholder> registeredPlaceholders = new HashMap<>();
 
     //map of String-Set of features using placeholder
     private final Map<String, Set<TabFeature>> placeholderUsage = new ConcurrentHashMap<>();
     private Placeholder[] usedPlaceholders = new Placeholder[0];
+
+    /** Used placeholders grouped by refresh interval, so refreshing only visits placeholders which are due */
+    private PlaceholderRefreshBucket[] refreshBuckets = new PlaceholderRefreshBucket[0];
     
     private final AtomicInteger atomic = new AtomicInteger();
     private int refreshInterval = 10000;
@@ -59,24 +83,31 @@ public class PlaceholderManagerImpl extends TabFeature implements PlaceholderMan
     private void refresh() {
         int loopTime = atomic.addAndGet(refreshInterval);
         int size = TAB.getInstance().getOnlinePlayers().length;
-        Map<TabPlayer, Set<TabFeature>> update = new HashMap<>(size);
+        Map<TabPlayer, Map<TabFeature, List<Property>>> update = new HashMap<>(size);
         Map<TabPlayer, Set<TabFeature>> forceUpdate = new HashMap<>(size);
         boolean somethingChanged = false;
-        for (Placeholder placeholder : usedPlaceholders) {
-            if (placeholder.getRefresh() == -1 || loopTime % placeholder.getRefresh() != 0) continue;
-            if (placeholder instanceof RelationalPlaceholderImpl && updateRelationalPlaceholder((RelationalPlaceholderImpl) placeholder, forceUpdate)) somethingChanged = true;
-            if (placeholder instanceof PlayerPlaceholderImpl && updatePlayerPlaceholder((PlayerPlaceholderImpl) placeholder, update)) somethingChanged = true;
-            if (placeholder instanceof ServerPlaceholderImpl && updateServerPlaceholder((ServerPlaceholderImpl) placeholder, update)) somethingChanged = true;
+        for (PlaceholderRefreshBucket bucket : refreshBuckets) {
+            if (!bucket.isDue(loopTime)) continue;
+            long bucketTime = System.nanoTime();
+            TabPlayer[] players = TAB.getInstance().getOnlinePlayers();
+            Map<PlayerPlaceholderImpl, Object[]> outputs = requestInParallel(bucket, players);
+            for (Placeholder placeholder : bucket.getPlaceholders()) {
+                if (placeholder instanceof RelationalPlaceholderImpl && updateRelationalPlaceholder((RelationalPlaceholderImpl) placeholder, forceUpdate)) somethingChanged = true;
+                if (placeholder instanceof PlayerPlaceholderImpl && updatePlayerPlaceholder((PlayerPlaceholderImpl) placeholder, players, outputs.get(placeholder), update)) somethingChanged = true;
+                if (placeholder instanceof ServerPlaceholderImpl && updateServerPlaceholder((ServerPlaceholderImpl) placeholder, update)) somethingChanged = true;
+            }
+            TAB.getInstance().getCPUManager().addPlaceholderBucketTime(bucket.getCpuName(), System.nanoTime()-bucketTime);
         }
         if (somethingChanged) refresh(forceUpdate, update);
     }
     
-    private void refresh(Map<TabPlayer, Set<TabFeature>> forceUpdate, Map<TabPlayer, Set<TabFeature>> update) {
+    private void refresh(Map<TabPlayer, Set<TabFeature>> forceUpdate, Map<TabPlayer, Map<TabFeature, List<Property>>> update) {
         long startRefreshTime = System.nanoTime();
-        for (Entry<TabPlayer, Set<TabFeature>> entry : update.entrySet()) {
-            for (TabFeature r : entry.getValue()) {
+        for (Entry<TabPlayer, Map<TabFeature, List<Property>>> entry : update.entrySet()) {
+            for (Entry<TabFeature, List<Property>> changed : entry.getValue().entrySet()) {
+                TabFeature r = changed.getKey();
                 long startTime = System.nanoTime();
-                r.refresh(entry.getKey(), false);
+                r.refreshProperties(entry.getKey(), changed.getValue());
                 TAB.getInstance().getCPUManager().addTime(r.getFeatureName(), r.getRefreshDisplayName(), System.nanoTime() - startTime);
             }
         }
@@ -94,14 +125,16 @@ public class PlaceholderManagerImpl extends TabFeature implements PlaceholderMan
     private boolean updateRelationalPlaceholder(RelationalPlaceholderImpl placeholder, Map<TabPlayer, Set<TabFeature>> forceUpdate) {
         boolean somethingChanged = false;
         long startTime = System.nanoTime();
-        for (TabPlayer p1 : TAB.getInstance().getOnlinePlayers()) {
-            for (TabPlayer p2 : TAB.getInstance().getOnlinePlayers()) {
-                if (placeholder.update(p1, p2)) {
-                    forceUpdate.computeIfAbsent(p2, x -> new HashSet<>()).addAll(placeholderUsage.get(placeholder.getIdentifier()));
-                    somethingChanged = true;
+        Set<TabFeature> usage = placeholderUsage.get(placeholder.getIdentifier());
+        TabPlayer[] players = TAB.getInstance().getOnlinePlayers();
+        for (TabPlayer viewer : players) {
+            for (TabPlayer target : players) {
+                if (!isDisplayed(usage, viewer, target)) {
+                    placeholder.invalidate(viewer, target);
+                    continue;
                 }
-                if (placeholder.update(p2, p1)) {
-                    forceUpdate.computeIfAbsent(p1, x -> new HashSet<>()).addAll(placeholderUsage.get(placeholder.getIdentifier()));
+                if (placeholder.update(viewer, target)) {
+                    forceUpdate.computeIfAbsent(target, x -> new HashSet<>()).addAll(usage);
                     somethingChanged = true;
                 }
             }
@@ -110,13 +143,107 @@ public class PlaceholderManagerImpl extends TabFeature implements PlaceholderMan
         return somethingChanged;
     }
 
-    private boolean updatePlayerPlaceholder(PlayerPlaceholderImpl placeholder, Map<TabPlayer, Set<TabFeature>> update) {
+    /**
+     * Evaluates request functions of all thread-safe player placeholders in given bucket
+     * for all given players on placeholder worker threads. Each worker processes a chunk
+     * of players, results are then processed on the calling thread. If parallel refresh
+     * is disabled, nothing is evaluated and empty map is returned.
+     *
+     * @param   bucket
+     *          Bucket with placeholders to evaluate
+     * @param   players
+     *          Players to evaluate placeholders for
+     * @return  Map of placeholder outputs with the same indexes as entered players
+     */
+    private Map<PlayerPlaceholderImpl, Object[]> requestInParallel(PlaceholderRefreshBucket bucket, TabPlayer[] players) {
+        if (placeholderWorkers == null || players.length < 2) return Collections.emptyMap();
+        Map<PlayerPlaceholderImpl, Object[]> outputs = new IdentityHashMap<>();
+        for (Placeholder placeholder : bucket.getPlaceholders()) {
+            if (!(placeholder instanceof PlayerPlaceholderImpl)) continue;
+            PlayerPlaceholderImpl playerPlaceholder = (PlayerPlaceholderImpl) placeholder;
+            if (!playerPlaceholder.isThreadSafe() && !threadSafePlaceholders.contains(playerPlaceholder.getIdentifier())) continue;
+            outputs.put(playerPlaceholder, new Object[players.length]);
+        }
+        if (outputs.isEmpty()) return outputs;
+        int chunkSize = (players.length + parallelThreads - 1) / parallelThreads;
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int chunkStart = 0; chunkStart < players.length; chunkStart += chunkSize) {
+            int from = chunkStart;
+            int to = Math.min(chunkStart + chunkSize, players.length);
+            tasks.add(placeholderWorkers.submit(() -> {
+                for (Entry<PlayerPlaceholderImpl, Object[]> entry : outputs.entrySet()) {
+                    long startTime = System.nanoTime();
+                    for (int i=from; i<to; i++) {
+                        entry.getValue()[i] = entry.getKey().request(players[i]);
+                    }
+                    TAB.getInstance().getCPUManager().addPlaceholderTime(entry.getKey().getIdentifier(), System.nanoTime()-startTime);
+                }
+            }));
+        }
+        for (Future<?> task : tasks) {
+            try {
+                task.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Collections.emptyMap();
+            } catch (ExecutionException e) {
+                TAB.getInstance().getErrorManager().printError("Failed to evaluate placeholders in parallel", e);
+                return Collections.emptyMap();
+            }
+        }
+        return outputs;
+    }
+
+    /**
+     * Returns {@code true} if at least one of given features displays text of target
+     * to viewer, {@code false} if none of them do.
+     *
+     * @param   features
+     *          Features using a relational placeholder
+     * @param   viewer
+     *          Player viewing the text
+     * @param   target
+     *          Player the text belongs to
+     * @return  {@code true} if the duo is displayed by any of the features, {@code false} if not
+     */
+    private boolean isDisplayed(Set<TabFeature> features, TabPlayer viewer, TabPlayer target) {
+        for (TabFeature feature : features) {
+            if (!(feature instanceof RelationalPairFilter) || ((RelationalPairFilter) feature).isDisplayed(viewer, target)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Marks all features using given placeholder for refresh of given player together
+     * with properties of the player which use the placeholder and need to be updated.
+     *
+     * @param   player
+     *          Player the placeholder changed value for
+     * @param   identifier
+     *          Identifier of placeholder which changed value
+     * @param   update
+     *          Map of features to refresh with their changed properties
+     */
+    private void markChanged(TabPlayer player, String identifier, Map<TabPlayer, Map<TabFeature, List<Property>>> update) {
+        Map<TabFeature, List<Property>> features = update.computeIfAbsent(player, k -> new HashMap<>());
+        for (TabFeature feature : placeholderUsage.get(identifier)) {
+            features.computeIfAbsent(feature, k -> new ArrayList<>());
+        }
+        if (!(player instanceof ITabPlayer)) return;
+        for (DynamicText property : ((ITabPlayer) player).getPropertiesUsing(identifier)) {
+            List<Property> changed = features.computeIfAbsent(property.getListener(), k -> new ArrayList<>());
+            if (!changed.contains(property)) changed.add(property);
+        }
+    }
+
+    private boolean updatePlayerPlaceholder(PlayerPlaceholderImpl placeholder, TabPlayer[] players, Object[] outputs, Map<TabPlayer, Map<TabFeature, List<Property>>> update) {
         boolean somethingChanged = false;
         long startTime = System.nanoTime();
-        for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
-            if (placeholder.update(all)) {
+        for (int i=0; i<players.length; i++) {
+            TabPlayer all = players[i];
+            if (outputs == null ? placeholder.update(all) : placeholder.update(all, outputs[i])) {
                 if (placeholder.getIdentifier().equals(TabConstants.Placeholder.VANISHED)) TAB.getInstance().getFeatureManager().onVanishStatusChange(all);
-                update.computeIfAbsent(all, k -> new HashSet<>()).addAll(placeholderUsage.get(placeholder.getIdentifier()));
+                markChanged(all, placeholder.getIdentifier(), update);
                 somethingChanged = true;
             }
         }
@@ -124,13 +251,13 @@ public class PlaceholderManagerImpl extends TabFeature implements PlaceholderMan
         return somethingChanged;
     }
 
-    private boolean updateServerPlaceholder(ServerPlaceholderImpl placeholder, Map<TabPlayer, Set<TabFeature>> update) {
+    private boolean updateServerPlaceholder(ServerPlaceholderImpl placeholder, Map<TabPlayer, Map<TabFeature, List<Property>>> update) {
         boolean somethingChanged = false;
         long startTime = System.nanoTime();
         if (placeholder.update()) {
             somethingChanged = true;
             for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
-                update.computeIfAbsent(all, k -> new HashSet<>()).addAll(placeholderUsage.get(placeholder.getIdentifier()));
+                markChanged(all, placeholder.getIdentifier(), update);
             }
         }
         TAB.getInstance().getCPUManager().addPlaceholderTime(placeholder.getIdentifier(), System.nanoTime()-startTime);
@@ -187,6 +314,7 @@ public class PlaceholderManagerImpl extends TabFeature implements PlaceholderMan
     @Override
     public void unload() {
         registeredPlaceholders.values().forEach(Placeholder::unload);
+        if (placeholderWorkers != null) placeholderWorkers.shutdownNow();
     }
 
     @Override
@@ -266,6 +394,13 @@ public class PlaceholderManagerImpl extends TabFeature implements PlaceholderMan
     
     public void recalculateUsedPlaceholders() {
         usedPlaceholders = placeholderUsage.keySet().stream().map(this::getPlaceholder).distinct().toArray(Placeholder[]::new);
+        Map<Integer, List<Placeholder>> byInterval = new TreeMap<>();
+        for (Placeholder placeholder : usedPlaceholders) {
+            if (placeholder.getRefresh() <= 0) continue;
+            byInterval.computeIfAbsent(placeholder.getRefresh(), i -> new ArrayList<>()).add(placeholder);
+        }
+        refreshBuckets = byInterval.entrySet().stream().map(entry ->
+                new PlaceholderRefreshBucket(entry.getKey(), entry.getValue().toArray(new Placeholder[0]))).toArray(PlaceholderRefreshBucket[]::new);
     }
 
     @Override
@@ -294,6 +429,15 @@ public class PlaceholderManagerImpl extends TabFeature implements PlaceholderMan
         this.tabExpansion = tabExpansion;
     }
 
+    @Override
+    public void onQuit(TabPlayer disconnectedPlayer) {
+        for (Placeholder p : registeredPlaceholders.values()) {
+            if (p instanceof RelationalPlaceholderImpl) {
+                ((RelationalPlaceholderImpl) p).removePlayer(disconnectedPlayer);
+            }
+        }
+    }
+
     @Override
     public void onJoin(TabPlayer connectedPlayer) {
         for (Placeholder p : usedPlaceholders) {
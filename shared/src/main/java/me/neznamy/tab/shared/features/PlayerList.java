@@ -16,11 +16,12 @@ import me.neznamy.tab.shared.features.layout.Layout;
 import me.neznamy.tab.shared.features.layout.LayoutManager;
 import me.neznamy.tab.shared.features.layout.PlayerSlot;
 import me.neznamy.tab.shared.features.redis.RedisSupport;
+import me.neznamy.tab.shared.placeholders.RelationalPairFilter;
 
 /**
  * Feature handler for TabList display names
  */
-public class PlayerList extends TabFeature implements TablistFormatManager {
+public class PlayerList extends TabFeature implements TablistFormatManager, RelationalPairFilter {
 
     /** Config option toggling anti-override which prevents other plugins from overriding TAB */
     protected final boolean antiOverrideTabList = TAB.getInstance().getConfiguration().getConfig().getBoolean("tablist-name-formatting.anti-override", true);
@@ -32,6 +33,11 @@ public class PlayerList extends TabFeature implements TablistFormatManager {
      */
     private boolean disabling = false;
 
+    /** Keys of properties displayed in TabList, looked up on every refresh */
+    private final PropertyKey prefixProperty = PropertyKey.of(TabConstants.Property.TABPREFIX);
+    private final PropertyKey nameProperty = PropertyKey.of(TabConstants.Property.CUSTOMTABNAME);
+    private final PropertyKey suffixProperty = PropertyKey.of(TabConstants.Property.TABSUFFIX);
+
     /**
      * Constructs new instance and sends debug message that feature loaded.
      */
@@ -90,13 +96,20 @@ public class PlayerList extends TabFeature implements TablistFormatManager {
      *          Whether player's actual format should be used or {@code null} for reset
      */
     protected void updatePlayer(TabPlayer p, boolean format) {
+        PacketPlayOutPlayerInfo packet = null;
         for (TabPlayer viewer : TAB.getInstance().getOnlinePlayers()) {
             if (viewer.getVersion().getMinorVersion() < 8) continue;
-            viewer.sendCustomPacket(new PacketPlayOutPlayerInfo(EnumPlayerInfoAction.UPDATE_DISPLAY_NAME,
-                    new PlayerInfoData(getTablistUUID(p, viewer), format ? getTabFormat(p, viewer) : null)), this);
+            UUID tablistId = getTablistUUID(p, viewer);
+            IChatBaseComponent displayName = format ? getTabFormat(p, viewer) : null;
+            //components are cached, sending the same packet instance to viewers with identical result, so it is only built once for each client version
+            PlayerInfoData previous = packet == null ? null : packet.getEntries().get(0);
+            if (previous == null || !previous.getUniqueId().equals(tablistId) || previous.getDisplayName() != displayName) {
+                packet = new PacketPlayOutPlayerInfo(EnumPlayerInfoAction.UPDATE_DISPLAY_NAME, new PlayerInfoData(tablistId, displayName));
+            }
+            viewer.sendCustomPacket(packet, this);
         }
         RedisSupport redis = (RedisSupport) TAB.getInstance().getFeatureManager().getFeature(TabConstants.Feature.REDIS_BUNGEE);
-        if (redis != null) redis.updateTabFormat(p, p.getProperty(TabConstants.Property.TABPREFIX).get() + p.getProperty(TabConstants.Property.CUSTOMTABNAME).get() + p.getProperty(TabConstants.Property.TABSUFFIX).get());
+        if (redis != null) redis.updateTabFormat(p, p.getProperty(prefixProperty).get() + p.getProperty(nameProperty).get() + p.getProperty(suffixProperty).get());
     }
 
     /**
@@ -109,9 +122,9 @@ public class PlayerList extends TabFeature implements TablistFormatManager {
      * @return  Format of specified player for viewer
      */
     public IChatBaseComponent getTabFormat(TabPlayer p, TabPlayer viewer) {
-        Property prefix = p.getProperty(TabConstants.Property.TABPREFIX);
-        Property name = p.getProperty(TabConstants.Property.CUSTOMTABNAME);
-        Property suffix = p.getProperty(TabConstants.Property.TABSUFFIX);
+        Property prefix = p.getProperty(prefixProperty);
+        Property name = p.getProperty(nameProperty);
+        Property suffix = p.getProperty(suffixProperty);
         if (prefix == null || name == null || suffix == null) {
             return null;
         }
@@ -183,14 +196,36 @@ public class PlayerList extends TabFeature implements TablistFormatManager {
             updateProperties(refreshed);
             refresh = true;
         } else {
-            boolean prefix = refreshed.getProperty(TabConstants.Property.TABPREFIX).update();
-            boolean name = refreshed.getProperty(TabConstants.Property.CUSTOMTABNAME).update();
-            boolean suffix = refreshed.getProperty(TabConstants.Property.TABSUFFIX).update();
+            boolean prefix = refreshed.getProperty(prefixProperty).update();
+            boolean name = refreshed.getProperty(nameProperty).update();
+            boolean suffix = refreshed.getProperty(suffixProperty).update();
             refresh = prefix || name || suffix;
         }
         if (refresh) {
-            updatePlayer(refreshed, true);
+            updateFormat(refreshed);
+        }
+    }
+
+    @Override
+    public void refreshProperties(TabPlayer refreshed, List<Property> changedProperties) {
+        if (isDisabledPlayer(refreshed)) return;
+        boolean refresh = false;
+        for (Property property : changedProperties) {
+            if (property.update()) refresh = true;
         }
+        if (refresh) {
+            updateFormat(refreshed);
+        }
+    }
+
+    /**
+     * Sends new TabList format of player to everyone after its properties changed
+     *
+     * @param   p
+     *          player whose format changed
+     */
+    protected void updateFormat(TabPlayer p) {
+        updatePlayer(p, true);
     }
 
     @Override
@@ -232,78 +267,78 @@ public class PlayerList extends TabFeature implements TablistFormatManager {
     @Override
     public void setPrefix(TabPlayer player, String prefix) {
         Preconditions.checkLoaded(player);
-        player.getProperty(TabConstants.Property.TABPREFIX).setTemporaryValue(prefix);
+        player.getProperty(prefixProperty).setTemporaryValue(prefix);
         updatePlayer(player, true);
     }
 
     @Override
     public void setName(TabPlayer player, String customName) {
         Preconditions.checkLoaded(player);
-        player.getProperty(TabConstants.Property.CUSTOMTABNAME).setTemporaryValue(customName);
+        player.getProperty(nameProperty).setTemporaryValue(customName);
         updatePlayer(player, true);
     }
 
     @Override
     public void setSuffix(TabPlayer player, String suffix) {
         Preconditions.checkLoaded(player);
-        player.getProperty(TabConstants.Property.TABSUFFIX).setTemporaryValue(suffix);
+        player.getProperty(suffixProperty).setTemporaryValue(suffix);
         updatePlayer(player, true);
     }
 
     @Override
     public void resetPrefix(TabPlayer player) {
         Preconditions.checkLoaded(player);
-        player.getProperty(TabConstants.Property.TABPREFIX).setTemporaryValue(null);
+        player.getProperty(prefixProperty).setTemporaryValue(null);
         updatePlayer(player, true);
     }
 
     @Override
     public void resetName(TabPlayer player) {
         Preconditions.checkLoaded(player);
-        player.getProperty(TabConstants.Property.CUSTOMTABNAME).setTemporaryValue(null);
+        player.getProperty(nameProperty).setTemporaryValue(null);
         updatePlayer(player, true);
     }
 
     @Override
     public void resetSuffix(TabPlayer player) {
         Preconditions.checkLoaded(player);
-        player.getProperty(TabConstants.Property.TABSUFFIX).setTemporaryValue(null);
+        player.getProperty(suffixProperty).setTemporaryValue(null);
         updatePlayer(player, true);
     }
 
     @Override
     public String getCustomPrefix(TabPlayer player) {
         Preconditions.checkLoaded(player);
-        return player.getProperty(TabConstants.Property.TABPREFIX).getTemporaryValue();
+        return player.getProperty(prefixProperty).getTemporaryValue();
     }
 
     @Override
     public String getCustomName(TabPlayer player) {
         Preconditions.checkLoaded(player);
-        return player.getProperty(TabConstants.Property.CUSTOMTABNAME).getTemporaryValue();
+        return player.getProperty(nameProperty).getTemporaryValue();
     }
 
     @Override
     public String getCustomSuffix(TabPlayer player) {
         Preconditions.checkLoaded(player);
-        return player.getProperty(TabConstants.Property.TABSUFFIX).getTemporaryValue();
+        return player.getProperty(suffixProperty).getTemporaryValue();
     }
 
     @Override
     public String getOriginalPrefix(TabPlayer player) {
         Preconditions.checkLoaded(player);
-        return player.getProperty(TabConstants.Property.TABPREFIX).getOriginalRawValue();
+        return player.getProperty(prefixProperty).getOriginalRawValue();
     }
 
     @Override
     public String getOriginalName(TabPlayer player) {
         Preconditions.checkLoaded(player);
-        return player.getProperty(TabConstants.Property.CUSTOMTABNAME).getOriginalRawValue();
+        return player.getProperty(nameProperty).getOriginalRawValue();
     }
 
     @Override
     public String getOriginalSuffix(TabPlayer player) {
         Preconditions.checkLoaded(player);
-        return player.getProperty(TabConstants.Property.TABSUFFIX).getOriginalRawValue();
+        return player.getProperty(suffixProperty).getOriginalRawValue();
     }
 }
\ No newline at end of file
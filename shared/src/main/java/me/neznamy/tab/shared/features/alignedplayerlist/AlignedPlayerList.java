@@ -100,21 +100,8 @@ public class AlignedPlayerList extends PlayerList {
     }
 
     @Override
-    public void refresh(TabPlayer refreshed, boolean force) {
-        if (isDisabledPlayer(refreshed)) return;
-        boolean refresh;
-        if (force) {
-            updateProperties(refreshed);
-            refresh = true;
-        } else {
-            boolean prefix = refreshed.getProperty(TabConstants.Property.TABPREFIX).update();
-            boolean name = refreshed.getProperty(TabConstants.Property.CUSTOMTABNAME).update();
-            boolean suffix = refreshed.getProperty(TabConstants.Property.TABSUFFIX).update();
-            refresh = prefix || name || suffix;
-        }
-        if (refresh) {
-            playerViews.values().forEach(v -> v.updatePlayer(refreshed));
-        }
+    protected void updateFormat(TabPlayer p) {
+        playerViews.values().forEach(v -> v.updatePlayer(p));
     }
 
     @Override
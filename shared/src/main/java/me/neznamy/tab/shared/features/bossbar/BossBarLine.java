@@ -50,6 +50,10 @@ public class BossBarLine implements BossBar {
     private final TabFeature progressRefresher;
     private final TabFeature colorAndStyleRefresher;
 
+    //last sent title and progress packets, reused for players with identical result
+    private PacketPlayOutBoss lastTitlePacket;
+    private PacketPlayOutBoss lastProgressPacket;
+
     //property names
     private final String propertyTitle;
     private final String propertyProgress;
@@ -96,7 +100,12 @@ public class BossBarLine implements BossBar {
             @Override
             public void refresh(TabPlayer refreshed, boolean force) {
                 if (!players.contains(refreshed)) return;
-                refreshed.sendCustomPacket(new PacketPlayOutBoss(uuid, refreshed.getProperty(propertyTitle).updateAndGet()), TabConstants.PacketCategory.BOSSBAR_TEXT);
+                String currentTitle = refreshed.getProperty(propertyTitle).updateAndGet();
+                PacketPlayOutBoss packet = lastTitlePacket;
+                if (packet == null || !packet.getName().equals(currentTitle)) {
+                    lastTitlePacket = packet = new PacketPlayOutBoss(uuid, currentTitle);
+                }
+                refreshed.sendCustomPacket(packet, TabConstants.PacketCategory.BOSSBAR_TEXT);
             }
         });
         TAB.getInstance().getFeatureManager().registerFeature(TabConstants.Feature.bossBarProgress(name),
@@ -104,7 +113,12 @@ public class BossBarLine implements BossBar {
             @Override
             public void refresh(TabPlayer refreshed, boolean force) {
                 if (!players.contains(refreshed)) return;
-                refreshed.sendCustomPacket(new PacketPlayOutBoss(uuid, parseProgress(refreshed.getProperty(propertyProgress).updateAndGet())/100), TabConstants.PacketCategory.BOSSBAR_PROGRESS);
+                float currentProgress = parseProgress(refreshed.getProperty(propertyProgress).updateAndGet())/100;
+                PacketPlayOutBoss packet = lastProgressPacket;
+                if (packet == null || packet.getPct() != currentProgress) {
+                    lastProgressPacket = packet = new PacketPlayOutBoss(uuid, currentProgress);
+                }
+                refreshed.sendCustomPacket(packet, TabConstants.PacketCategory.BOSSBAR_PROGRESS);
             }
         });
         TAB.getInstance().getFeatureManager().registerFeature(TabConstants.Feature.bossBarColorStyle(name),
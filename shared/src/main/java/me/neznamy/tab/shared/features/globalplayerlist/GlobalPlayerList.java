@@ -45,11 +45,13 @@ public class GlobalPlayerList extends TabFeature {
 
     @Override
     public void load() {
-        for (TabPlayer displayed : TAB.getInstance().getOnlinePlayers()) {
-            for (TabPlayer viewer : TAB.getInstance().getOnlinePlayers()) {
+        for (TabPlayer viewer : TAB.getInstance().getOnlinePlayers()) {
+            List<PlayerInfoData> added = new ArrayList<>();
+            for (TabPlayer displayed : TAB.getInstance().getOnlinePlayers()) {
                 if (viewer.getServer().equals(displayed.getServer())) continue;
-                if (shouldSee(viewer, displayed)) viewer.sendCustomPacket(getAddPacket(displayed, viewer), this);
+                if (shouldSee(viewer, displayed)) added.add(getAddData(displayed, viewer));
             }
+            if (!added.isEmpty()) viewer.sendCustomPacket(new PacketPlayOutPlayerInfo(EnumPlayerInfoAction.ADD_PLAYER, added), this);
         }
         placeholders.forEach(pl -> pl.updateValue(pl.request()));
     }
@@ -70,25 +72,28 @@ public class GlobalPlayerList extends TabFeature {
 
     @Override
     public void unload() {
-        for (TabPlayer displayed : TAB.getInstance().getOnlinePlayers()) {
-            PacketPlayOutPlayerInfo displayedRemovePacket = getRemovePacket(displayed);
-            for (TabPlayer viewer : TAB.getInstance().getOnlinePlayers()) {
-                if (!displayed.getServer().equals(viewer.getServer())) viewer.sendCustomPacket(displayedRemovePacket, this);
+        for (TabPlayer viewer : TAB.getInstance().getOnlinePlayers()) {
+            List<PlayerInfoData> removed = new ArrayList<>();
+            for (TabPlayer displayed : TAB.getInstance().getOnlinePlayers()) {
+                if (!displayed.getServer().equals(viewer.getServer())) removed.add(new PlayerInfoData(displayed.getTablistUUID()));
             }
+            if (!removed.isEmpty()) viewer.sendCustomPacket(getRemovePacket(removed), this);
         }
     }
 
     @Override
     public void onJoin(TabPlayer connectedPlayer) {
+        List<PlayerInfoData> added = new ArrayList<>();
         for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
             if (all == connectedPlayer) continue;
             if (shouldSee(all, connectedPlayer)) {
                 all.sendCustomPacket(getAddPacket(connectedPlayer, all), this);
             }
             if (shouldSee(connectedPlayer, all)) {
-                connectedPlayer.sendCustomPacket(getAddPacket(all, connectedPlayer), this);
+                added.add(getAddData(all, connectedPlayer));
             }
         }
+        if (!added.isEmpty()) connectedPlayer.sendCustomPacket(new PacketPlayOutPlayerInfo(EnumPlayerInfoAction.ADD_PLAYER, added), this);
         placeholders.forEach(pl -> pl.updateValue(pl.request()));
     }
 
@@ -113,6 +118,8 @@ public class GlobalPlayerList extends TabFeature {
         lastServerSwitch.put(p, System.currentTimeMillis());
         Runnable r = () -> {
             PacketPlayOutPlayerInfo removeChanged = getRemovePacket(p);
+            List<PlayerInfoData> added = new ArrayList<>();
+            List<PlayerInfoData> removed = new ArrayList<>();
             for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
                 if (all == p) continue;
                 if (shouldSee(all, p)) {
@@ -121,11 +128,13 @@ public class GlobalPlayerList extends TabFeature {
                     all.sendCustomPacket(removeChanged, this);
                 }
                 if (shouldSee(p, all)) {
-                    p.sendCustomPacket(getAddPacket(all, p), this);
+                    added.add(getAddData(all, p));
                 } else {
-                    p.sendCustomPacket(getRemovePacket(all), this);
+                    removed.add(new PlayerInfoData(all.getTablistUUID()));
                 }
             }
+            if (!removed.isEmpty()) p.sendCustomPacket(getRemovePacket(removed), this);
+            if (!added.isEmpty()) p.sendCustomPacket(new PacketPlayOutPlayerInfo(EnumPlayerInfoAction.ADD_PLAYER, added), this);
         };
         if (!TAB.getInstance().getFeatureManager().isFeatureEnabled(TabConstants.Feature.PIPELINE_INJECTION)) {
             TAB.getInstance().getCPUManager().runTaskLater(200, this, TabConstants.CpuUsageCategory.SERVER_SWITCH, r);
@@ -136,28 +145,51 @@ public class GlobalPlayerList extends TabFeature {
     }
 
     public PacketPlayOutPlayerInfo getRemovePacket(TabPlayer p) {
-        return new PacketPlayOutPlayerInfo(EnumPlayerInfoAction.REMOVE_PLAYER,
-                new PlayerInfoData(p.getTablistUUID()), new PlayerInfoData(EMPTY_ID));
+        return getRemovePacket(new ArrayList<>(Collections.singletonList(new PlayerInfoData(p.getTablistUUID()))));
+    }
+
+    /**
+     * Returns remove packet of all given entries marked as coming from TAB.
+     * The list is modified by adding the marker entry.
+     *
+     * @param   entries
+     *          entries of players to remove
+     * @return  remove packet of all given entries
+     */
+    private PacketPlayOutPlayerInfo getRemovePacket(List<PlayerInfoData> entries) {
+        entries.add(new PlayerInfoData(EMPTY_ID));
+        return new PacketPlayOutPlayerInfo(EnumPlayerInfoAction.REMOVE_PLAYER, entries);
     }
 
     public PacketPlayOutPlayerInfo getAddPacket(TabPlayer p, TabPlayer viewer) {
+        return new PacketPlayOutPlayerInfo(EnumPlayerInfoAction.ADD_PLAYER, getAddData(p, viewer));
+    }
+
+    /**
+     * Returns PlayerInfo entry for adding player into TabList of viewer
+     *
+     * @param   p
+     *          player to add
+     * @param   viewer
+     *          player to add the player to
+     * @return  entry for adding the player
+     */
+    private PlayerInfoData getAddData(TabPlayer p, TabPlayer viewer) {
         IChatBaseComponent format = null;
         PlayerList playerlist = (PlayerList) TAB.getInstance().getFeatureManager().getFeature(TabConstants.Feature.PLAYER_LIST);
         if (playerlist != null) {
             format = playerlist.getTabFormat(p, viewer);
         }
-        return new PacketPlayOutPlayerInfo(EnumPlayerInfoAction.ADD_PLAYER,
-                new PlayerInfoData(
-                        p.getName(),
-                        p.getTablistUUID(),
-                        p.getSkin(),
-                        true,
-                        p.getPing(),
-                        vanishedAsSpectators && p.isVanished() ? EnumGamemode.SPECTATOR : EnumGamemode.CREATIVE,
-                        viewer.getVersion().getMinorVersion() >= 8 ? format : null,
-                        fillProfileKey ? p.getChatSessionId() : null,
-                        fillProfileKey ? p.getProfilePublicKey() : null
-                )
+        return new PlayerInfoData(
+                p.getName(),
+                p.getTablistUUID(),
+                p.getSkin(),
+                true,
+                p.getPing(),
+                vanishedAsSpectators && p.isVanished() ? EnumGamemode.SPECTATOR : EnumGamemode.CREATIVE,
+                viewer.getVersion().getMinorVersion() >= 8 ? format : null,
+                fillProfileKey ? p.getChatSessionId() : null,
+                fillProfileKey ? p.getProfilePublicKey() : null
         );
     }
 
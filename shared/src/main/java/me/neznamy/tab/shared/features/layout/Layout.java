@@ -1,8 +1,6 @@
 package me.neznamy.tab.shared.features.layout;
 
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 import me.neznamy.tab.api.ProtocolVersion;
 import me.neznamy.tab.api.TabFeature;
@@ -76,11 +74,12 @@ public class Layout extends TabFeature {
     }
 
     public void tick() {
-        Stream<TabPlayer> str = manager.getSortedPlayers().keySet().stream();
-        if (manager.isHideVanishedPlayers()) {
-            str = str.filter(player -> !player.isVanished());
+        Collection<TabPlayer> sortedPlayers = manager.getSortedPlayers();
+        List<TabPlayer> players = new ArrayList<>(sortedPlayers.size());
+        for (TabPlayer player : sortedPlayers) {
+            if (manager.isHideVanishedPlayers() && player.isVanished()) continue;
+            players.add(player);
         }
-        List<TabPlayer> players = str.collect(Collectors.toList());
         for (ParentGroup group : groups) {
             group.tick(players);
         }
@@ -31,8 +31,8 @@ public class LayoutManager extends TabFeature {
     }};
     private final Map<String, Layout> layouts = loadLayouts();
     private final WeakHashMap<TabPlayer, Layout> playerViews = new WeakHashMap<>();
-    private final WeakHashMap<TabPlayer, String> teamNames = new WeakHashMap<>();
-    private final Map<TabPlayer, String> sortedPlayers = Collections.synchronizedMap(new TreeMap<>(Comparator.comparing(teamNames::get)));
+    private final WeakHashMap<TabPlayer, String> sortKeys = new WeakHashMap<>();
+    private final TreeMap<String, TabPlayer> sortedPlayers = new TreeMap<>();
     private final Sorting sorting = (Sorting) TAB.getInstance().getFeatureManager().getFeature(TabConstants.Feature.SORTING);
 
     public LayoutManager() {
@@ -105,8 +105,7 @@ public class LayoutManager extends TabFeature {
 
     @Override
     public void onJoin(TabPlayer p) {
-        teamNames.put(p, sorting.getFullTeamName(p));
-        sortedPlayers.put(p, sorting.getFullTeamName(p));
+        addSortedPlayer(p, sorting.getFullTeamName(p));
         Layout highest = getHighestLayout(p);
         if (highest != null) highest.sendTo(p);
         playerViews.put(p, highest);
@@ -123,8 +122,7 @@ public class LayoutManager extends TabFeature {
 
     @Override
     public void onQuit(TabPlayer p) {
-        sortedPlayers.remove(p);
-        teamNames.remove(p);
+        removeSortedPlayer(p);
         layouts.values().forEach(Layout::tick);
     }
 
@@ -187,12 +185,23 @@ public class LayoutManager extends TabFeature {
     }
 
     public void updateTeamName(TabPlayer p, String teamName) {
-        sortedPlayers.remove(p);
-        teamNames.put(p, teamName);
-        sortedPlayers.put(p, teamName);
+        addSortedPlayer(p, teamName);
         layouts.values().forEach(Layout::tick);
     }
 
+    private void addSortedPlayer(TabPlayer p, String teamName) {
+        //separator lower than any other character keeps players with equal team names apart without affecting the order
+        String key = teamName + '\u0000' + p.getName();
+        String previousKey = sortKeys.put(p, key);
+        if (previousKey != null) sortedPlayers.remove(previousKey);
+        sortedPlayers.put(key, p);
+    }
+
+    private void removeSortedPlayer(TabPlayer p) {
+        String key = sortKeys.remove(p);
+        if (key != null) sortedPlayers.remove(key);
+    }
+
     public boolean isRemainingPlayersTextEnabled() {
         return enableRemainingPlayersText;
     }
@@ -201,8 +210,8 @@ public class LayoutManager extends TabFeature {
         return remainingPlayersText;
     }
 
-    public Map<TabPlayer, String> getSortedPlayers() {
-        return sortedPlayers;
+    public Collection<TabPlayer> getSortedPlayers() {
+        return sortedPlayers.values();
     }
 
     public Map<Integer, UUID> getUuids() {
@@ -30,10 +30,17 @@ public class ParentGroup {
     public void tick(List<TabPlayer> remainingPlayers){
         players.clear();
         List<TabPlayer> meetingCondition = new ArrayList<>();
-        for (TabPlayer p : remainingPlayers) {
-            if (condition == null || condition.isMet(p)) meetingCondition.add(p);
+        //moving players not meeting condition to the front in a single pass instead of removing the others one by one
+        int remaining = 0;
+        for (int i = 0; i < remainingPlayers.size(); i++) {
+            TabPlayer p = remainingPlayers.get(i);
+            if (condition == null || condition.isMet(p)) {
+                meetingCondition.add(p);
+            } else {
+                remainingPlayers.set(remaining++, p);
+            }
         }
-        remainingPlayers.removeAll(meetingCondition);
+        remainingPlayers.subList(remaining, remainingPlayers.size()).clear();
         for (int index = 0; index < slots.length; index++) {
             int slot = slots[index];
             if (layout.getManager().isRemainingPlayersTextEnabled() && index == slots.length - 1 && playerSlots.size() < meetingCondition.size()) {
@@ -3,6 +3,7 @@ package me.neznamy.tab.shared.features.nametags;
 import java.util.*;
 
 import me.neznamy.tab.api.Property;
+import me.neznamy.tab.api.PropertyKey;
 import me.neznamy.tab.api.ProtocolVersion;
 import me.neznamy.tab.api.TabFeature;
 import me.neznamy.tab.api.TabPlayer;
@@ -15,14 +16,17 @@ import me.neznamy.tab.shared.features.TabExpansion;
 import me.neznamy.tab.shared.features.redis.RedisSupport;
 import me.neznamy.tab.shared.features.layout.LayoutManager;
 import me.neznamy.tab.shared.features.sorting.Sorting;
+import me.neznamy.tab.shared.placeholders.RelationalPairFilter;
 
-public class NameTag extends TabFeature implements TeamManager {
+public class NameTag extends TabFeature implements TeamManager, RelationalPairFilter {
 
     protected final boolean invisibleNameTags = TAB.getInstance().getConfiguration().getConfig().getBoolean("scoreboard-teams.invisible-nametags", false);
     private final boolean collisionRule = TAB.getInstance().getConfiguration().getConfig().getBoolean("scoreboard-teams.enable-collision", true);
     private final boolean canSeeFriendlyInvisibles = TAB.getInstance().getConfig().getBoolean("scoreboard-teams.can-see-friendly-invisibles", false);
     private final Sorting sorting = (Sorting) TAB.getInstance().getFeatureManager().getFeature(TabConstants.Feature.SORTING);
     private final CollisionManager collisionManager = new CollisionManager(this, collisionRule);
+    private final PropertyKey prefixProperty = PropertyKey.of(TabConstants.Property.TAGPREFIX);
+    private final PropertyKey suffixProperty = PropertyKey.of(TabConstants.Property.TAGSUFFIX);
 
     private final Set<TabPlayer> hiddenNameTag = Collections.newSetFromMap(new WeakHashMap<>());
     protected final Set<TabPlayer> teamHandlingPaused = Collections.newSetFromMap(new WeakHashMap<>());
@@ -82,13 +86,25 @@ public class NameTag extends TabFeature implements TeamManager {
             updateProperties(refreshed);
             refresh = true;
         } else {
-            boolean prefix = refreshed.getProperty(TabConstants.Property.TAGPREFIX).update();
-            boolean suffix = refreshed.getProperty(TabConstants.Property.TAGSUFFIX).update();
+            boolean prefix = refreshed.getProperty(prefixProperty).update();
+            boolean suffix = refreshed.getProperty(suffixProperty).update();
             refresh = prefix || suffix;
         }
         if (refresh) updateTeam(refreshed);
     }
 
+    @Override
+    public void refreshProperties(TabPlayer refreshed, List<Property> changedProperties) {
+        if (isDisabledPlayer(refreshed)) return;
+        Property prefix = refreshed.getProperty(prefixProperty);
+        Property suffix = refreshed.getProperty(suffixProperty);
+        boolean refresh = false;
+        for (Property property : changedProperties) {
+            if ((property == prefix || property == suffix) && property.update()) refresh = true;
+        }
+        if (refresh) updateTeam(refreshed);
+    }
+
     @Override
     public void onJoin(TabPlayer connectedPlayer) {
         sorting.constructTeamNames(connectedPlayer);
@@ -238,29 +254,38 @@ public class NameTag extends TabFeature implements TeamManager {
     
     @Override
     public void updateTeamData(TabPlayer p) {
-        Property tagPrefix = p.getProperty(TabConstants.Property.TAGPREFIX);
-        Property tagSuffix = p.getProperty(TabConstants.Property.TAGSUFFIX);
+        Property tagPrefix = p.getProperty(prefixProperty);
+        Property tagSuffix = p.getProperty(suffixProperty);
+        String teamName = sorting.getShortTeamName(p);
+        String collision = translate(collisionManager.getCollision(p));
+        PacketPlayOutScoreboardTeam packet = null;
         for (TabPlayer viewer : TAB.getInstance().getOnlinePlayers()) {
             String currentPrefix = tagPrefix.getFormat(viewer);
             String currentSuffix = tagSuffix.getFormat(viewer);
-            boolean visible = getTeamVisibility(p, viewer);
-            viewer.sendCustomPacket(new PacketPlayOutScoreboardTeam(sorting.getShortTeamName(p), currentPrefix, currentSuffix, translate(visible), translate(collisionManager.getCollision(p)), getTeamOptions()), TabConstants.PacketCategory.NAMETAGS_TEAM_UPDATE);
+            String visibility = translate(getTeamVisibility(p, viewer));
+            //sending the same packet instance to viewers with identical result, so it is only built once for each client version
+            if (packet == null || !packet.getPlayerPrefix().equals(currentPrefix) || !packet.getPlayerSuffix().equals(currentSuffix) ||
+                    !packet.getNameTagVisibility().equals(visibility)) {
+                packet = new PacketPlayOutScoreboardTeam(teamName, currentPrefix, currentSuffix, visibility, collision, getTeamOptions());
+            }
+            viewer.sendCustomPacket(packet, TabConstants.PacketCategory.NAMETAGS_TEAM_UPDATE);
         }
         RedisSupport redis = (RedisSupport) TAB.getInstance().getFeatureManager().getFeature(TabConstants.Feature.REDIS_BUNGEE);
-        if (redis != null) redis.updateNameTag(p, p.getProperty(TabConstants.Property.TAGPREFIX).get(), p.getProperty(TabConstants.Property.TAGSUFFIX).get());
+        if (redis != null) redis.updateNameTag(p, p.getProperty(prefixProperty).get(), p.getProperty(suffixProperty).get());
     }
 
     public void updateTeamData(TabPlayer p, TabPlayer viewer) {
         boolean visible = getTeamVisibility(p, viewer);
-        String currentPrefix = p.getProperty(TabConstants.Property.TAGPREFIX).getFormat(viewer);
-        String currentSuffix = p.getProperty(TabConstants.Property.TAGSUFFIX).getFormat(viewer);
+        String currentPrefix = p.getProperty(prefixProperty).getFormat(viewer);
+        String currentSuffix = p.getProperty(suffixProperty).getFormat(viewer);
         viewer.sendCustomPacket(new PacketPlayOutScoreboardTeam(sorting.getShortTeamName(p), currentPrefix, currentSuffix, translate(visible), translate(collisionManager.getCollision(p)), getTeamOptions()), TabConstants.PacketCategory.NAMETAGS_TEAM_UPDATE);
     }
 
     public void unregisterTeam(TabPlayer p, String teamName) {
         if (hasTeamHandlingPaused(p) || sorting.getShortTeamName(p) == null) return;
+        PacketPlayOutScoreboardTeam packet = new PacketPlayOutScoreboardTeam(teamName);
         for (TabPlayer viewer : TAB.getInstance().getOnlinePlayers()) {
-            viewer.sendCustomPacket(new PacketPlayOutScoreboardTeam(teamName), TabConstants.PacketCategory.NAMETAGS_TEAM_UNREGISTER);
+            viewer.sendCustomPacket(packet, TabConstants.PacketCategory.NAMETAGS_TEAM_UNREGISTER);
         }
     }
 
@@ -272,8 +297,8 @@ public class NameTag extends TabFeature implements TeamManager {
 
     private void registerTeam(TabPlayer p, TabPlayer viewer) {
         if (hasTeamHandlingPaused(p)) return;
-        String replacedPrefix = p.getProperty(TabConstants.Property.TAGPREFIX).getFormat(viewer);
-        String replacedSuffix = p.getProperty(TabConstants.Property.TAGSUFFIX).getFormat(viewer);
+        String replacedPrefix = p.getProperty(prefixProperty).getFormat(viewer);
+        String replacedSuffix = p.getProperty(suffixProperty).getFormat(viewer);
         viewer.sendCustomPacket(new PacketPlayOutScoreboardTeam(sorting.getShortTeamName(p), replacedPrefix, replacedSuffix, translate(getTeamVisibility(p, viewer)),
                 translate(collisionManager.getCollision(p)), Collections.singletonList(p.getNickname()), getTeamOptions()), TabConstants.PacketCategory.NAMETAGS_TEAM_REGISTER);
     }
@@ -323,53 +348,53 @@ public class NameTag extends TabFeature implements TeamManager {
     @Override
     public void setPrefix(TabPlayer player, String prefix) {
         Preconditions.checkLoaded(player);
-        player.getProperty(TabConstants.Property.TAGPREFIX).setTemporaryValue(prefix);
+        player.getProperty(prefixProperty).setTemporaryValue(prefix);
         updateTeamData(player);
     }
 
     @Override
     public void setSuffix(TabPlayer player, String suffix) {
         Preconditions.checkLoaded(player);
-        player.getProperty(TabConstants.Property.TAGSUFFIX).setTemporaryValue(suffix);
+        player.getProperty(suffixProperty).setTemporaryValue(suffix);
         updateTeamData(player);
     }
 
     @Override
     public void resetPrefix(TabPlayer player) {
         Preconditions.checkLoaded(player);
-        player.getProperty(TabConstants.Property.TAGPREFIX).setTemporaryValue(null);
+        player.getProperty(prefixProperty).setTemporaryValue(null);
         updateTeamData(player);
     }
 
     @Override
     public void resetSuffix(TabPlayer player) {
         Preconditions.checkLoaded(player);
-        player.getProperty(TabConstants.Property.TAGSUFFIX).setTemporaryValue(null);
+        player.getProperty(suffixProperty).setTemporaryValue(null);
         updateTeamData(player);
     }
 
     @Override
     public String getCustomPrefix(TabPlayer player) {
         Preconditions.checkLoaded(player);
-        return player.getProperty(TabConstants.Property.TAGPREFIX).getTemporaryValue();
+        return player.getProperty(prefixProperty).getTemporaryValue();
     }
 
     @Override
     public String getCustomSuffix(TabPlayer player) {
         Preconditions.checkLoaded(player);
-        return player.getProperty(TabConstants.Property.TAGSUFFIX).getTemporaryValue();
+        return player.getProperty(suffixProperty).getTemporaryValue();
     }
 
     @Override
     public String getOriginalPrefix(TabPlayer player) {
         Preconditions.checkLoaded(player);
-        return player.getProperty(TabConstants.Property.TAGPREFIX).getOriginalRawValue();
+        return player.getProperty(prefixProperty).getOriginalRawValue();
     }
 
     @Override
     public String getOriginalSuffix(TabPlayer player) {
         Preconditions.checkLoaded(player);
-        return player.getProperty(TabConstants.Property.TAGSUFFIX).getOriginalRawValue();
+        return player.getProperty(suffixProperty).getOriginalRawValue();
     }
 
     @Override
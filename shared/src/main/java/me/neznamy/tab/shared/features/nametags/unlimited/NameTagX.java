@@ -1,6 +1,7 @@
 package me.neznamy.tab.shared.features.nametags.unlimited;
 
 import me.neznamy.tab.api.ArmorStandManager;
+import me.neznamy.tab.api.Property;
 import me.neznamy.tab.api.TabPlayer;
 import me.neznamy.tab.api.team.UnlimitedNametagManager;
 import me.neznamy.tab.api.util.Preconditions;
@@ -93,6 +94,13 @@ public abstract class NameTagX extends NameTag implements UnlimitedNametagManage
         getArmorStandManager(refreshed).refresh(force);
     }
 
+    @Override
+    public void refreshProperties(TabPlayer refreshed, List<Property> changedProperties) {
+        super.refreshProperties(refreshed, changedProperties);
+        if (isPlayerDisabled(refreshed)) return;
+        getArmorStandManager(refreshed).refresh(false);
+    }
+
     @Override
     public void unload() {
         super.unload();
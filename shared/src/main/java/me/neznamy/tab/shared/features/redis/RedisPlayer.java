@@ -53,7 +53,7 @@ public class RedisPlayer {
         player.server = (String) json.get("server");
         player.tabFormat = (String) json.get("tabformat");
         String team = (String) json.get("teamname");
-        player.teamName = checkTeamName(redis, team.substring(0, team.length()-1), 65);
+        player.teamName = player.assignTeamName(team);
         player.vanished = (boolean) json.get("vanished");
         String skinValue = (String) json.get("skin-value");
         if (skinValue != null) {
@@ -70,13 +70,21 @@ public class RedisPlayer {
         return player;
     }
 
+    private String assignTeamName(String teamName) {
+        String currentName15 = teamName.substring(0, teamName.length()-1);
+        if (redis.getSorting() != null) return redis.getSorting().assignTeamName(this, currentName15);
+        return checkTeamName(redis, currentName15, 65);
+    }
+
+    /**
+     * Makes team name of this player available for other players
+     */
+    public void releaseTeamName() {
+        if (redis.getSorting() != null) redis.getSorting().releaseTeamName(this, teamName);
+    }
+
     private static String checkTeamName(RedisSupport redis, String currentName15, int id) {
         String potentialTeamName = currentName15 + (char)id;
-        for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
-            if (redis.getSorting() != null && redis.getSorting().getShortTeamName(all).equals(potentialTeamName)) {
-                return checkTeamName(redis, currentName15, id+1);
-            }
-        }
         for (RedisPlayer all : redis.getRedisPlayers().values()) {
             if (all.getTeamName() != null && all.getTeamName().equals(potentialTeamName)) {
                 return checkTeamName(redis, currentName15, id+1);
@@ -121,18 +129,30 @@ public class RedisPlayer {
     }
 
     public PacketPlayOutPlayerInfo getAddPacket() {
-        return new PacketPlayOutPlayerInfo(EnumPlayerInfoAction.ADD_PLAYER, new PlayerInfoData(nickname, uniqueId, skin, true, 0, EnumGamemode.SURVIVAL,
-                disabledPlayerList ? null : IChatBaseComponent.optimizedComponent(tabFormat), null, null));
+        return new PacketPlayOutPlayerInfo(EnumPlayerInfoAction.ADD_PLAYER, getAddData());
+    }
+
+    public PlayerInfoData getAddData() {
+        return new PlayerInfoData(nickname, uniqueId, skin, true, 0, EnumGamemode.SURVIVAL,
+                disabledPlayerList ? null : IChatBaseComponent.optimizedComponent(tabFormat), null, null);
     }
 
     public PacketPlayOutPlayerInfo getUpdatePacket() {
-        return new PacketPlayOutPlayerInfo(EnumPlayerInfoAction.UPDATE_DISPLAY_NAME, new PlayerInfoData(uniqueId, disabledPlayerList ? null : IChatBaseComponent.optimizedComponent(tabFormat)));
+        return new PacketPlayOutPlayerInfo(EnumPlayerInfoAction.UPDATE_DISPLAY_NAME, getUpdateData());
+    }
+
+    public PlayerInfoData getUpdateData() {
+        return new PlayerInfoData(uniqueId, disabledPlayerList ? null : IChatBaseComponent.optimizedComponent(tabFormat));
     }
 
     public PacketPlayOutPlayerInfo getRemovePacket() {
+        return new PacketPlayOutPlayerInfo(EnumPlayerInfoAction.REMOVE_PLAYER, getRemoveData());
+    }
+
+    public PlayerInfoData getRemoveData() {
         PlayerInfoData data = new PlayerInfoData(uniqueId);
         data.setName(nickname); //making null check not kill own packets
-        return new PacketPlayOutPlayerInfo(EnumPlayerInfoAction.REMOVE_PLAYER, data);
+        return data;
     }
 
     public PacketPlayOutScoreboardTeam getRegisterTeamPacket() {
@@ -261,6 +281,7 @@ public class RedisPlayer {
     }
 
     public void setTeamName(String teamName) {
-        this.teamName = checkTeamName(redis, teamName.substring(0, teamName.length()-1), 65);
+        releaseTeamName();
+        this.teamName = assignTeamName(teamName);
     }
 }
\ No newline at end of file
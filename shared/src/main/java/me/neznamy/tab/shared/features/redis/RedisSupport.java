@@ -4,6 +4,8 @@ import me.neznamy.tab.api.TabFeature;
 import me.neznamy.tab.api.TabPlayer;
 import me.neznamy.tab.api.chat.IChatBaseComponent;
 import me.neznamy.tab.api.protocol.PacketPlayOutPlayerInfo;
+import me.neznamy.tab.api.protocol.PacketPlayOutPlayerInfo.EnumPlayerInfoAction;
+import me.neznamy.tab.api.protocol.PacketPlayOutPlayerInfo.PlayerInfoData;
 import me.neznamy.tab.api.protocol.PacketPlayOutScoreboardTeam;
 import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.api.TabConstants;
@@ -213,18 +215,23 @@ public abstract class RedisSupport extends TabFeature {
                     break;
                 case "load":
                     List<JSONObject> players1 = (List<JSONObject>) message.get("players");
+                    List<RedisPlayer> joined = new ArrayList<>();
                     for (JSONObject obj : players1) {
                         RedisPlayer p = RedisPlayer.fromJson(this, obj);
                         if (!redisPlayers.containsKey(p.getUniqueId().toString())) {
                             redisPlayers.put(p.getUniqueId().toString(), p);
-                            join(p);
+                            joined.add(p);
+                        } else {
+                            p.releaseTeamName();
                         }
                     }
+                    join(joined);
                     break;
                 case "join":
                     target = RedisPlayer.fromJson(this, message);
-                    redisPlayers.put(id.toString(), target);
-                    join(target);
+                    RedisPlayer previous = redisPlayers.put(id.toString(), target);
+                    if (previous != null) previous.releaseTeamName();
+                    join(Collections.singletonList(target));
                     break;
                 case "server":
                     target = redisPlayers.get(id.toString());
@@ -301,6 +308,7 @@ public abstract class RedisSupport extends TabFeature {
                         if (!target.getServer().equals(all.getServer())) all.sendCustomPacket(target.getRemovePacket(), this);
                     }
                     redisPlayers.remove(id.toString());
+                    target.releaseTeamName();
                     break;
                 default:
                     break;
@@ -309,31 +317,54 @@ public abstract class RedisSupport extends TabFeature {
     }
 
     /**
-     * Processes player join of specified player and sends packets to everyone
+     * Processes player join of specified players and sends packets to everyone.
+     * TabList entries of all players are sent in a single packet per viewer.
      *
-     * @param   target
-     *          player to process join of
+     * @param   targets
+     *          players to process join of
      */
-    private void join(RedisPlayer target) {
+    private void join(List<RedisPlayer> targets) {
+        if (targets.isEmpty()) return;
         for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
-            all.sendCustomPacket(target.getRegisterTeamPacket(), this);
-            all.sendCustomPacket(target.getBelowNameUpdatePacket(), this);
-            all.sendCustomPacket(target.getYellowNumberUpdatePacket(), this);
-            if (all.getVersion().getMinorVersion() < 8) continue;
-            if (global == null) {
-                if (all.getServer().equals(target.getServer())) all.sendCustomPacket(target.getUpdatePacket(), this);
-                continue;
-            }
-            if (shouldSee(all, target.getServer(), target.isVanished())) {
-                if (!all.getServer().equals(target.getServer())) {
-                    all.sendCustomPacket(target.getAddPacket(), this);
-                } else {
-                    all.sendCustomPacket(target.getUpdatePacket(), this);
+            List<PlayerInfoData> added = new ArrayList<>();
+            List<PlayerInfoData> updated = new ArrayList<>();
+            for (RedisPlayer target : targets) {
+                all.sendCustomPacket(target.getRegisterTeamPacket(), this);
+                all.sendCustomPacket(target.getBelowNameUpdatePacket(), this);
+                all.sendCustomPacket(target.getYellowNumberUpdatePacket(), this);
+                if (all.getVersion().getMinorVersion() < 8) continue;
+                if (global == null) {
+                    if (all.getServer().equals(target.getServer())) updated.add(target.getUpdateData());
+                    continue;
+                }
+                if (shouldSee(all, target.getServer(), target.isVanished())) {
+                    if (!all.getServer().equals(target.getServer())) {
+                        added.add(target.getAddData());
+                    } else {
+                        updated.add(target.getUpdateData());
+                    }
                 }
             }
+            sendPlayerInfo(all, EnumPlayerInfoAction.ADD_PLAYER, added);
+            sendPlayerInfo(all, EnumPlayerInfoAction.UPDATE_DISPLAY_NAME, updated);
         }
     }
 
+    /**
+     * Sends PlayerInfo packet with given action and all entries to the viewer.
+     * If there are no entries, nothing is sent.
+     *
+     * @param   viewer
+     *          player to send the packet to
+     * @param   action
+     *          packet action
+     * @param   entries
+     *          packet entries
+     */
+    private void sendPlayerInfo(TabPlayer viewer, EnumPlayerInfoAction action, List<PlayerInfoData> entries) {
+        if (!entries.isEmpty()) viewer.sendCustomPacket(new PacketPlayOutPlayerInfo(action, entries), this);
+    }
+
     private boolean shouldSee(TabPlayer viewer, String server, boolean targetVanished) {
         return shouldSee(viewer, viewer.getServer(), server, targetVanished);
     }
@@ -375,6 +406,8 @@ public abstract class RedisSupport extends TabFeature {
         JSONObject json = RedisPlayer.toJson(this, p);
         json.put("proxy", proxy.toString());
         sendMessage(json.toString());
+        List<PlayerInfoData> added = new ArrayList<>();
+        List<PlayerInfoData> updated = new ArrayList<>();
         for (RedisPlayer redis : redisPlayers.values()) {
             p.sendCustomPacket(redis.getRegisterTeamPacket(), this);
             p.sendCustomPacket(redis.getBelowNameUpdatePacket(), this);
@@ -382,12 +415,14 @@ public abstract class RedisSupport extends TabFeature {
             if (global == null) continue;
             if (shouldSee(p, redis.getServer(), redis.isVanished())) {
                 if (!p.getServer().equals(redis.getServer())) {
-                    p.sendCustomPacket(redis.getAddPacket(), this);
+                    added.add(redis.getAddData());
                 } else {
-                    p.sendCustomPacket(redis.getUpdatePacket(), this);
+                    updated.add(redis.getUpdateData());
                 }
             }
         }
+        sendPlayerInfo(p, EnumPlayerInfoAction.ADD_PLAYER, added);
+        sendPlayerInfo(p, EnumPlayerInfoAction.UPDATE_DISPLAY_NAME, updated);
     }
 
     @Override
@@ -399,16 +434,20 @@ public abstract class RedisSupport extends TabFeature {
         json.put("server", to);
         sendMessage(json.toString());
         if (p.getVersion().getMinorVersion() < 8 || global == null) return;
+        List<PlayerInfoData> added = new ArrayList<>();
+        List<PlayerInfoData> removed = new ArrayList<>();
         for (RedisPlayer redis : redisPlayers.values()) {
             boolean before = shouldSee(p, from, redis.getServer(), redis.isVanished());
             boolean after = shouldSee(p, to, redis.getServer(), redis.isVanished());
             if (!before && after) {
-                p.sendCustomPacket(redis.getAddPacket(), this);
+                added.add(redis.getAddData());
             }
             if (before && !after) {
-                p.sendCustomPacket(redis.getRemovePacket(), this);
+                removed.add(redis.getRemoveData());
             }
         }
+        sendPlayerInfo(p, EnumPlayerInfoAction.ADD_PLAYER, added);
+        sendPlayerInfo(p, EnumPlayerInfoAction.REMOVE_PLAYER, removed);
     }
 
     @Override
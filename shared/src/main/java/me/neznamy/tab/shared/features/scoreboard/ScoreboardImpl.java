@@ -235,7 +235,7 @@ public class ScoreboardImpl extends TabFeature implements Scoreboard {
                 score++;
                 continue;
             }
-            if (line instanceof StaticLine || p.getProperty(getName() + "-" + ((ScoreboardLine)line).getTeamName()).get().length() > 0){
+            if (line instanceof StaticLine || p.getProperty(((ScoreboardLine)line).getTextProperty()).get().length() > 0){
                 p.sendCustomPacket(new PacketPlayOutScoreboardScore(Action.CHANGE, ScoreboardManagerImpl.OBJECTIVE_NAME, ((ScoreboardLine)line).getPlayerName(p), score++), this);
             }
         }
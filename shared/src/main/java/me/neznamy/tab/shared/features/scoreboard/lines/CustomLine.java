@@ -1,5 +1,6 @@
 package me.neznamy.tab.shared.features.scoreboard.lines;
 
+import me.neznamy.tab.api.PropertyKey;
 import me.neznamy.tab.api.TabPlayer;
 import me.neznamy.tab.api.protocol.PacketPlayOutScoreboardTeam;
 import me.neznamy.tab.api.TabConstants;
@@ -24,6 +25,11 @@ public class CustomLine extends ScoreboardLine {
     //configured score
     private final int score;
 
+    //keys of properties holding prefix, name and suffix
+    private final PropertyKey prefixProperty;
+    private final PropertyKey nameProperty;
+    private final PropertyKey suffixProperty;
+
     /**
      * Constructs new instance with given parameters
      *
@@ -46,42 +52,45 @@ public class CustomLine extends ScoreboardLine {
         this.name = name;
         this.suffix = suffix;
         this.score = score;
+        prefixProperty = PropertyKey.of(TabConstants.Property.scoreboardPrefix(parent.getName(), lineNumber));
+        nameProperty = PropertyKey.of(TabConstants.Property.scoreboardName(parent.getName(), lineNumber));
+        suffixProperty = PropertyKey.of(TabConstants.Property.scoreboardSuffix(parent.getName(), lineNumber));
     }
 
     @Override
     public void refresh(TabPlayer refreshed, boolean force) {
         if (!parent.getPlayers().contains(refreshed)) return; //player has different scoreboard displayed
-        String oldName = refreshed.getProperty(TabConstants.Property.scoreboardName(parent.getName(), lineNumber)).get();
-        boolean prefixUpdate = refreshed.getProperty(TabConstants.Property.scoreboardPrefix(parent.getName(), lineNumber)).update();
-        boolean nameUpdate = refreshed.getProperty(TabConstants.Property.scoreboardName(parent.getName(), lineNumber)).update();
-        boolean suffixUpdate = refreshed.getProperty(TabConstants.Property.scoreboardSuffix(parent.getName(), lineNumber)).update();
+        String oldName = refreshed.getProperty(nameProperty).get();
+        boolean prefixUpdate = refreshed.getProperty(prefixProperty).update();
+        boolean nameUpdate = refreshed.getProperty(nameProperty).update();
+        boolean suffixUpdate = refreshed.getProperty(suffixProperty).update();
         if (prefixUpdate || nameUpdate || suffixUpdate) {
             if (nameUpdate) {
                 //name changed as well
                 removeLine(refreshed, oldName);
-                addLine(refreshed, refreshed.getProperty(TabConstants.Property.scoreboardName(parent.getName(), lineNumber)).get(),
-                        refreshed.getProperty(TabConstants.Property.scoreboardPrefix(parent.getName(), lineNumber)).get(), refreshed.getProperty(TabConstants.Property.scoreboardSuffix(parent.getName(), lineNumber)).get());
+                addLine(refreshed, refreshed.getProperty(nameProperty).get(),
+                        refreshed.getProperty(prefixProperty).get(), refreshed.getProperty(suffixProperty).get());
             } else {
                 //only prefix/suffix changed
-                refreshed.sendCustomPacket(new PacketPlayOutScoreboardTeam(teamName, refreshed.getProperty(TabConstants.Property.scoreboardPrefix(parent.getName(), lineNumber)).get(),
-                        refreshed.getProperty(TabConstants.Property.scoreboardSuffix(parent.getName(), lineNumber)).get(), "always", "always", 0), TabConstants.PacketCategory.SCOREBOARD_LINES);
+                refreshed.sendCustomPacket(new PacketPlayOutScoreboardTeam(teamName, refreshed.getProperty(prefixProperty).get(),
+                        refreshed.getProperty(suffixProperty).get(), "always", "always", 0), TabConstants.PacketCategory.SCOREBOARD_LINES);
             }
         }
     }
 
     @Override
     public void register(TabPlayer p) {
-        p.setProperty(this, TabConstants.Property.scoreboardPrefix(parent.getName(), lineNumber), prefix);
-        p.setProperty(this, TabConstants.Property.scoreboardName(parent.getName(), lineNumber), name);
-        p.setProperty(this, TabConstants.Property.scoreboardSuffix(parent.getName(), lineNumber), suffix);
-        addLine(p, p.getProperty(TabConstants.Property.scoreboardName(parent.getName(), lineNumber)).get(), p.getProperty(TabConstants.Property.scoreboardPrefix(parent.getName(), lineNumber)).get(),
-                p.getProperty(TabConstants.Property.scoreboardSuffix(parent.getName(), lineNumber)).get());
+        p.setProperty(this, prefixProperty, prefix);
+        p.setProperty(this, nameProperty, name);
+        p.setProperty(this, suffixProperty, suffix);
+        addLine(p, p.getProperty(nameProperty).get(), p.getProperty(prefixProperty).get(),
+                p.getProperty(suffixProperty).get());
     }
 
     @Override
     public void unregister(TabPlayer p) {
         if (parent.getPlayers().contains(p)) {
-            removeLine(p, p.getProperty(TabConstants.Property.scoreboardName(parent.getName(), lineNumber)).get());
+            removeLine(p, p.getProperty(nameProperty).get());
         }
     }
 
@@ -1,5 +1,6 @@
 package me.neznamy.tab.shared.features.scoreboard.lines;
 
+import me.neznamy.tab.api.PropertyKey;
 import me.neznamy.tab.api.TabPlayer;
 import me.neznamy.tab.api.chat.rgb.RGBUtils;
 import me.neznamy.tab.api.protocol.PacketPlayOutScoreboardTeam;
@@ -11,8 +12,7 @@ import me.neznamy.tab.shared.features.scoreboard.ScoreboardImpl;
  */
 public class LongLine extends ScoreboardLine {
 
-    private final String textProperty;
-    private final String nameProperty;
+    private final PropertyKey nameProperty;
 
     /**
      * Constructs new instance with given parameters
@@ -27,8 +27,7 @@ public class LongLine extends ScoreboardLine {
     public LongLine(ScoreboardImpl parent, int lineNumber, String text) {
         super(parent, lineNumber);
         this.text = text;
-        nameProperty = TabConstants.Property.scoreboardName(parent.getName(), lineNumber);
-        textProperty = parent.getName() + "-" + teamName;
+        nameProperty = PropertyKey.of(TabConstants.Property.scoreboardName(parent.getName(), lineNumber));
     }
 
     @Override
@@ -40,7 +39,7 @@ public class LongLine extends ScoreboardLine {
                         "", "always", "always", 0), TabConstants.PacketCategory.SCOREBOARD_LINES);
             } else {
                 removeLine(refreshed, refreshed.getProperty(nameProperty).get());
-                String[] values = splitText(getPlayerName(lineNumber), RGBUtils.getInstance().convertRGBtoLegacy(refreshed.getProperty(textProperty).get()), refreshed.getVersion().getMinorVersion() >= 8 ? 40 : 16);
+                String[] values = splitText(getPlayerName(lineNumber), RGBUtils.getInstance().toLegacyText(refreshed.getProperty(textProperty).get(), Integer.MAX_VALUE), refreshed.getVersion().getMinorVersion() >= 8 ? 40 : 16);
                 addLine(refreshed, values[1], values[0], values[2]);
                 refreshed.setProperty(this, nameProperty, values[1]);
             }
@@ -55,7 +54,7 @@ public class LongLine extends ScoreboardLine {
             addLine(p, playerName, value, "");
             p.setProperty(this, nameProperty, playerName);
         } else {
-            String[] values = splitText(playerName, RGBUtils.getInstance().convertRGBtoLegacy(value), p.getVersion().getMinorVersion() >= 8 ? 40 : 16);
+            String[] values = splitText(playerName, RGBUtils.getInstance().toLegacyText(value, Integer.MAX_VALUE), p.getVersion().getMinorVersion() >= 8 ? 40 : 16);
             addLine(p, values[1], values[0], values[2]);
             p.setProperty(this, nameProperty, values[1]);
         }
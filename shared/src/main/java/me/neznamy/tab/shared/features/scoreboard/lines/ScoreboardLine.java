@@ -1,7 +1,10 @@
 package me.neznamy.tab.shared.features.scoreboard.lines;
 
 import java.util.Collections;
+import java.util.List;
 
+import me.neznamy.tab.api.Property;
+import me.neznamy.tab.api.PropertyKey;
 import me.neznamy.tab.api.TabFeature;
 import me.neznamy.tab.api.TabPlayer;
 import me.neznamy.tab.api.chat.EnumChatFormat;
@@ -32,6 +35,9 @@ public abstract class ScoreboardLine extends TabFeature implements Line {
     
     //forced player name start to make lines unique & sort them by names
     protected final String playerName;
+
+    //key of property holding text of this line
+    protected final PropertyKey textProperty;
     
     /**
      * Constructs new instance with given parameters
@@ -47,8 +53,15 @@ public abstract class ScoreboardLine extends TabFeature implements Line {
         this.lineNumber = lineNumber;
         teamName = "TAB-SB-TM-" + lineNumber;
         playerName = getPlayerName(lineNumber);
+        textProperty = PropertyKey.of(parent.getName() + "-" + teamName);
     }
     
+    @Override
+    public void refreshProperties(TabPlayer refreshed, List<Property> changedProperties) {
+        //lines of other scoreboards using the same placeholder have nothing to update
+        if (!changedProperties.isEmpty()) refresh(refreshed, false);
+    }
+
     /**
      * Registers this line to the player
      *
@@ -166,6 +179,10 @@ public abstract class ScoreboardLine extends TabFeature implements Line {
         return teamName;
     }
 
+    public PropertyKey getTextProperty() {
+        return textProperty;
+    }
+
     /**
      * Splits entered text into 3 parts - prefix, name and suffix respecting all limits.
      * Returns the values as an array of 3 elements.
@@ -45,7 +45,7 @@ public class StableDynamicLine extends ScoreboardLine {
 
     @Override
     public void register(TabPlayer p) {
-        p.setProperty(this, parent.getName() + "-" + teamName, text);
+        p.setProperty(this, textProperty, text);
         String[] prefixSuffix = replaceText(p, true, true);
         if (prefixSuffix.length == 0) return;
         addLine(p, getPlayerName(), prefixSuffix[0], prefixSuffix[1]);
@@ -53,7 +53,7 @@ public class StableDynamicLine extends ScoreboardLine {
 
     @Override
     public void unregister(TabPlayer p) {
-        if (parent.getPlayers().contains(p) && p.getProperty(parent.getName() + "-" + teamName).get().length() > 0) {
+        if (parent.getPlayers().contains(p) && p.getProperty(textProperty).get().length() > 0) {
             removeLine(p, getPlayerName());
         }
     }
@@ -71,13 +71,13 @@ public class StableDynamicLine extends ScoreboardLine {
      * @return  list of 2 elements for prefix/suffix
      */
     private String[] replaceText(TabPlayer p, boolean force, boolean suppressToggle) {
-        Property scoreProperty = p.getProperty(parent.getName() + "-" + teamName);
+        Property scoreProperty = p.getProperty(textProperty);
         if (scoreProperty == null) return EMPTY_ARRAY; //not actually loaded yet (force refresh called from placeholder manager register method)
         boolean emptyBefore = scoreProperty.get().length() == 0;
         if (!scoreProperty.update() && !force) return EMPTY_ARRAY;
         String replaced = scoreProperty.get();
         if (p.getVersion().getMinorVersion() < 16) {
-            replaced = RGBUtils.getInstance().convertRGBtoLegacy(replaced); //converting RGB to legacy here to avoid splitting in the middle of RGB code
+            replaced = RGBUtils.getInstance().toLegacyText(replaced, Integer.MAX_VALUE); //converting RGB to legacy here to avoid splitting in the middle of RGB code
         }
         String[] split = split(p, replaced);
         if (replaced.length() > 0) {
@@ -138,7 +138,7 @@ public class StableDynamicLine extends ScoreboardLine {
     public void setText(String text) {
         this.text = text;
         for (TabPlayer p : parent.getPlayers()) {
-            p.setProperty(this, parent.getName() + "-" + teamName, text);
+            p.setProperty(this, textProperty, text);
             refresh(p, true);
         }
     }
@@ -14,7 +14,6 @@ import me.neznamy.tab.api.TabConstants;
 import me.neznamy.tab.shared.features.layout.LayoutManager;
 import me.neznamy.tab.shared.features.nametags.NameTag;
 import me.neznamy.tab.shared.features.redis.RedisPlayer;
-import me.neznamy.tab.shared.features.redis.RedisSupport;
 import me.neznamy.tab.shared.features.sorting.types.Groups;
 import me.neznamy.tab.shared.features.sorting.types.Permissions;
 import me.neznamy.tab.shared.features.sorting.types.Placeholder;
@@ -45,6 +44,12 @@ public class Sorting extends TabFeature {
     private final WeakHashMap<TabPlayer, String> shortTeamNames = new WeakHashMap<>();
     private final WeakHashMap<TabPlayer, String> fullTeamNames = new WeakHashMap<>();
     private final WeakHashMap<TabPlayer, String> teamNameNotes = new WeakHashMap<>();
+
+    //owners of assigned short team names, either TabPlayer or RedisPlayer
+    private final Map<String, Object> teamNameOwners = new HashMap<>();
+
+    //lowest 16th character which may be free for each 15 character long team name start, all lower ones are taken
+    private final Map<String, Integer> freeTeamNameIds = new HashMap<>();
     
     /**
      * Constructs new instance and loads config options
@@ -89,6 +94,12 @@ public class Sorting extends TabFeature {
     public void onJoin(TabPlayer connectedPlayer) {
         constructTeamNames(connectedPlayer);
     }
+
+    @Override
+    public void onQuit(TabPlayer disconnectedPlayer) {
+        //keeping the name itself, so features can still unregister the team
+        releaseTeamName(disconnectedPlayer, shortTeamNames.get(disconnectedPlayer));
+    }
     
     /**
      * Compiles sorting type list into classes
@@ -130,39 +141,53 @@ public class Sorting extends TabFeature {
         if (shortName.length() > 15) {
             shortName.setLength(15);
         }
-        String finalShortName = checkTeamName(p, shortName, 65);
+        releaseTeamName(p, shortTeamNames.get(p));
+        String finalShortName = assignTeamName(p, shortName.toString());
         shortTeamNames.put(p, finalShortName);
         fullTeamNames.put(p, fullName.append(finalShortName.charAt(finalShortName.length() - 1)).toString());
     }
 
     /**
-     * Checks if team name is available and proceeds to try new values until free name is found
+     * Finds first available team name starting with given characters and assigns it
+     * to given owner. Names are tried with 16th character starting at {@code A}.
+     * Characters below the lowest free one are remembered for each start, so that
+     * assigning names to many players with the same start does not check them again.
      *
-     * @param   p
-     *          player to build team name for
+     * @param   owner
+     *          player the name is assigned to, either {@link TabPlayer} or {@link RedisPlayer}
      * @param   currentName
-     *          current up to 15 character long team name start
-     * @param   id
-     *          current character to check as 16th character
+     *          up to 15 character long team name start
      * @return  first available full team name
      */
-    private String checkTeamName(TabPlayer p, StringBuilder currentName, int id) {
-        String potentialTeamName = currentName.toString() + (char)id;
-        for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
-            if (all == p) continue;
-            if (shortTeamNames.get(all) != null && shortTeamNames.get(all).equals(potentialTeamName)) {
-                return checkTeamName(p, currentName, id+1);
-            }
+    public String assignTeamName(Object owner, String currentName) {
+        int id = freeTeamNameIds.getOrDefault(currentName, 65);
+        String teamName = currentName + (char)id;
+        while (teamNameOwners.containsKey(teamName)) {
+            teamName = currentName + (char)++id;
         }
-        if (TAB.getInstance().getFeatureManager().isFeatureEnabled(TabConstants.Feature.REDIS_BUNGEE)) {
-            RedisSupport redis = (RedisSupport) TAB.getInstance().getFeatureManager().getFeature(TabConstants.Feature.REDIS_BUNGEE);
-            for (RedisPlayer all : redis.getRedisPlayers().values()) {
-                if (all.getTeamName() != null && all.getTeamName().equals(potentialTeamName)) {
-                    return checkTeamName(p, currentName, id+1);
-                }
-            }
+        teamNameOwners.put(teamName, owner);
+        freeTeamNameIds.put(currentName, id+1);
+        return teamName;
+    }
+
+    /**
+     * Makes team name available again if it is assigned to given owner
+     *
+     * @param   owner
+     *          player the name was assigned to, either {@link TabPlayer} or {@link RedisPlayer}
+     * @param   teamName
+     *          assigned team name, may be {@code null}
+     */
+    public void releaseTeamName(Object owner, String teamName) {
+        if (teamName == null || teamNameOwners.get(teamName) != owner) return;
+        teamNameOwners.remove(teamName);
+        String currentName = teamName.substring(0, teamName.length()-1);
+        int id = teamName.charAt(teamName.length()-1);
+        if (id == 65) {
+            freeTeamNameIds.remove(currentName);
+        } else if (id < freeTeamNameIds.getOrDefault(currentName, 65)) {
+            freeTeamNameIds.put(currentName, id);
         }
-        return potentialTeamName;
     }
     
     /**
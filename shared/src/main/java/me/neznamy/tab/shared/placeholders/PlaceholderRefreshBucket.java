@@ -0,0 +1,64 @@
+package me.neznamy.tab.shared.placeholders;
+
+import me.neznamy.tab.api.placeholder.Placeholder;
+
+/**
+ * A group of used placeholders sharing the same refresh interval. Placeholder
+ * refreshing task only visits buckets which are due in the current tick instead
+ * of checking refresh interval of every single used placeholder.
+ */
+public class PlaceholderRefreshBucket {
+
+    /** Refresh interval of all placeholders in this bucket in milliseconds */
+    private final int interval;
+
+    /** Placeholders refreshing in this interval */
+    private final Placeholder[] placeholders;
+
+    /** Name of this bucket displayed in /tab cpu, prepared in advance to avoid String concatenation every tick */
+    private final String cpuName;
+
+    /**
+     * Constructs new instance with given parameters
+     *
+     * @param   interval
+     *          Refresh interval of all placeholders in milliseconds
+     * @param   placeholders
+     *          Placeholders refreshing in given interval
+     */
+    public PlaceholderRefreshBucket(int interval, Placeholder[] placeholders) {
+        this.interval = interval;
+        this.placeholders = placeholders;
+        this.cpuName = interval + "ms";
+    }
+
+    /**
+     * Returns {@code true} if this bucket should be refreshed at given loop time,
+     * {@code false} if not.
+     *
+     * @param   loopTime
+     *          Current time of placeholder refreshing loop in milliseconds
+     * @return  {@code true} if bucket is due, {@code false} if not
+     */
+    public boolean isDue(int loopTime) {
+        return loopTime % interval == 0;
+    }
+
+    /**
+     * Returns all placeholders in this bucket
+     *
+     * @return  all placeholders in this bucket
+     */
+    public Placeholder[] getPlaceholders() {
+        return placeholders;
+    }
+
+    /**
+     * Returns name of this bucket displayed in /tab cpu
+     *
+     * @return  name of this bucket displayed in /tab cpu
+     */
+    public String getCpuName() {
+        return cpuName;
+    }
+}
\ No newline at end of file
@@ -25,6 +25,12 @@ public class PlayerPlaceholderImpl extends TabPlaceholder implements PlayerPlace
     /** Last known values for each online player after applying replacements and nested placeholders */
     private final WeakHashMap<TabPlayer, String> lastValues = new WeakHashMap<>();
 
+    /**
+     * Flag tracking whether {@link #function} can be called from multiple threads at once,
+     * allowing it to be evaluated on placeholder worker threads if parallel refresh is enabled.
+     */
+    private boolean threadSafe = false;
+
     /**
      * Constructs new instance with given parameters
      *
@@ -50,7 +56,21 @@ public class PlayerPlaceholderImpl extends TabPlaceholder implements PlayerPlace
      * @return  {@code true} if value changed since last time, {@code false} if not
      */
     public boolean update(TabPlayer p) {
-        Object output = request(p);
+        return update(p, request(p));
+    }
+
+    /**
+     * Processes output previously returned by {@link #request(TabPlayer)}, saves it to map
+     * and returns true if value changed, false if not. This allows the request function
+     * to be called on a different thread than the one processing the result.
+     *
+     * @param   p
+     *          player to update placeholder for
+     * @param   output
+     *          output of request function for the player
+     * @return  {@code true} if value changed since last time, {@code false} if not
+     */
+    public boolean update(TabPlayer p, Object output) {
         if (output == null) return false; //bridge placeholders, they are updated using updateValue method
         String obj = getReplacements().findReplacement(String.valueOf(output));
         String newValue = obj == null ? identifier : setPlaceholders(obj, p);
@@ -58,9 +78,11 @@ public class PlayerPlaceholderImpl extends TabPlaceholder implements PlayerPlace
         //make invalid placeholders return identifier instead of nothing
         if (identifier.equals(newValue) && !lastValues.containsKey(p)) {
             lastValues.put(p, identifier);
+            markModified();
         }
         if (!lastValues.containsKey(p) || (!ERROR_VALUE.equals(newValue) && !identifier.equals(newValue) && !lastValues.get(p).equals(newValue))) {
             lastValues.put(p, ERROR_VALUE.equals(newValue) ? identifier : newValue);
+            markModified();
             updateParents(p);
             if (TAB.getInstance().getPlaceholderManager().getTabExpansion() != null)
                 TAB.getInstance().getPlaceholderManager().getTabExpansion().setPlaceholderValue(p, identifier, newValue);
@@ -86,6 +108,7 @@ public class PlayerPlaceholderImpl extends TabPlaceholder implements PlayerPlace
                 setPlaceholders(value.toString(), player));
         if (s.equals(lastValues.getOrDefault(player, identifier)) && !force) return;
         lastValues.put(player, s);
+        markModified();
         if (TAB.getInstance().getPlaceholderManager().getTabExpansion() != null)
             TAB.getInstance().getPlaceholderManager().getTabExpansion().setPlaceholderValue(player, identifier, s);
         if (!player.isLoaded()) {
@@ -119,11 +142,22 @@ public class PlayerPlaceholderImpl extends TabPlaceholder implements PlayerPlace
         if (p == null) return identifier;
         if (!lastValues.containsKey(p)) {
             lastValues.put(p, getReplacements().findReplacement(identifier));
+            markModified();
             update(p);
         }
         return lastValues.get(p);
     }
 
+    @Override
+    public void setThreadSafe(boolean threadSafe) {
+        this.threadSafe = threadSafe;
+    }
+
+    @Override
+    public boolean isThreadSafe() {
+        return threadSafe;
+    }
+
     @Override
     public Object request(TabPlayer p) {
         try {
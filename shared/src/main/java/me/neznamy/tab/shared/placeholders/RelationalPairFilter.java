@@ -0,0 +1,34 @@
+package me.neznamy.tab.shared.placeholders;
+
+import me.neznamy.tab.api.TabConstants;
+import me.neznamy.tab.api.TabPlayer;
+import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.features.globalplayerlist.GlobalPlayerList;
+
+/**
+ * Interface for features using relational placeholders, which only display
+ * them for some viewer / target duos. Relational placeholders are only
+ * evaluated for duos which are displayed by at least one feature using them.
+ * Features not implementing this interface are considered to display
+ * all duos.
+ */
+public interface RelationalPairFilter {
+
+    /**
+     * Returns {@code true} if this feature displays text of target to viewer,
+     * {@code false} if not. By default, this is the case when target is
+     * visible in viewer's TabList.
+     *
+     * @param   viewer
+     *          Player viewing the text
+     * @param   target
+     *          Player the text belongs to
+     * @return  {@code true} if text of target is displayed to viewer, {@code false} if not
+     */
+    default boolean isDisplayed(TabPlayer viewer, TabPlayer target) {
+        if (viewer == target) return true;
+        GlobalPlayerList global = (GlobalPlayerList) TAB.getInstance().getFeatureManager().getFeature(TabConstants.Feature.GLOBAL_PLAYER_LIST);
+        if (global != null) return global.shouldSee(viewer, target);
+        return viewer.getServer().equals(target.getServer());
+    }
+}
\ No newline at end of file
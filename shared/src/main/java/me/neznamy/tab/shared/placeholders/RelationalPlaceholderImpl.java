@@ -1,13 +1,14 @@
 package me.neznamy.tab.shared.placeholders;
 
+import java.util.Arrays;
 import java.util.Set;
-import java.util.WeakHashMap;
 import java.util.function.BiFunction;
 
 import me.neznamy.tab.api.TabFeature;
 import me.neznamy.tab.api.TabPlayer;
 import me.neznamy.tab.api.chat.EnumChatFormat;
 import me.neznamy.tab.api.placeholder.RelationalPlaceholder;
+import me.neznamy.tab.shared.ITabPlayer;
 import me.neznamy.tab.shared.TAB;
 
 /**
@@ -18,8 +19,18 @@ public class RelationalPlaceholderImpl extends TabPlaceholder implements Relatio
     /** Placeholder function returning fresh output on request */
     private final BiFunction<TabPlayer, TabPlayer, Object> function;
 
-    /** Last known values for each online player duo after applying replacements and nested placeholders */
-    private final WeakHashMap<TabPlayer, WeakHashMap<TabPlayer, String>> lastValues = new WeakHashMap<>();
+    /**
+     * Last known values for each online player duo after applying replacements and nested placeholders,
+     * indexed by slot id of viewer and then slot id of target. Values are read from netty threads as well,
+     * so all access to the arrays is synchronized on this placeholder.
+     */
+    private String[][] lastValues = new String[0][];
+
+    /** Viewers owning rows in {@link #lastValues} to detect rows left behind by players who previously had the slot id */
+    private TabPlayer[] lastViewers = new TabPlayer[0];
+
+    /** Targets of values in {@link #lastValues} to detect values left behind by players who previously had the slot id */
+    private TabPlayer[][] lastTargets = new TabPlayer[0][];
 
     /**
      * Constructs new instance with given parameters
@@ -51,8 +62,9 @@ public class RelationalPlaceholderImpl extends TabPlaceholder implements Relatio
         Object output = request(viewer, target);
         if (output == null) return false; //bridge placeholders, they are updated using updateValue method
         String newValue = getReplacements().findReplacement(String.valueOf(output));
-        if (!lastValues.computeIfAbsent(viewer, v -> new WeakHashMap<>()).containsKey(target) || !lastValues.get(viewer).get(target).equals(newValue)) {
-            lastValues.get(viewer).put(target, newValue);
+        String lastValue = getValue(viewer, target);
+        if (lastValue == null || !lastValue.equals(newValue)) {
+            setValue(viewer, target, newValue);
             updateParents(viewer);
             updateParents(target);
             return true;
@@ -76,8 +88,8 @@ public class RelationalPlaceholderImpl extends TabPlaceholder implements Relatio
      */
     private void updateValue(TabPlayer viewer, TabPlayer target, Object value, boolean force) {
         String s = getReplacements().findReplacement(String.valueOf(value));
-        if (lastValues.computeIfAbsent(viewer, v -> new WeakHashMap<>()).containsKey(target) && lastValues.get(viewer).get(target).equals(s) && !force) return;
-        lastValues.get(viewer).put(target, s);
+        if (s.equals(getValue(viewer, target)) && !force) return;
+        setValue(viewer, target, s);
         Set<TabFeature> usage = TAB.getInstance().getPlaceholderManager().getPlaceholderUsage().get(identifier);
         if (usage == null) return;
         for (TabFeature f : usage) {
@@ -95,10 +107,114 @@ public class RelationalPlaceholderImpl extends TabPlaceholder implements Relatio
         updateValue(viewer, target, value, false);
     }
 
+    /**
+     * Returns last known value of given player duo or {@code null} if no value is known.
+     *
+     * @param   viewer
+     *          viewer of the placeholder
+     * @param   target
+     *          target who is the text displayed on
+     * @return  last known value or {@code null} if not known
+     */
+    private synchronized String getValue(TabPlayer viewer, TabPlayer target) {
+        int viewerSlot = ((ITabPlayer) viewer).getSlotId();
+        int targetSlot = ((ITabPlayer) target).getSlotId();
+        if (viewerSlot < 0 || viewerSlot >= lastViewers.length || lastViewers[viewerSlot] != viewer) return null;
+        TabPlayer[] rowTargets = lastTargets[viewerSlot];
+        if (targetSlot < 0 || targetSlot >= rowTargets.length || rowTargets[targetSlot] != target) return null;
+        return lastValues[viewerSlot][targetSlot];
+    }
+
+    /**
+     * Saves value of given player duo. If any of the players does not have
+     * a slot id assigned, value is not saved.
+     *
+     * @param   viewer
+     *          viewer of the placeholder
+     * @param   target
+     *          target who is the text displayed on
+     * @param   value
+     *          value to save, {@code null} to remove saved value
+     */
+    private synchronized void setValue(TabPlayer viewer, TabPlayer target, String value) {
+        int viewerSlot = ((ITabPlayer) viewer).getSlotId();
+        int targetSlot = ((ITabPlayer) target).getSlotId();
+        if (viewerSlot < 0 || targetSlot < 0) return;
+        if (viewerSlot >= lastValues.length) {
+            int size = Math.max(viewerSlot + 1, lastValues.length * 2);
+            lastValues = Arrays.copyOf(lastValues, size);
+            lastTargets = Arrays.copyOf(lastTargets, size);
+            lastViewers = Arrays.copyOf(lastViewers, size);
+        }
+        if (lastViewers[viewerSlot] != viewer) {
+            if (value == null) return;
+            int size = Math.max(targetSlot + 1, lastValues.length);
+            lastValues[viewerSlot] = new String[size];
+            lastTargets[viewerSlot] = new TabPlayer[size];
+            lastViewers[viewerSlot] = viewer;
+        }
+        if (targetSlot >= lastValues[viewerSlot].length) {
+            if (value == null) return;
+            int size = Math.max(targetSlot + 1, lastValues[viewerSlot].length * 2);
+            lastValues[viewerSlot] = Arrays.copyOf(lastValues[viewerSlot], size);
+            lastTargets[viewerSlot] = Arrays.copyOf(lastTargets[viewerSlot], size);
+        }
+        lastValues[viewerSlot][targetSlot] = value;
+        lastTargets[viewerSlot][targetSlot] = value == null ? null : target;
+    }
+
+    /**
+     * Forgets last known value of given player duo, which will be evaluated again
+     * once it's requested. This is used for duos which are currently not displayed
+     * by any feature, so they don't end up with outdated value once they are.
+     *
+     * @param   viewer
+     *          viewer of the placeholder
+     * @param   target
+     *          target who is the text displayed on
+     */
+    public synchronized void invalidate(TabPlayer viewer, TabPlayer target) {
+        if (getValue(viewer, target) != null) setValue(viewer, target, null);
+    }
+
+    /**
+     * Removes all values where given player is either viewer or target
+     * to free their slot id for another player.
+     *
+     * @param   player
+     *          player to remove values of
+     */
+    public synchronized void removePlayer(TabPlayer player) {
+        int slot = ((ITabPlayer) player).getSlotId();
+        if (slot < 0) return;
+        if (slot < lastViewers.length && lastViewers[slot] == player) {
+            lastViewers[slot] = null;
+            lastValues[slot] = null;
+            lastTargets[slot] = null;
+        }
+        for (int i=0; i<lastTargets.length; i++) {
+            TabPlayer[] rowTargets = lastTargets[i];
+            if (rowTargets != null && slot < rowTargets.length && rowTargets[slot] == player) {
+                rowTargets[slot] = null;
+                lastValues[i][slot] = null;
+            }
+        }
+    }
+
     @Override
     public String getLastValue(TabPlayer viewer, TabPlayer target) {
-        if (!lastValues.computeIfAbsent(viewer, v -> new WeakHashMap<>()).containsKey(target)) update(viewer, target);
-        return setPlaceholders(replacements.findReplacement(EnumChatFormat.color(lastValues.computeIfAbsent(viewer, v -> new WeakHashMap<>()).get(target))), target);
+        String value = getValue(viewer, target);
+        if (value == null) {
+            if (((ITabPlayer) viewer).getSlotId() < 0 || ((ITabPlayer) target).getSlotId() < 0) {
+                //players not registered yet, nowhere to save value
+                Object output = request(viewer, target);
+                value = output == null ? null : getReplacements().findReplacement(String.valueOf(output));
+            } else {
+                update(viewer, target);
+                value = getValue(viewer, target);
+            }
+        }
+        return setPlaceholders(replacements.findReplacement(EnumChatFormat.color(value)), target);
     }
 
     @Override
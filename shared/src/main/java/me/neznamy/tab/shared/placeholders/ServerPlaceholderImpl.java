@@ -49,9 +49,11 @@ public class ServerPlaceholderImpl extends TabPlaceholder implements ServerPlace
         //make invalid placeholders return identifier instead of nothing
         if (identifier.equals(newValue) && lastValue == null) {
             lastValue = identifier;
+            markModified();
         }
         if (!"ERROR".equals(newValue) && !identifier.equals(newValue) && (lastValue == null || !lastValue.equals(newValue))) {
             lastValue = newValue;
+            markModified();
             for (TabPlayer player : TAB.getInstance().getOnlinePlayers()) {
                 updateParents(player);
                 if (TAB.getInstance().getPlaceholderManager().getTabExpansion() != null)
@@ -76,6 +78,7 @@ public class ServerPlaceholderImpl extends TabPlaceholder implements ServerPlace
         String s = getReplacements().findReplacement(value == null ? lastValue == null ? identifier : lastValue : value.toString());
         if (s.equals(lastValue) && !force) return;
         lastValue = s;
+        markModified();
         Set<TabFeature> usage = TAB.getInstance().getPlaceholderManager().getPlaceholderUsage().get(identifier);
         if (usage == null) return;
         for (TabPlayer player : TAB.getInstance().getOnlinePlayers()) {
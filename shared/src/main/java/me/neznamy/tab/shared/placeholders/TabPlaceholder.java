@@ -8,12 +8,16 @@ import me.neznamy.tab.shared.TAB;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * General collection of variables and functions shared between all placeholder types
  */
 public abstract class TabPlaceholder implements Placeholder {
 
+    /** Counter for generating unique increasing modification ids of placeholders */
+    private static final AtomicLong modificationCounter = new AtomicLong();
+
     /** Refresh interval of the placeholder */
     private final int refresh;
 
@@ -47,6 +51,20 @@ public abstract class TabPlaceholder implements Placeholder {
      */
     protected final List<String> parents = new ArrayList<>();
 
+    /**
+     * Unique id of the last change of any value stored in this placeholder. Texts using
+     * this placeholder compare it with the id they saw last time to skip rebuilding
+     * their value if nothing changed.
+     */
+    private volatile long lastModification = modificationCounter.incrementAndGet();
+
+    /**
+     * Flag tracking whether output of this placeholder was ever seen containing nested
+     * placeholders. Values of such placeholders may change without this placeholder's
+     * value changing, so texts using it must always be rebuilt.
+     */
+    private boolean resolvingNested;
+
     /**
      * Constructs new instance with given parameters and loads placeholder output replacements
      *
@@ -84,7 +102,10 @@ public abstract class TabPlaceholder implements Placeholder {
      * @return  string with this placeholder replaced
      */
     public String set(String string, TabPlayer player) {
-        return replace(string, identifier, setPlaceholders(getLastValue(player), player));
+        String lastValue = getLastValue(player);
+        String value = setPlaceholders(lastValue, player);
+        if (value != lastValue) resolvingNested = true;
+        return replace(string, identifier, value);
     }
 
     /**
@@ -187,6 +208,33 @@ public abstract class TabPlaceholder implements Placeholder {
      */
     public abstract void updateFromNested(TabPlayer player);
 
+    /**
+     * Marks a value of this placeholder as changed by assigning it a new modification id
+     */
+    protected void markModified() {
+        lastModification = modificationCounter.incrementAndGet();
+    }
+
+    /**
+     * Returns unique id of the last change of any value of this placeholder.
+     * If the id did not change since last check, no value changed either.
+     *
+     * @return  id of last value change
+     */
+    public long getLastModification() {
+        return lastModification;
+    }
+
+    /**
+     * Returns {@code true} if output of this placeholder was seen containing
+     * nested placeholders, whose values cannot be tracked by {@link #getLastModification()}.
+     *
+     * @return  {@code true} if output contains nested placeholders, {@code false} if not
+     */
+    public boolean isResolvingNested() {
+        return resolvingNested;
+    }
+
     /**
      * Returns last known value of defined player
      *
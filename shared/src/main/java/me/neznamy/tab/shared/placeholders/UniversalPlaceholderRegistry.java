@@ -39,7 +39,8 @@ public class UniversalPlaceholderRegistry implements PlaceholderRegistry {
         manager.registerServerPlaceholder(TabConstants.Placeholder.TIME, 500, () -> timeFormat.format(new Date(System.currentTimeMillis() + (int)(timeOffset*3600000))));
         SimpleDateFormat dateFormat = createDateFormat(TAB.getInstance().getConfiguration().getConfig().getString("placeholders.date-format", "dd.MM.yyyy"), "dd.MM.yyyy");
         manager.registerServerPlaceholder(TabConstants.Placeholder.DATE, 60000, () -> dateFormat.format(new Date(System.currentTimeMillis() + (int)(timeOffset*3600000))));
-        manager.registerPlayerPlaceholder(TabConstants.Placeholder.PING, 500, TabPlayer::getPing);
+        //only refreshing placeholders reading TAB's own data (and LuckPerms, whose API is thread-safe) are marked as thread-safe
+        manager.registerPlayerPlaceholder(TabConstants.Placeholder.PING, 500, TabPlayer::getPing).setThreadSafe(true);
         manager.registerPlayerPlaceholder(TabConstants.Placeholder.PLAYER_VERSION, -1, p -> p.getVersion().getFriendlyName());
         manager.registerPlayerPlaceholder(TabConstants.Placeholder.PLAYER_VERSION_ID, -1, p -> p.getVersion().getNetworkId());
         manager.registerServerPlaceholder(TabConstants.Placeholder.MEMORY_USED, 200, () -> ((int) ((Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory()) / 1048576)));
@@ -51,8 +52,8 @@ public class UniversalPlaceholderRegistry implements PlaceholderRegistry {
         manager.registerServerPlaceholder(TabConstants.Placeholder.NON_STAFF_ONLINE, 2000, () -> Arrays.stream(TAB.getInstance().getOnlinePlayers()).filter(all -> !all.hasPermission(TabConstants.Permission.STAFF) && !all.isVanished()).count());
         PermissionPlugin plugin = TAB.getInstance().getGroupManager().getPlugin();
         if (plugin instanceof LuckPerms) {
-            manager.registerPlayerPlaceholder(TabConstants.Placeholder.LUCKPERMS_PREFIX, 1000, ((LuckPerms)plugin)::getPrefix);
-            manager.registerPlayerPlaceholder(TabConstants.Placeholder.LUCKPERMS_SUFFIX, 1000, ((LuckPerms)plugin)::getSuffix);
+            manager.registerPlayerPlaceholder(TabConstants.Placeholder.LUCKPERMS_PREFIX, 1000, ((LuckPerms)plugin)::getPrefix).setThreadSafe(true);
+            manager.registerPlayerPlaceholder(TabConstants.Placeholder.LUCKPERMS_SUFFIX, 1000, ((LuckPerms)plugin)::getSuffix).setThreadSafe(true);
         } else {
             manager.registerServerPlaceholder(TabConstants.Placeholder.LUCKPERMS_PREFIX, -1, () -> "");
             manager.registerServerPlaceholder(TabConstants.Placeholder.LUCKPERMS_SUFFIX, -1, () -> "");
@@ -61,13 +62,15 @@ public class UniversalPlaceholderRegistry implements PlaceholderRegistry {
             Animation a = new Animation(s.toString(), TAB.getInstance().getConfiguration().getAnimationFile().getStringList(s + ".texts"),
                     TAB.getInstance().getConfiguration().getAnimationFile().getInt(s + ".change-interval", 0));
             List<String> nested = Arrays.asList(a.getNestedPlaceholders());
-            ((PlaceholderManagerImpl) manager).registerPlaceholder(new PlayerPlaceholderImpl(TabConstants.Placeholder.animation(a.getName()), a.getRefresh(), p -> a.getMessage()) {
+            PlayerPlaceholderImpl animation = new PlayerPlaceholderImpl(TabConstants.Placeholder.animation(a.getName()), a.getRefresh(), p -> a.getMessage()) {
 
                 @Override
                 public List<String> getNestedPlaceholders(String output) {
                     return nested;
                 }
-            });
+            };
+            animation.setThreadSafe(true);
+            ((PlaceholderManagerImpl) manager).registerPlaceholder(animation);
         }
         Condition.clearConditions();
         Map<String, Map<Object, Object>> conditions = TAB.getInstance().getConfiguration().getConfig().getConfigurationSection("conditions");
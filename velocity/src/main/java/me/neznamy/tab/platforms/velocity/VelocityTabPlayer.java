@@ -5,11 +5,17 @@ import com.velocitypowered.api.proxy.Player;
 import com.velocitypowered.api.proxy.ServerConnection;
 import com.velocitypowered.api.proxy.player.TabListEntry;
 import com.velocitypowered.api.util.GameProfile;
+import com.velocitypowered.proxy.connection.MinecraftConnection;
+import com.velocitypowered.proxy.connection.client.ConnectedPlayer;
+import com.velocitypowered.proxy.protocol.MinecraftPacket;
+import com.velocitypowered.proxy.protocol.ProtocolUtils;
+import com.velocitypowered.proxy.protocol.StateRegistry;
 import com.velocitypowered.proxy.protocol.packet.*;
 import com.velocitypowered.proxy.protocol.packet.scoreboard.ScoreboardDisplay;
 import com.velocitypowered.proxy.protocol.packet.scoreboard.ScoreboardObjective;
 import com.velocitypowered.proxy.protocol.packet.scoreboard.ScoreboardScore;
 import com.velocitypowered.proxy.protocol.packet.scoreboard.Team;
+import io.netty.buffer.ByteBuf;
 import me.neznamy.tab.api.TabAPI;
 import me.neznamy.tab.api.protocol.*;
 import me.neznamy.tab.api.protocol.PacketPlayOutChat.ChatMessageType;
@@ -79,8 +85,51 @@ public class VelocityTabPlayer extends ProxyTabPlayer {
      */
     private void sendNativePacket(Object packet) {
         TAB.getInstance().debug(String.format("Sending %s across the wire.", packet.getClass().getSimpleName()));
+        MinecraftConnection connection = ((ConnectedPlayer) getPlayer()).getConnection();
+        ByteBuf encoded = encode(connection, packet);
+        if (encoded != null) {
+            connection.write(encoded);
+        } else {
+            this.getPlayer().sendRawPacket(packet);
+        }
+    }
 
-        this.getPlayer().sendRawPacket(packet);
+    /**
+     * Returns packet encoded into a buffer shared with other players receiving the same
+     * packet if pre-encoded packets are enabled and packet is sent to many players,
+     * {@code null} if packet should be sent normally.
+     *
+     * @param   connection
+     *          connection of this player
+     * @param   packet
+     *          packet to encode
+     * @return  encoded packet or {@code null} if packet should be sent normally
+     */
+    private ByteBuf encode(MinecraftConnection connection, Object packet) {
+        if (!TAB.getInstance().getConfiguration().isPreEncodedPackets()) return null;
+        if (!(packet instanceof Team || packet instanceof HeaderAndFooter || packet instanceof BossBar)) return null;
+        ProtocolVersion version = getPlayer().getProtocolVersion();
+        //packets are shared by version known to TAB, unknown versions may not share the same format
+        if (getVersion().getNetworkId() != version.getProtocol()) return null;
+        return TAB.getInstance().getCPUManager().getEncodedPacket(packet, p -> {
+            MinecraftPacket minecraftPacket = (MinecraftPacket) p;
+            int packetId;
+            try {
+                packetId = StateRegistry.PLAY.getProtocolRegistry(ProtocolUtils.Direction.CLIENTBOUND, version).getPacketId(minecraftPacket);
+            } catch (IllegalArgumentException e) {
+                //packet is not registered for this version, letting velocity send it normally
+                return null;
+            }
+            ByteBuf buf = connection.getChannel().alloc().buffer();
+            try {
+                ProtocolUtils.writeVarInt(buf, packetId);
+                minecraftPacket.encode(buf, ProtocolUtils.Direction.CLIENTBOUND, version);
+                return buf;
+            } catch (RuntimeException e) {
+                buf.release();
+                throw e;
+            }
+        });
     }
 
     /**